@@ -0,0 +1,122 @@
+package benchmarks;
+
+import repository.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mede a busca por ID dos repositórios: o {@link IntObjectMap} usado nos índices,
+ * um {@link HashMap} com chaves {@code Integer} e a busca antiga, que percorria a
+ * lista comparando o ID de cada elemento.
+ *
+ * Sem JMH neste projeto, a medição é feita com {@code System.nanoTime()}: para
+ * cada tamanho, três passadas sequenciais por todos os IDs, e vale a melhor de
+ * cinco repetições. A busca antiga é linear, então é medida só com uma amostra
+ * de IDs sorteados. Executar com:
+ * <pre>
+ * java -cp out benchmarks.IdLookupBenchmark [tamanho...]
+ * </pre>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class IdLookupBenchmark {
+    private static final int PASSES = 3;
+    private static final int REPETITIONS = 5;
+    private static final int SCAN_SAMPLE = 200;
+
+    /**
+     * Elemento de repositório com ID sequencial, como tickets e sessões.
+     */
+    private static final class Entity {
+        private final int id;
+
+        private Entity(int id) {
+            this.id = id;
+        }
+
+        private int getId() {
+            return id;
+        }
+    }
+
+    // Evita que o JIT descarte as buscas cujo resultado não é usado
+    private static long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[] {10_000, 100_000, 1_000_000} : parse(args);
+        for (int n : sizes) {
+            List<Entity> list = new ArrayList<>(n);
+            IntObjectMap<Entity> intMap = new IntObjectMap<>(n);
+            Map<Integer, Entity> hashMap = new HashMap<>();
+            for (int id = 1; id <= n; id++) {
+                Entity entity = new Entity(id);
+                list.add(entity);
+                intMap.put(id, entity);
+                hashMap.put(id, entity);
+            }
+            int[] sample = new Random(n).ints(SCAN_SAMPLE, 1, n + 1).toArray();
+
+            double intMapNs = best(() -> {
+                for (int pass = 0; pass < PASSES; pass++) {
+                    for (int id = 1; id <= n; id++) {
+                        sink += intMap.get(id).id;
+                    }
+                }
+            }) / ((double) PASSES * n);
+            double hashMapNs = best(() -> {
+                for (int pass = 0; pass < PASSES; pass++) {
+                    for (int id = 1; id <= n; id++) {
+                        sink += hashMap.get(id).id;
+                    }
+                }
+            }) / ((double) PASSES * n);
+            double scanNs = best(() -> {
+                for (int id : sample) {
+                    sink += scan(list, id).id;
+                }
+            }) / SCAN_SAMPLE;
+
+            System.out.printf("n=%d: IntObjectMap %.1f ns/get, HashMap %.1f ns/get, busca linear %.1f us/get%n",
+                    n, intMapNs, hashMapNs, scanNs / 1000);
+        }
+        System.out.println("(soma de controle " + sink + ")");
+    }
+
+    /**
+     * Busca antiga dos repositórios: percorre a lista até achar o ID.
+     */
+    private static Entity scan(List<Entity> list, int id) {
+        for (Entity entity : list) {
+            if (entity.getId() == id) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return o menor tempo, em nanossegundos, entre as repetições.
+     */
+    private static long best(Runnable run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static int[] parse(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import enums.PaymentMethod;
+import models.Client;
+import models.Movie;
+import models.Room;
+import models.Session;
+import models.Ticket;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Mede a memória ocupada por ticket, criando os tickets como a venda cria: com
+ * cliente, sessão e um texto de regra de preço montado a cada venda.
+ *
+ * O uso do heap é lido depois de coletar o lixo, antes e depois de criar os
+ * tickets, que ficam guardados em um vetor até a segunda leitura. Para números
+ * estáveis, executar com um coletor simples:
+ * <pre>
+ * java -XX:+UseSerialGC -cp out benchmarks.TicketFootprintBenchmark [quantidade]
+ * </pre>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class TicketFootprintBenchmark {
+    private static final int DEFAULT_TICKETS = 1_000_000;
+    private static final String[] PROMOTIONS = {"Meia-entrada", "Combo família", "Terça do cinema"};
+
+    public static void main(String[] args) {
+        int count = args.length == 0 ? DEFAULT_TICKETS : Integer.parseInt(args[0]);
+
+        Client client = new Client(1, "Cliente", "cliente@cinesys.com", "000.000.000-00", LocalDate.of(1990, 1, 1));
+        Movie movie = new Movie(1, "Filme", "Drama", 120, "L", "Sinopse");
+        Session session = new Session(1, LocalDate.now().plusDays(1), LocalTime.of(20, 0), new Room(1, 200), movie,
+                20.0, 200);
+        PaymentMethod[] methods = PaymentMethod.values();
+
+        Ticket[] tickets = new Ticket[count];
+        long before = usedAfterGc();
+        for (int i = 0; i < count; i++) {
+            // Cada venda monta o seu próprio texto, como a TicketService faz com as promoções
+            String rule = "Preço base; Promoções: " + PROMOTIONS[i % PROMOTIONS.length];
+            tickets[i] = new Ticket(client, session, 17.5, 12.5, methods[i % methods.length], rule);
+        }
+        long after = usedAfterGc();
+
+        long bytes = after - before;
+        System.out.printf("%d tickets: %.1f MB, %d bytes/ticket%n", count, bytes / 1e6, bytes / count);
+        System.out.println("(último ID " + tickets[count - 1].getId() + ")");
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
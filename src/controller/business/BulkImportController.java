@@ -0,0 +1,102 @@
+package controller.business;
+
+import repository.ClientRepository;
+import repository.MovieRepository;
+import repository.SessionRepository;
+import services.BulkImportService;
+import services.BulkImportService.ImportReport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Classe de controle da importação em lote de clientes, filmes e sessões.
+ * Também pode ser executada sem interface gráfica:
+ * <pre>
+ * java controller.business.BulkImportController clientes|filmes|sessoes &lt;arquivo.csv&gt;
+ * </pre>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class BulkImportController {
+
+    private static final BulkImportService bulkImportService = new BulkImportService();
+
+    /**
+     * Importa clientes de um arquivo CSV (nome;cpf;email;nascimento).
+     *
+     * @param input arquivo de origem.
+     * @return o resultado da importação.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public static ImportReport importClients(Path input) throws IOException {
+        return bulkImportService.importClients(input);
+    }
+
+    /**
+     * Importa filmes de um arquivo CSV (titulo;genero;duracao;classificacao;sinopse).
+     *
+     * @param input arquivo de origem.
+     * @return o resultado da importação.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public static ImportReport importMovies(Path input) throws IOException {
+        return bulkImportService.importMovies(input);
+    }
+
+    /**
+     * Importa sessões de um arquivo CSV (data;horario;sala;filme_id;valor).
+     *
+     * @param input arquivo de origem.
+     * @return o resultado da importação.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public static ImportReport importSessions(Path input) throws IOException {
+        return bulkImportService.importSessions(input);
+    }
+
+    /**
+     * Importa um arquivo sem abrir a interface gráfica.
+     *
+     * @param args tipo (clientes, filmes ou sessoes) e arquivo de origem.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Uso: BulkImportController clientes|filmes|sessoes <arquivo.csv>");
+            System.exit(1);
+        }
+        try {
+            Path input = Paths.get(args[1]);
+            ImportReport report;
+            switch (args[0].toLowerCase()) {
+                case "clientes":
+                    ClientController.initialize(new ClientRepository());
+                    report = importClients(input);
+                    break;
+                case "filmes":
+                    MovieController.initialize(new MovieRepository());
+                    report = importMovies(input);
+                    break;
+                case "sessoes":
+                    MovieController.initialize(new MovieRepository());
+                    SessionController.initialize(new SessionRepository());
+                    report = importSessions(input);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Tipo de importação inválido: " + args[0]);
+            }
+            System.out.println(report.getImported() + " registros importados de " + input);
+            for (String error : report.getErrors()) {
+                System.out.println(error);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erro: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import models.Ticket;
 import repository.ClientRepository;
 import services.ClientService;
 
-import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Classe de controle para a lógica de negócio dos clientes.
@@ -41,6 +41,23 @@ public class ClientController {
         return clientService.addClient(name, cpf, email, birthday);
     }
 
+    /**
+     * Verifica se o CPF e o email ainda não estão cadastrados.
+     * @param cpf CPF do novo cliente.
+     * @param email email do novo cliente.
+     */
+    public static void validateUnique(String cpf, String email) {
+        clientService.validateUnique(cpf, email);
+    }
+
+    /**
+     * Adiciona vários clientes já validados de uma vez.
+     * @param newClients clientes a serem adicionados.
+     */
+    public static void addClients(List<Client> newClients) {
+        clientService.addClients(newClients);
+    }
+
     /**
      * Atualiza um cliente existente chamando o método updateClient da classe
      * ClientService.
@@ -56,6 +73,22 @@ public class ClientController {
         return clientService.updateClient(id, name, cpf, email, birthday);
     }
 
+    /**
+     * Atualiza um cliente aberto para edição, recusando a alteração se outro
+     * terminal salvou o cliente depois que ele foi aberto.
+     *
+     * @param id              ID do cliente a ser atualizado.
+     * @param expectedVersion Versão do cliente lida ao abrir a edição.
+     * @param name            Nome do cliente.
+     * @param cpf             CPF do cliente.
+     * @param email           Email do cliente.
+     * @param birthday        Data de nascimento do cliente.
+     * @return Mensagem de sucesso.
+     */
+    public static String updateClient(int id, int expectedVersion, String name, String cpf, String email, String birthday) {
+        return clientService.updateClient(id, expectedVersion, name, cpf, email, birthday);
+    }
+
     /**
      * Remove um cliente existente chamando o método removeClient da classe ClientService.
      * @param id ID do cliente a ser removido.
@@ -75,29 +108,47 @@ public class ClientController {
     }
 
     /**
-     * Adiciona um ticket ao histórico de compras de um cliente chamando o método addTicketToClient da classe ClientService.
-     * @param clientId ID do cliente.
-     * @param ticket Ticket a ser adicionado.
-     * @return Mensagem de sucesso ou erro.
+     * Busca um cliente pelo ID chamando o método findClientById da classe ClientService.
+     * @param id ID do cliente.
+     * @return Cliente encontrado, ou null se não existir.
+    */
+    public static Client findClientById(int id) {
+        return clientService.findClientById(id);
+    }
+
+    /**
+     * Seleciona um cliente pelo CPF chamando o método getClientByCpf da classe ClientService.
+     * @param cpf CPF do cliente, com ou sem pontuação.
+     * @return Cliente selecionado.
     */
-    public static void addTicketToClient(int clientId, Ticket ticket) {
-        clientService.addTicketToClient(clientId, ticket);
+    public static Client getClientByCpf(String cpf) {
+        return clientService.getClientByCpf(cpf);
+    }
+
+    /**
+     * Seleciona um cliente pelo email chamando o método getClientByEmail da classe ClientService.
+     * @param email Email do cliente.
+     * @return Cliente selecionado.
+    */
+    public static Client getClientByEmail(String email) {
+        return clientService.getClientByEmail(email);
     }
 
     /**
      * Retorna uma lista com todos os clientes cadastrados chamando o método getAllClients da classe ClientService.
      * @return lista com todos os clientes cadastrados.
      */
-    public static LinkedList<Client> getAllClients(){
+    public static List<Client> getAllClients(){
         return clientService.getAllClients();
     }
+
  
     /**
      * Pega o histórico de compras de um cliente chamando o método getClientHistory da classe ClientService.
      * @param clientId ID do cliente.
      * @return Histórico de compras do cliente.
      */
-    public static LinkedList<Ticket> getClientHistory(int clientId) {
+    public static List<Ticket> getClientHistory(int clientId) {
         return clientService.getClientHistory(clientId);
     }
 
@@ -122,20 +173,19 @@ public class ClientController {
     }
 
     /**
-     * Remove todos os clientes cadastrados chamando o método removeAllClients da classe ClientService.
+     * Estorna os pontos de fidelidade gerados por um ticket cancelado.
+     *
+     * @param ticket Ticket cancelado.
      */
-    public static void removeAllClients() {
-        clientService.removeAllClients();
+    public static void reversePoints(Ticket ticket) {
+        clientService.reversePoints(ticket);
     }
 
     /**
-     * Remove um ticket específico do histórico de compras de um cliente.
-     * Delega a chamada para o método correspondente em ClientService.
-     * * @param clientId O ID do cliente.
-     * @param ticket O objeto Ticket a ser removido do histórico.
+     * Remove todos os clientes cadastrados chamando o método removeAllClients da classe ClientService.
      */
-    public static void removeTicketFromHistory(int clientId, Ticket ticket) {
-        clientService.removeTicketFromHistory(clientId, ticket);
+    public static void removeAllClients() {
+        clientService.removeAllClients();
     }
 
     /**
@@ -0,0 +1,115 @@
+package controller.business;
+
+import enums.ExportFormat;
+import repository.ClientRepository;
+import repository.SessionRepository;
+import repository.TicketRepository;
+import services.ExportService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Classe de controle da exportação de tickets, sessões e clientes.
+ * Também pode ser executada sem interface gráfica:
+ * <pre>
+ * java controller.business.ExportController tickets|sessoes|clientes csv|json &lt;arquivo&gt; [dd-MM-yyyy dd-MM-yyyy]
+ * </pre>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ExportController {
+
+    private static final ExportService exportService = new ExportService();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    /**
+     * Exporta os tickets vendidos em um período.
+     *
+     * @param output arquivo de destino.
+     * @param format formato do arquivo.
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return quantidade de tickets exportados.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public static long exportTickets(Path output, ExportFormat format, LocalDate from, LocalDate to) throws IOException {
+        return exportService.exportTickets(output, format, from, to);
+    }
+
+    /**
+     * Exporta as sessões de um período.
+     *
+     * @param output arquivo de destino.
+     * @param format formato do arquivo.
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return quantidade de sessões exportadas.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public static long exportSessions(Path output, ExportFormat format, LocalDate from, LocalDate to) throws IOException {
+        return exportService.exportSessions(output, format, from, to);
+    }
+
+    /**
+     * Exporta todos os clientes.
+     *
+     * @param output arquivo de destino.
+     * @param format formato do arquivo.
+     * @return quantidade de clientes exportados.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public static long exportClients(Path output, ExportFormat format) throws IOException {
+        return exportService.exportClients(output, format);
+    }
+
+    /**
+     * Exporta dados sem abrir a interface gráfica. Sem período, tickets e
+     * sessões são exportados por completo.
+     *
+     * @param args tipo (tickets, sessoes ou clientes), formato (csv ou json),
+     *             arquivo de saída e, opcionalmente, data inicial e final.
+     */
+    public static void main(String[] args) {
+        if (args.length != 3 && args.length != 5) {
+            System.out.println("Uso: ExportController tickets|sessoes|clientes csv|json <arquivo> [dd-MM-yyyy dd-MM-yyyy]");
+            System.exit(1);
+        }
+        try {
+            ExportFormat format = ExportFormat.fromDescription(args[1]);
+            Path output = Paths.get(args[2]);
+            LocalDate from = args.length == 5 ? LocalDate.parse(args[3], DATE_FORMAT) : LocalDate.MIN;
+            LocalDate to = args.length == 5 ? LocalDate.parse(args[4], DATE_FORMAT) : LocalDate.MAX;
+
+            long exported;
+            switch (args[0].toLowerCase()) {
+                case "tickets":
+                    TicketController.initialize(new TicketRepository());
+                    exported = exportTickets(output, format, from, to);
+                    break;
+                case "sessoes":
+                    SessionController.initialize(new SessionRepository());
+                    exported = exportSessions(output, format, from, to);
+                    break;
+                case "clientes":
+                    ClientController.initialize(new ClientRepository());
+                    exported = exportClients(output, format);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Tipo de exportação inválido: " + args[0]);
+            }
+            System.out.println(exported + " registros exportados para " + output);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println("Erro: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.out.println("Erro ao gravar a exportação: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package controller.business;
+
+import models.Client;
+import models.LoyaltyEntry;
+import models.Ticket;
+import repository.LoyaltyLedgerRepository;
+import services.LoyaltyService;
+
+import java.util.List;
+
+/**
+ * Classe de controle do programa de fidelidade.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class LoyaltyController {
+    private static LoyaltyService loyaltyService;
+
+    /**
+     * Inicializa o controller com o extrato e sincroniza os pontos dos clientes.
+     * Deve ser chamado no início da aplicação, depois dos clientes.
+     *
+     * @param repository o repositório do extrato.
+     * @param clients todos os clientes cadastrados.
+     */
+    public static void initialize(LoyaltyLedgerRepository repository, List<Client> clients) {
+        if (loyaltyService == null) {
+            loyaltyService = new LoyaltyService(repository);
+        }
+        loyaltyService.initialize(clients);
+    }
+
+    /**
+     * Credita os pontos de um ingresso comprado.
+     * @param clientId ID do cliente.
+     * @param ticket ticket comprado.
+     * @return o lançamento criado.
+     */
+    public static LoyaltyEntry earn(int clientId, Ticket ticket) {
+        return loyaltyService.earn(clientId, ticket);
+    }
+
+    /**
+     * Debita pontos do cliente.
+     * @param clientId ID do cliente.
+     * @param points quantidade de pontos.
+     * @param description motivo do resgate.
+     * @return o lançamento criado.
+     */
+    public static LoyaltyEntry redeem(int clientId, int points, String description) {
+        return loyaltyService.redeem(clientId, points, description);
+    }
+
+    /**
+     * Estorna os pontos lançados por um ingresso cancelado.
+     * @param ticket ticket cancelado.
+     * @return o lançamento de estorno, ou null se não houver nada a estornar.
+     */
+    public static LoyaltyEntry reverse(Ticket ticket) {
+        return loyaltyService.reverse(ticket);
+    }
+
+    /**
+     * @param clientId ID do cliente.
+     * @return saldo de pontos do cliente.
+     */
+    public static int getBalance(int clientId) {
+        return loyaltyService.getBalance(clientId);
+    }
+
+    /**
+     * @param clientId ID do cliente.
+     * @return desconto do cliente em porcentagem.
+     */
+    public static double calculateDiscount(int clientId) {
+        return loyaltyService.calculateDiscount(clientId);
+    }
+
+    /**
+     * @param clientId ID do cliente.
+     * @return extrato de pontos do cliente.
+     */
+    public static List<LoyaltyEntry> getStatement(int clientId) {
+        return loyaltyService.getStatement(clientId);
+    }
+}
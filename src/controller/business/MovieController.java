@@ -5,7 +5,7 @@ import models.Session;
 import repository.MovieRepository;
 import services.MovieService;
 
-import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Classe de controle para a lógica de negócio dos filmes.
@@ -40,6 +40,14 @@ public class MovieController {
         return movieService.addMovie(title, genre, duration, classification, synopsis);
     }
 
+    /**
+     * Adiciona vários filmes já validados de uma vez.
+     * @param newMovies filmes a serem adicionados.
+     */
+    public static void addMovies(List<Movie> newMovies){
+        movieService.addMovies(newMovies);
+    }
+
     /**
      * Atualiza um filme existente pelo ID fornecido.
      * @param id O ID do filme.
@@ -58,7 +66,7 @@ public class MovieController {
      * Pega todos os filmes cadastrados.
      * @return Lista de filmes.
      */
-    public static LinkedList<Movie> getAllMovies(){
+    public static List<Movie> getAllMovies(){
         return movieService.getAllMovies();
     }
 
@@ -71,6 +79,15 @@ public class MovieController {
         return movieService.getMovieById(id);
     }
 
+    /**
+     * Procura um filme pelo ID sem lançar erro quando ele não existe.
+     * @param id O ID do filme.
+     * @return O filme encontrado ou null caso não exista
+     */
+    public static Movie findMovieById(int id){
+        return movieService.findMovieById(id);
+    }
+
     /**
      * Remove o filme pelo ID fornecido.
      * @param id O ID do filme.
@@ -90,13 +107,34 @@ public class MovieController {
         return movieService.getMovieByName(name);
     }
 
+    /**
+     * Retorna sugestões de filmes cujo título começa com o texto digitado.
+     *
+     * @param prefix início do título
+     * @param limit quantidade máxima de sugestões
+     * @return lista de filmes sugeridos
+     */
+    public static List<Movie> getMoviesByTitlePrefix(String prefix, int limit) {
+        return movieService.getMoviesByTitlePrefix(prefix, limit);
+    }
+
+    /**
+     * Busca filmes por palavras-chave no título, gênero, classificação e sinopse.
+     *
+     * @param query palavras-chave digitadas
+     * @return lista de filmes ordenada por relevância
+     */
+    public static List<Movie> searchMovies(String query) {
+        return movieService.searchMovies(query);
+    }
+
     /**
      * Retorna uma lista de sessões que irão passar um certo filme
      *
      * @param id id do filme a ser pesquisado
      * @return lista de sessões que irão passar o filme fornecido
      */
-    public static LinkedList<Session> getSessionsByMovie(int id) {
+    public static List<Session> getSessionsByMovie(int id) {
         return movieService.getSessionsByMovie(id);
     }
 
@@ -0,0 +1,124 @@
+package controller.business;
+
+import models.Session;
+import models.Ticket;
+import repository.SessionArchive;
+import repository.TicketHistoryStore;
+import services.OccupancyService;
+import services.OccupancyService.Stats;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Classe de controle dos agregados de ocupação usados pelos relatórios.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class OccupancyController {
+
+    private static final OccupancyService occupancyService = new OccupancyService();
+
+    /**
+     * Reconstrói os agregados a partir dos dados carregados dos arquivos.
+     * Deve ser chamado no início da aplicação, depois dos repositórios.
+     *
+     * @param sessions as sessões ainda não realizadas.
+     * @param tickets os tickets dessas sessões.
+     * @param archivedSessions percorre o resumo das sessões arquivadas ({@link SessionController#forEachArchivedSession}).
+     * @param archivedSales percorre as vendas do histórico ({@link TicketController#forEachArchivedSale}).
+     */
+    public static void initialize(List<Session> sessions, List<Ticket> tickets,
+                                  Consumer<SessionArchive.SummaryVisitor> archivedSessions,
+                                  Consumer<TicketHistoryStore.SaleVisitor> archivedSales) {
+        occupancyService.rebuild(sessions, tickets, archivedSessions, archivedSales);
+    }
+
+    /**
+     * Registra uma nova sessão nos agregados.
+     * @param session sessão cadastrada.
+     */
+    public static void registerSession(Session session) {
+        occupancyService.registerSession(session);
+    }
+
+    /**
+     * Atualiza os agregados de uma sessão alterada.
+     * @param session sessão com os dados novos.
+     */
+    public static void updateSession(Session session) {
+        occupancyService.updateSession(session);
+    }
+
+    /**
+     * Remove uma sessão dos agregados.
+     * @param sessionId ID da sessão removida.
+     */
+    public static void unregisterSession(int sessionId) {
+        occupancyService.unregisterSession(sessionId);
+    }
+
+    /**
+     * Contabiliza a venda de um ingresso.
+     * @param ticket ticket vendido.
+     */
+    public static void registerSale(Ticket ticket) {
+        occupancyService.registerSale(ticket);
+    }
+
+    /**
+     * Desfaz a venda de um ingresso cancelado.
+     * @param ticket ticket cancelado.
+     */
+    public static void registerCancellation(Ticket ticket) {
+        occupancyService.registerCancellation(ticket);
+    }
+
+    /**
+     * Pega os contadores de uma sessão.
+     * @param sessionId ID da sessão.
+     * @return contadores da sessão.
+     */
+    public static Stats getSessionStats(int sessionId) {
+        return occupancyService.getSessionStats(sessionId);
+    }
+
+    /**
+     * Pega os contadores de uma sala.
+     * @param roomId ID da sala.
+     * @return contadores da sala.
+     */
+    public static Stats getRoomStats(int roomId) {
+        return occupancyService.getRoomStats(roomId);
+    }
+
+    /**
+     * Pega os contadores de um filme em todas as salas.
+     * @param movieId ID do filme.
+     * @return contadores do filme.
+     */
+    public static Stats getMovieStats(int movieId) {
+        return occupancyService.getMovieStats(movieId);
+    }
+
+    /**
+     * Pega os contadores das sessões de um dia.
+     * @param day dia desejado.
+     * @return contadores do dia.
+     */
+    public static Stats getDayStats(LocalDate day) {
+        return occupancyService.getDayStats(day);
+    }
+
+    /**
+     * Pega os contadores de cada filme exibido em uma sala.
+     * @param roomId ID da sala.
+     * @return mapa ID do filme -> contadores.
+     */
+    public static Map<Integer, Stats> getMovieStatsInRoom(int roomId) {
+        return occupancyService.getMovieStatsInRoom(roomId);
+    }
+}
@@ -0,0 +1,26 @@
+package controller.business;
+
+import models.Session;
+import services.PricingService;
+import services.PricingService.PriceQuote;
+
+/**
+ * Classe de controle do preço dinâmico dos ingressos.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class PricingController {
+
+    private static final PricingService pricingService = new PricingService();
+
+    /**
+     * Calcula o preço atual de um ingresso da sessão, antes do desconto do cliente.
+     *
+     * @param session a sessão do ingresso.
+     * @return o preço e as regras aplicadas.
+     */
+    public static PriceQuote quote(Session session) {
+        return pricingService.quote(session);
+    }
+}
@@ -0,0 +1,61 @@
+package controller.business;
+
+import enums.PaymentMethod;
+import models.Client;
+import models.Promotion;
+import models.Session;
+import repository.PromotionRepository;
+import services.PromotionService;
+import services.PromotionService.PromotionResult;
+
+import java.util.List;
+
+/**
+ * Classe de controle das promoções de desconto.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class PromotionController {
+
+    private static final PromotionService promotionService = new PromotionService(new PromotionRepository());
+
+    /**
+     * Cadastra uma promoção.
+     *
+     * @param promotion a promoção.
+     */
+    public static void addPromotion(Promotion promotion) {
+        promotionService.addPromotion(promotion);
+    }
+
+    /**
+     * Remove uma promoção.
+     *
+     * @param id ID da promoção.
+     * @return true se a promoção foi removida.
+     */
+    public static boolean removePromotion(int id) {
+        return promotionService.removePromotion(id);
+    }
+
+    /**
+     * @return todas as promoções cadastradas.
+     */
+    public static List<Promotion> getAllPromotions() {
+        return promotionService.getAllPromotions();
+    }
+
+    /**
+     * Avalia as promoções para um ingresso.
+     *
+     * @param client cliente que está comprando.
+     * @param session sessão do ingresso.
+     * @param method método de pagamento.
+     * @param quantity quantidade de ingressos na mesma venda.
+     * @return o desconto das promoções aceitas e seus nomes.
+     */
+    public static PromotionResult evaluate(Client client, Session session, PaymentMethod method, int quantity) {
+        return promotionService.evaluate(client, session, method, quantity);
+    }
+}
@@ -0,0 +1,45 @@
+package controller.business;
+
+import enums.RepositoryType;
+import repository.RepositoryEvents;
+import services.ReportCacheService;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Classe de controle do cache de resultados dos relatórios.
+ * O cache se inscreve nos avisos dos repositórios assim que a classe é carregada.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ReportCacheController {
+
+    private static final ReportCacheService reportCacheService = new ReportCacheService();
+
+    static {
+        RepositoryEvents.addListener(reportCacheService::invalidate);
+    }
+
+    /**
+     * Retorna o resultado de um relatório, calculando-o apenas se não houver um resultado válido.
+     *
+     * @param type tipo do relatório.
+     * @param dependsOn repositórios cujas alterações invalidam o resultado.
+     * @param compute cálculo do relatório.
+     * @param params parâmetros do relatório.
+     * @param <T> tipo do resultado.
+     * @return o resultado do relatório.
+     */
+    public static <T> T get(String type, Set<RepositoryType> dependsOn, Supplier<T> compute, Object... params) {
+        return reportCacheService.get(type, dependsOn, compute, params);
+    }
+
+    /**
+     * Descarta todos os resultados guardados.
+     */
+    public static void clear() {
+        reportCacheService.clear();
+    }
+}
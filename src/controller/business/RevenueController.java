@@ -0,0 +1,116 @@
+package controller.business;
+
+import enums.RepositoryType;
+import enums.RevenueDimension;
+import models.Ticket;
+import repository.TicketRepository;
+import services.RevenueService;
+import services.RevenueService.RevenueLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Classe de controle dos relatórios de receita.
+ * Também pode ser executada sem interface gráfica para exportar um relatório:
+ * <pre>
+ * java controller.business.RevenueController &lt;dimensão&gt; &lt;dd-MM-yyyy&gt; &lt;dd-MM-yyyy&gt; &lt;arquivo.csv&gt;
+ * </pre>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class RevenueController {
+
+    private static final RevenueService revenueService = new RevenueService();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    /**
+     * Reconstrói os totais do dia a partir dos tickets carregados dos arquivos.
+     * Deve ser chamado no início da aplicação, depois dos repositórios.
+     *
+     * @param tickets os tickets vendidos hoje ({@link TicketController#streamTicketsSoldBetween}).
+     */
+    public static void initialize(List<Ticket> tickets) {
+        revenueService.rebuild(tickets);
+    }
+
+    /**
+     * Contabiliza a venda de um ingresso.
+     * @param ticket ticket vendido.
+     */
+    public static void registerSale(Ticket ticket) {
+        revenueService.registerSale(ticket);
+    }
+
+    /**
+     * Desfaz a venda de um ingresso cancelado.
+     * @param ticket ticket cancelado.
+     */
+    public static void registerCancellation(Ticket ticket) {
+        revenueService.registerCancellation(ticket);
+    }
+
+    /**
+     * Gera o relatório de receita de um período.
+     *
+     * @param dimension dimensão do agrupamento.
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return as linhas do relatório.
+     */
+    public static List<RevenueLine> getReport(RevenueDimension dimension, LocalDate from, LocalDate to) {
+        return ReportCacheController.get("revenue", EnumSet.of(RepositoryType.TICKET),
+                () -> revenueService.getReport(TicketController.getCurrentTickets(), SessionController::forEachArchivedSession,
+                        TicketController::forEachArchivedSale, dimension, from, to),
+                dimension, from, to);
+    }
+
+    /**
+     * Grava um relatório em CSV.
+     *
+     * @param lines linhas do relatório.
+     * @param dimension dimensão usada no relatório.
+     * @param output arquivo de destino.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public static void exportCsv(List<RevenueLine> lines, RevenueDimension dimension, Path output) throws IOException {
+        revenueService.exportCsv(lines, dimension, output);
+    }
+
+    /**
+     * Exporta um relatório de receita sem abrir a interface gráfica. Não arquiva
+     * sessões nem tickets: isso fica para a inicialização da aplicação.
+     *
+     * @param args dimensão (Dia, Filme, Sala, Pagamento ou "Faixa de Desconto"),
+     *             data inicial, data final e arquivo de saída.
+     */
+    public static void main(String[] args) {
+        if (args.length != 4) {
+            System.out.println("Uso: RevenueController <dimensão> <dd-MM-yyyy> <dd-MM-yyyy> <arquivo.csv>");
+            System.exit(1);
+        }
+        try {
+            RevenueDimension dimension = RevenueDimension.fromDescription(args[0]);
+            LocalDate from = LocalDate.parse(args[1], DATE_FORMAT);
+            LocalDate to = LocalDate.parse(args[2], DATE_FORMAT);
+
+            TicketController.initialize(new TicketRepository());
+            List<RevenueLine> lines = getReport(dimension, from, to);
+            exportCsv(lines, dimension, Paths.get(args[3]));
+            System.out.println(lines.size() + " linhas exportadas para " + args[3]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println("Erro: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.out.println("Erro ao gravar o relatório: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
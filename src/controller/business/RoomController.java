@@ -5,7 +5,7 @@ import models.Session;
 import repository.RoomRepository;
 import services.RoomService;
 
-import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Classe de controle para a lógica de negócio das salas que já se inicia com 5 salas cadastradas.
@@ -20,7 +20,7 @@ public class RoomController {
     /**
      * Pega todas as salas cadastradas.
      */
-    public static LinkedList<Room> getAllRooms() {
+    public static List<Room> getAllRooms() {
         return roomService.getAllRooms();
     }
 
@@ -6,6 +6,7 @@ import enums.PaymentMethod;
 import models.Client;
 import models.Session;
 import models.Ticket;
+import repository.UnitOfWork;
 
 /**
  * Classe responsável por controlar operações relacionadas às vendas de ingressos.
@@ -18,6 +19,9 @@ public class SaleController {
 
     /**
      * Processa a venda de múltiplos ingressos para um cliente, usando as regras do TicketService.
+     * A venda é uma única {@link UnitOfWork}: se algum ingresso falhar, nenhum é vendido.
+     * Os assentos são conferidos e reservados de uma vez dentro dela, para que
+     * vendas simultâneas da mesma sessão não passem da lotação.
      *
      * @param client O cliente que está comprando
      * @param session A sessão desejada
@@ -28,30 +32,21 @@ public class SaleController {
      */
     public static ArrayList<Ticket> processSale(Client client, Session session, int quantity, PaymentMethod paymentMethod) throws Exception {
 
-        if (session.getTotalAvailableSeats() < quantity) {
-            throw new IllegalArgumentException("Venda excedida: não há assentos suficientes.");
-        }
-
-        ArrayList<Ticket> tickets = new ArrayList<>();
-
-        for (int i = 0; i < quantity; i++) {
-            Ticket ticket = TicketController.purchaseTicket(
-                    client.getId(),
-                    session.getId(),
-                    paymentMethod.name() // usa o nome para depois converter
-            );
-            tickets.add(ticket);
-        }
-
-        return tickets;
+        return new ArrayList<>(TicketController.purchaseTickets(
+                client.getId(),
+                session.getId(),
+                paymentMethod.name(), // usa o nome para depois converter
+                quantity
+        ));
     }
 
     /**
      * Cancela a venda de um ingresso específico.
      * <p>
-     * Este método realiza as operações inversas da compra: remove o ticket do
-     * histórico do cliente, devolve o assento para a sessão, ajusta os pontos
-     * de fidelidade e remove o ticket do sistema.
+     * Este método realiza as operações inversas da compra: devolve o assento
+     * para a sessão, estorna os pontos de fidelidade da compra e remove o ticket do sistema
+     * (o que também o retira do histórico do cliente). Assento e ticket são gravados
+     * juntos com o estorno em uma {@link UnitOfWork}.
      *
      * @param ticketId O ID do ticket a ser cancelado.
      * @throws IllegalArgumentException se o ticket com o ID fornecido não for encontrado.
@@ -71,22 +66,28 @@ public class SaleController {
             throw new IllegalStateException("O ticket com ID " + ticketId + " possui dados de cliente ou sessão inválidos.");
         }
 
-        // 3. Devolver o assento para a sessão (operação inversa da venda).
-        session.setTotalAvailableSeats(session.getTotalAvailableSeats() + 1);
+        try (UnitOfWork unit = UnitOfWork.begin()) {
+            // 3. Devolver o assento para a sessão (operação inversa da venda).
+            session.releaseSeats(1);
+            UnitOfWork.onRollback(() -> session.releaseSeats(-1));
+            SessionController.updateSession(session);
+
+            // 4. Remover o ticket do repositório principal de tickets
+            //    (os índices por cliente e por sessão são atualizados junto).
+            TicketController.removeTicketById(ticketId);
+            UnitOfWork.onRollback(() -> TicketController.restoreTicket(ticket));
+
+            // 5. Estornar exatamente os pontos de fidelidade lançados por esta compra, no
+            //    mesmo commit, e atualizar os dados derivados depois do cancelamento gravado.
+            ClientController.reversePoints(ticket);
+            UnitOfWork.afterCommit(() -> OccupancyController.registerCancellation(ticket));
+            UnitOfWork.afterCommit(() -> RevenueController.registerCancellation(ticket));
+            UnitOfWork.afterCommit(() -> SalesCubeController.registerCancellation(ticket));
+            UnitOfWork.afterCommit(() -> TrendingController.registerCancellation(ticket));
+            unit.commit();
+        }
         System.out.println("Assento devolvido para a sessão " + session.getId() + ". Assentos disponíveis: " + session.getTotalAvailableSeats());
-
-        // 4. Remover o ticket do histórico de compras do cliente.
-        //    (Isto assume que você tem ou criará um método no ClientController para fazer isso).
-        ClientController.removeTicketFromHistory(client.getId(), ticket);
-        System.out.println("Ticket removido do histórico do cliente " + client.getName());
-
-        // 5. Remover os pontos de fidelidade que foram ganhos com esta compra.
-        //    (Assumindo que cada compra gera 5 pontos, como no seu ClientService).
-        ClientController.removePoints(client.getId(), 5);
-        System.out.println("Pontos removidos do cliente " + client.getName());
-
-        // 6. Finalmente, remover o ticket do repositório principal de tickets.
-        TicketController.removeTicketById(ticketId);
+        System.out.println("Pontos estornados do cliente " + client.getName());
         System.out.println("Ticket ID " + ticketId + " removido do sistema.");
 
         System.out.println("Venda do ticket ID " + ticketId + " cancelada com sucesso.");
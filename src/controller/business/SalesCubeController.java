@@ -0,0 +1,100 @@
+package controller.business;
+
+import enums.CubeDimension;
+import enums.PaymentMethod;
+import enums.TimeSlot;
+import models.Ticket;
+import repository.SessionArchive;
+import repository.TicketHistoryStore;
+import services.SalesCubeService;
+import services.SalesCubeService.CubeCell;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Classe de controle do cubo de vendas (filme × dia da semana × horário × pagamento).
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class SalesCubeController {
+
+    private static final SalesCubeService salesCubeService = new SalesCubeService();
+
+    /**
+     * Monta o cubo a partir dos tickets carregados dos arquivos.
+     * Deve ser chamado no início da aplicação, depois dos repositórios.
+     *
+     * @param tickets os tickets das sessões ainda não realizadas.
+     * @param archivedSessions percorre o resumo das sessões arquivadas ({@link SessionController#forEachArchivedSession}).
+     * @param archivedSales percorre as vendas do histórico ({@link TicketController#forEachArchivedSale}).
+     */
+    public static void initialize(List<Ticket> tickets, Consumer<SessionArchive.SummaryVisitor> archivedSessions,
+                                  Consumer<TicketHistoryStore.SaleVisitor> archivedSales) {
+        salesCubeService.rebuild(tickets, archivedSessions, archivedSales);
+    }
+
+    /**
+     * Contabiliza a venda de um ingresso.
+     * @param ticket ticket vendido.
+     */
+    public static void registerSale(Ticket ticket) {
+        salesCubeService.registerSale(ticket);
+    }
+
+    /**
+     * Desfaz a venda de um ingresso cancelado.
+     * @param ticket ticket cancelado.
+     */
+    public static void registerCancellation(Ticket ticket) {
+        salesCubeService.registerCancellation(ticket);
+    }
+
+    /**
+     * Soma as vendas que passam pelos filtros ({@code null} = todos).
+     *
+     * @param movieId ID do filme.
+     * @param weekday dia da semana.
+     * @param slot faixa de horário.
+     * @param method método de pagamento.
+     * @return totais das vendas selecionadas.
+     */
+    public static CubeCell total(Integer movieId, DayOfWeek weekday, TimeSlot slot, PaymentMethod method) {
+        return salesCubeService.total(movieId, weekday, slot, method);
+    }
+
+    /**
+     * Agrupa as vendas que passam pelos filtros por um eixo ({@code null} = todos).
+     *
+     * @param groupBy eixo do agrupamento.
+     * @param movieId ID do filme.
+     * @param weekday dia da semana.
+     * @param slot faixa de horário.
+     * @param method método de pagamento.
+     * @return mapa rótulo -> totais.
+     */
+    public static Map<String, CubeCell> rollUp(CubeDimension groupBy, Integer movieId, DayOfWeek weekday,
+                                               TimeSlot slot, PaymentMethod method) {
+        return salesCubeService.rollUp(groupBy, movieId, weekday, slot, method);
+    }
+
+    /**
+     * Monta uma tabela dinâmica das vendas que passam pelos filtros ({@code null} = todos).
+     *
+     * @param rows eixo das linhas.
+     * @param columns eixo das colunas.
+     * @param movieId ID do filme.
+     * @param weekday dia da semana.
+     * @param slot faixa de horário.
+     * @param method método de pagamento.
+     * @return mapa linha -> (coluna -> totais).
+     */
+    public static Map<String, Map<String, CubeCell>> pivot(CubeDimension rows, CubeDimension columns,
+                                                           Integer movieId, DayOfWeek weekday,
+                                                           TimeSlot slot, PaymentMethod method) {
+        return salesCubeService.pivot(rows, columns, movieId, weekday, slot, method);
+    }
+}
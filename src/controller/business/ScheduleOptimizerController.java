@@ -0,0 +1,49 @@
+package controller.business;
+
+import services.ScheduleOptimizerService;
+import services.ScheduleOptimizerService.MovieDemand;
+import services.ScheduleOptimizerService.SchedulePlan;
+import services.SessionService.ScheduleResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Classe de controle da montagem automática da programação das salas.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ScheduleOptimizerController {
+
+    private static final ScheduleOptimizerService scheduleOptimizerService = new ScheduleOptimizerService();
+
+    /**
+     * Monta a programação do período em todas as salas, sem cadastrar nada.
+     *
+     * @param from primeiro dia da programação.
+     * @param to último dia da programação.
+     * @param demands filmes, público esperado por sessão e máximo de sessões por dia.
+     * @param opening horário da primeira sessão possível.
+     * @param closing horário em que a última sessão precisa ter terminado.
+     * @param cleaningMinutes intervalo de limpeza entre sessões da mesma sala.
+     * @return a programação proposta.
+     */
+    public static SchedulePlan plan(LocalDate from, LocalDate to, List<MovieDemand> demands,
+                                    LocalTime opening, LocalTime closing, int cleaningMinutes) {
+        return scheduleOptimizerService.plan(from, to, demands, RoomController.getAllRooms(),
+                opening, closing, cleaningMinutes);
+    }
+
+    /**
+     * Cadastra as sessões de uma programação proposta.
+     *
+     * @param plan programação proposta.
+     * @param ticketValue valor do ingresso.
+     * @return as sessões cadastradas e as que ficaram de fora por conflito.
+     */
+    public static ScheduleResult commit(SchedulePlan plan, Double ticketValue) {
+        return scheduleOptimizerService.commit(plan, ticketValue);
+    }
+}
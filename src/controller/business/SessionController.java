@@ -1,15 +1,21 @@
 package controller.business;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import models.Movie;
 import models.Room;
 import models.Session;
+import repository.SessionArchive;
 import repository.SessionRepository;
 import services.SessionService;
+import services.SessionService.ScheduleResult;
 
 /**
  * Classe de controle responsável pela lógica de negócio das sessões de cinema.
@@ -75,6 +81,24 @@ public class SessionController {
         sessionService.updateSession(id, dateParsed, timeParsed, room, movie, ticketValue);
     }
 
+    /**
+     * Atualiza uma sessão aberta para edição, recusando a alteração se outro
+     * terminal salvou a sessão depois que ela foi aberta.
+     * @param id ID da sessão.
+     * @param expectedVersion Versão da sessão lida ao abrir a edição.
+     * @param date Data da sessão (formato dd-MM-yyyy).
+     * @param time Horário da sessão (formato HH:mm).
+     * @param room Sala da sessão.
+     * @param movie Filme que será exibido.
+     * @param ticketValue Valor do ticket.
+     */
+    public static void updateSession(int id, int expectedVersion, String date, String time, Room room, Movie movie,
+                                     Double ticketValue){
+        LocalDate dateParsed = LocalDate.parse(date, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+        LocalTime timeParsed = LocalTime.parse(time, DateTimeFormatter.ofPattern("HH:mm"));
+        sessionService.updateSession(id, expectedVersion, dateParsed, timeParsed, room, movie, ticketValue);
+    }
+
     /**
      * Pede ao repositório para salvar o estado atual de um objeto de sessão.
      * Útil quando o estado da sessão (como assentos disponíveis) é modificado por outro serviço.
@@ -86,22 +110,127 @@ public class SessionController {
     }
 
     /**
-     * Pega uma sessão pelo ID.
+     * Confere um lote de sessões novas contra a grade das salas.
+     * @param candidates sessões ainda não cadastradas.
+     * @return a mensagem de conflito de cada sessão, ou null se não houver conflito.
+     */
+    public static List<String> checkTimetable(List<Session> candidates){
+        return sessionService.checkTimetable(candidates);
+    }
+
+    /**
+     * Confere um lote de sessões novas contra a grade das salas, com um intervalo de limpeza próprio.
+     * @param candidates sessões ainda não cadastradas.
+     * @param cleaningMinutes intervalo de limpeza entre sessões da mesma sala.
+     * @return a mensagem de conflito de cada sessão, ou null se não houver conflito.
+     */
+    public static List<String> checkTimetable(List<Session> candidates, int cleaningMinutes){
+        return sessionService.checkTimetable(candidates, cleaningMinutes);
+    }
+
+    /**
+     * Cadastra um lote de sessões já validadas de uma vez.
+     * @param newSessions sessões a serem cadastradas.
+     */
+    public static void addSessions(List<Session> newSessions){
+        sessionService.addSessions(newSessions);
+    }
+
+    /**
+     * Cria a programação recorrente de um filme em uma sala, de uma vez só.
+     * @param from primeiro dia da programação (dd-MM-yyyy).
+     * @param to último dia da programação (dd-MM-yyyy).
+     * @param weekdays dias da semana com sessões.
+     * @param times horários das sessões em cada dia (HH:mm).
+     * @param room sala onde as sessões ocorrerão.
+     * @param movie filme que será exibido.
+     * @param ticketValue valor do ingresso.
+     * @return as sessões cadastradas e os horários que ficaram de fora por conflito.
+     */
+    public static ScheduleResult scheduleRecurring(String from, String to, Set<DayOfWeek> weekdays, List<String> times,
+                                                   Room room, Movie movie, Double ticketValue){
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm");
+        List<LocalTime> timesParsed = new ArrayList<>();
+        for (String time : times) {
+            timesParsed.add(LocalTime.parse(time.trim(), timeFormat));
+        }
+        return sessionService.scheduleRecurring(LocalDate.parse(from, dateFormat), LocalDate.parse(to, dateFormat),
+                weekdays, timesParsed, room, movie, ticketValue);
+    }
+
+    /**
+     * Pega uma sessão pelo ID, inclusive entre as já realizadas.
      * @param id ID da sessão a ser buscada.
      * @return A sessão encontrada, ou {@code null} se não existir.
      */
     public static Session getSessionById(int id){
         return sessionService.getSessionById(id);
     }
+
+    /**
+     * Move para o arquivo de sessões as sessões de dias anteriores ao atual.
+     * Deve ser chamado uma vez no início da aplicação, antes de arquivar os tickets.
+     *
+     * @return A quantidade de sessões movidas.
+     */
+    public static int archiveFinishedSessions(){
+        return sessionService.archiveFinishedSessions();
+    }
+
+    /**
+     * Verifica se uma sessão já foi realizada e está no arquivo de sessões.
+     * @param id ID da sessão.
+     * @return true se a sessão estiver arquivada.
+     */
+    public static boolean isSessionArchived(int id){
+        return sessionService.isSessionArchived(id);
+    }
     
     /**
-     * Pega todas as sessões cadastradas no sistema.
+     * Pega todas as sessões cadastradas no sistema, sem as já realizadas.
      * @return Uma lista de todas as sessões.
      */
-    public static LinkedList<Session> getAllSessions(){
+    public static List<Session> getAllSessions(){
         return sessionService.getAllSessions();
     }
 
+    /**
+     * Pega todas as sessões que exibem um determinado filme.
+     * @param movieId ID do filme.
+     * @return Uma lista com as sessões do filme.
+     */
+    public static List<Session> getSessionsByMovie(int movieId){
+        return sessionService.getSessionsByMovie(movieId);
+    }
+
+    /**
+     * Pega todas as sessões de um filme, inclusive as já realizadas.
+     * @param movieId ID do filme.
+     * @return Uma lista com as sessões arquivadas do filme seguidas das atuais.
+     */
+    public static List<Session> getSessionHistoryByMovie(int movieId){
+        return sessionService.getSessionHistoryByMovie(movieId);
+    }
+
+    /**
+     * Percorre o resumo das sessões já realizadas, sem carregá-las do disco.
+     * @param visitor Recebe o resumo de cada sessão arquivada.
+     */
+    public static void forEachArchivedSession(SessionArchive.SummaryVisitor visitor){
+        sessionService.forEachArchivedSession(visitor);
+    }
+
+    /**
+     * Percorre as sessões de um período em ordem de data, inclusive as já realizadas.
+     * @param from Primeiro dia do período.
+     * @param to Último dia do período.
+     * @return Uma stream preguiçosa com as sessões do período.
+     */
+    public static Stream<Session> streamSessionsBetween(LocalDate from, LocalDate to){
+        return sessionService.streamSessionsBetween(from, to);
+    }
+
     /**
      * Remove uma sessão pelo ID.
      * @param id ID da sessão a ser removida.
@@ -1,10 +1,13 @@
 package controller.business;
 
 import models.Ticket;
+import repository.TicketHistoryStore;
 import repository.TicketRepository;
 import services.TicketService;
 
-import java.util.LinkedList;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Classe responsável por controlar operações relacionadas aos tickets
@@ -27,6 +30,16 @@ public class TicketController {
         }
     }
 
+    /**
+     * Move para o histórico os tickets de sessões já realizadas.
+     * Deve ser chamado uma vez no início da aplicação, depois de arquivar as sessões.
+     *
+     * @return A quantidade de tickets movidos.
+     */
+    public static int archiveFinishedTickets() {
+        return ticketService.archiveFinishedTickets();
+    }
+
     /**
      * Método responsável por realizar uma compra de um ingresso.
      *
@@ -38,15 +51,58 @@ public class TicketController {
         return ticketService.purchaseTicket(clientId, sessionId, paymentMethod);
     }
 
+    /**
+     * Compra um ingresso que faz parte de uma venda com vários ingressos.
+     *
+     * @param clientId id do cliente realizando a compra
+     * @param sessionId id da sessão que a compra será relizada
+     * @param paymentMethod método de pagamento do ingresso
+     * @param quantity quantidade de ingressos da venda, usada nas promoções de combo
+     */
+    public static Ticket purchaseTicket(int clientId, int sessionId, String paymentMethod, int quantity) {
+        return ticketService.purchaseTicket(clientId, sessionId, paymentMethod, quantity);
+    }
+
+    /**
+     * Compra vários ingressos de uma sessão, reservando todos os assentos de uma vez.
+     *
+     * @param clientId id do cliente realizando a compra
+     * @param sessionId id da sessão que a compra será relizada
+     * @param paymentMethod método de pagamento dos ingressos
+     * @param quantity quantidade de ingressos
+     * @return os tickets gerados
+     */
+    public static List<Ticket> purchaseTickets(int clientId, int sessionId, String paymentMethod, int quantity) {
+        return ticketService.purchaseTickets(clientId, sessionId, paymentMethod, quantity);
+    }
+
     /**
      * Reecupera todos os tickets cadastrados.
      * 
-     * @return uma lista dinâmica contendo todos os tickets.
+     * @return um retrato imutável de todos os tickets.
      */
-    public static LinkedList<Ticket> getAllTickets() {
+    public static List<Ticket> getAllTickets() {
         return ticketService.getAllTickets();
     }
 
+    /**
+     * Recupera os tickets das sessões ainda não realizadas, sem o histórico.
+     * 
+     * @return um retrato imutável dos tickets em memória.
+     */
+    public static List<Ticket> getCurrentTickets() {
+        return ticketService.getCurrentTickets();
+    }
+
+    /**
+     * Percorre os dados de venda dos tickets do histórico, sem montá-los.
+     * 
+     * @param visitor recebe os dados de venda de cada ticket do histórico.
+     */
+    public static void forEachArchivedSale(TicketHistoryStore.SaleVisitor visitor) {
+        ticketService.forEachArchivedSale(visitor);
+    }
+
     /**
      * Recupera um ticket pelo seu ID.
      * 
@@ -57,6 +113,37 @@ public class TicketController {
         return ticketService.getTicketById(id);
     }
 
+    /**
+     * Recupera os tickets vendidos para uma sessão.
+     * 
+     * @param sessionId ID da sessão.
+     * @return lista com os tickets da sessão.
+     */
+    public static List<Ticket> getTicketsBySession(int sessionId) {
+        return ticketService.getTicketsBySession(sessionId);
+    }
+
+    /**
+     * Recupera os tickets comprados por um cliente.
+     * 
+     * @param clientId ID do cliente.
+     * @return lista com os tickets do cliente.
+     */
+    public static List<Ticket> getTicketsByClient(int clientId) {
+        return ticketService.getTicketsByClient(clientId);
+    }
+
+    /**
+     * Percorre os tickets vendidos em um período.
+     * 
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return stream preguiçosa com os tickets do período.
+     */
+    public static Stream<Ticket> streamTicketsSoldBetween(LocalDate from, LocalDate to) {
+        return ticketService.streamTicketsSoldBetween(from, to);
+    }
+
     /**
      * Remove um ticket pelo seu ID.
      * 
@@ -66,6 +153,15 @@ public class TicketController {
         ticketService.removeTicketById(id);
     }
 
+    /**
+     * Devolve ao sistema um ticket removido, ao desfazer um cancelamento.
+     *
+     * @param ticket ticket removido.
+     */
+    public static void restoreTicket(Ticket ticket) {
+        ticketService.restoreTicket(ticket);
+    }
+
     /**
      * Remove todos os tickets.
      */
@@ -0,0 +1,79 @@
+package controller.business;
+
+import models.Session;
+import models.Ticket;
+import services.TrendingService;
+import services.TrendingService.RankedItem;
+
+import java.util.List;
+
+/**
+ * Classe de controle dos rankings ao vivo exibidos na tela principal.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class TrendingController {
+
+    private static final TrendingService trendingService = new TrendingService();
+
+    /**
+     * Reconstrói os contadores do dia a partir dos dados carregados dos arquivos.
+     * Deve ser chamado no início da aplicação, depois dos repositórios.
+     *
+     * @param sessions todas as sessões cadastradas.
+     * @param tickets os tickets vendidos hoje ({@link TicketController#streamTicketsSoldBetween}).
+     */
+    public static void initialize(List<Session> sessions, List<Ticket> tickets) {
+        trendingService.rebuild(sessions, tickets);
+    }
+
+    /**
+     * Conta a venda de um ingresso.
+     * @param ticket ticket vendido.
+     */
+    public static void registerSale(Ticket ticket) {
+        trendingService.registerSale(ticket);
+    }
+
+    /**
+     * Desconta a venda de um ingresso cancelado.
+     * @param ticket ticket cancelado.
+     */
+    public static void registerCancellation(Ticket ticket) {
+        trendingService.registerCancellation(ticket);
+    }
+
+    /**
+     * @param k tamanho do ranking.
+     * @return os filmes mais vendidos hoje.
+     */
+    public static List<RankedItem> getTopMovies(int k) {
+        return trendingService.getTopMovies(k);
+    }
+
+    /**
+     * @param hour hora do dia (0 a 23).
+     * @param k tamanho do ranking.
+     * @return os filmes mais vendidos hoje na hora informada.
+     */
+    public static List<RankedItem> getTopMoviesOfHour(int hour, int k) {
+        return trendingService.getTopMoviesOfHour(hour, k);
+    }
+
+    /**
+     * @param k tamanho do ranking.
+     * @return as sessões quase esgotadas que ainda não começaram.
+     */
+    public static List<RankedItem> getSessionsSellingOut(int k) {
+        return trendingService.getSessionsSellingOut(k);
+    }
+
+    /**
+     * @param movieId ID do filme.
+     * @return ingressos do filme vendidos hoje.
+     */
+    public static long getMovieSalesToday(int movieId) {
+        return trendingService.getMovieSalesToday(movieId);
+    }
+}
@@ -3,12 +3,14 @@ package controller.viewcontroller;
 import controller.business.ClientController;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
 import javafx.scene.control.TextField;
 
 import java.net.URL;
 import java.util.ResourceBundle;
 import javafx.fxml.Initializable;
 import models.*;
+import exceptions.ConcurrentUpdateException;
 
 /**
  * Classe responsável por controlar a tela de alteração de um cliente.
@@ -18,6 +20,8 @@ import models.*;
  */
 public class ChangeClientController implements Initializable {
     private static Client client;
+    // Versão do cliente quando a edição foi aberta
+    private static int clientVersion;
 
     @FXML private TextField boxDate;
 
@@ -46,6 +50,7 @@ public class ChangeClientController implements Initializable {
             public void onScreenChanged(String newScreen, Object userDataObject) {
                 if (userDataObject instanceof Client) {
                     client = (Client) userDataObject;
+                    clientVersion = client.getVersion();
                     boxDate.setText(client.getBirthday());
                     boxEmail.setText(client.getEmail());
                     boxName.setText(client.getName());
@@ -77,7 +82,15 @@ public class ChangeClientController implements Initializable {
         String date = boxDate.getText().trim();
         String cpf = boxCPF.getText().trim();
        
-        ClientController.updateClient(client.getId(), name, cpf, email, date);
+        try {
+            ClientController.updateClient(client.getId(), clientVersion, name, cpf, email, date);
+        } catch (ConcurrentUpdateException e) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setHeaderText("Cliente alterado em outro terminal");
+            alert.setContentText(e.getMessage());
+            alert.show();
+            return;
+        }
         boxName.clear();
         boxEmail.clear();
         boxDate.clear();
@@ -1,5 +1,6 @@
 package controller.viewcontroller;
 
+import controller.business.BulkImportController;
 import controller.business.ClientController;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -13,15 +14,20 @@ import javafx.geometry.Insets;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.Button;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Locale;
 import java.util.ArrayList;
 import java.util.List;
 
 import models.*;
+import services.BulkImportService.ImportReport;
 
 /**
  * Classe referente ao controle da interface "Controle de Clientes" presente na aplicação.
@@ -258,6 +264,36 @@ public class ClientControlController implements Initializable{
         MainViews.changeScreen("sessionControl", null);
     }
 
+    /**
+     * Método chamado quando o botão "Importar CSV" é clicado. Importa os clientes de um
+     * arquivo CSV e mostra quantos foram cadastrados e os erros de cada linha.
+     *
+     * @param event evento de clique do botão
+     */
+    @FXML
+    void importClients(ActionEvent event) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Importar clientes");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showOpenDialog(((Node) event.getSource()).getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        Alert alert;
+        try {
+            ImportReport report = BulkImportController.importClients(file.toPath());
+            alert = new Alert(report.getErrors().isEmpty() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+            alert.setHeaderText(report.getImported() + " clientes importados");
+            alert.setContentText(String.join("\n", report.getErrors()));
+        } catch (IOException e) {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setHeaderText("Erro");
+            alert.setContentText("Não foi possível ler o arquivo: " + e.getMessage());
+        }
+        alert.show();
+        search();
+    }
+
     /**
      * Método que busca por um cliente.
      * 
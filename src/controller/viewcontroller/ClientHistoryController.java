@@ -9,6 +9,8 @@ import java.net.URL;
 import java.util.ResourceBundle;
 import javafx.scene.control.Button;
 import javafx.geometry.Insets;
+import java.util.List;
+import controller.business.ClientController;
 import models.*;
 
 /**
@@ -101,14 +103,20 @@ public class ClientHistoryController implements Initializable {
         lblID.setText(client.getId()+"");
         lblEmail.setText(client.getEmail());
         lblNascimento.setText(client.getBirthday());
-        lblNumIngressos.setText(String.valueOf(client.getPurchasingHistory().size()));
-
-        for (Ticket ticket : client.getPurchasingHistory()) {
-            Label labelMovie = new Label(ticket.getSession().getMovie().getTitle());
+        List<Ticket> history = ClientController.getClientHistory(client.getId());
+        lblNumIngressos.setText(String.valueOf(history.size()));
+
+        for (Ticket ticket : history) {
+            Session session = ticket.getSession();
+            if (session == null) {
+                // Sessão removida do cadastro depois da venda
+                continue;
+            }
+            Label labelMovie = new Label(session.getMovie().getTitle());
             labelMovie.setStyle(
                     "-fx-text-fill: #f2e8c6 !important; -fx-font-family: Arial !important; -fx-font-size: 14px;");
-            Label labelSession = new Label("Sessão → " + ticket.getSession().getDate() + " às " + ticket
-                    .getSession().getTime() + " (Sala "+ ticket.getSession().getRoom().getId() +")");
+            Label labelSession = new Label("Sessão → " + session.getDate() + " às " + session.getTime()
+                    + " (Sala "+ session.getRoom().getId() +")");
             labelSession.setStyle(
                     "-fx-text-fill: #f2e8c6 !important; -fx-font-family: Arial !important; -fx-font-size: 14px;");
             Label labelAccess = new Label("Acessar Registro de Compras: ");
@@ -1,9 +1,17 @@
 package controller.viewcontroller;
 
+import java.net.URL;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import controller.business.TrendingController;
 import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Label;
 import javafx.scene.image.ImageView;
 import javafx.event.ActionEvent;
 import javafx.application.Platform;
+import services.TrendingService.RankedItem;
 
 /**
  * Classe referente ao controle da interface "Tela Principal" presente na
@@ -13,10 +21,52 @@ import javafx.application.Platform;
  * @since 31-05-2025
  * @version 2
  */
-public class HomeScreenController {
+public class HomeScreenController implements Initializable {
+    private static final int RANKING_SIZE = 5;
+
     @FXML
     private ImageView closeButton;
 
+    @FXML
+    private Label lblTopMovies;
+
+    @FXML
+    private Label lblSellingOut;
+
+    /**
+     * Mostra os rankings do dia ao abrir a aplicação e sempre que a tela principal volta a ser exibida.
+     */
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        refreshRankings();
+        MainViews.addOnChangeScreenListener((screen, userData) -> {
+            if (screen.equals("homeScreen")) {
+                refreshRankings();
+            }
+        });
+    }
+
+    /**
+     * Atualiza os rankings de filmes mais vendidos e de sessões quase esgotadas.
+     */
+    private void refreshRankings() {
+        List<RankedItem> topMovies = TrendingController.getTopMovies(RANKING_SIZE);
+        StringBuilder movies = new StringBuilder();
+        for (int i = 0; i < topMovies.size(); i++) {
+            RankedItem item = topMovies.get(i);
+            movies.append(i + 1).append(". ").append(item.getLabel())
+                    .append(" (").append(item.getCount()).append(" ingressos)\n");
+        }
+        lblTopMovies.setText(topMovies.isEmpty() ? "Nenhuma venda hoje." : movies.toString());
+
+        List<RankedItem> sellingOut = TrendingController.getSessionsSellingOut(RANKING_SIZE);
+        StringBuilder sessions = new StringBuilder();
+        for (RankedItem item : sellingOut) {
+            sessions.append(item.getLabel()).append(" (").append(item.getCount()).append(" restantes)\n");
+        }
+        lblSellingOut.setText(sellingOut.isEmpty() ? "Nenhuma sessão quase esgotada." : sessions.toString());
+    }
+
     /**
      * Método que abre a Tela de Controle de Clientes.
      * 
@@ -87,6 +137,16 @@ public class HomeScreenController {
         MainViews.changeScreen("purchaseRelatory", null);
     }
 
+    /**
+     * Método que abre a Tela de Relatórios de Receita.
+     * 
+     * @param event Evento ao apertar o botão, caso necessário.
+     */
+    @FXML
+    void openRevenueRelatory(ActionEvent event) {
+        MainViews.changeScreen("revenueRelatory", null);
+    }
+
     /**
      * Método que abre a Tela de Controle de Sessões.
      * 
@@ -6,10 +6,14 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import models.Ticket;
 import repository.*;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Classe da tela principal do sistema onde é possível navegar entre as telas.
@@ -42,6 +46,7 @@ public class MainViews extends Application {
     private static Scene popUpDiscountScene;
     private static Scene popUpSessionScene;
     private static Scene oversoldScene;
+    private static Scene revenueRelatoryScene;
 
     /**
      * Inicializa a aplicação.
@@ -76,6 +81,7 @@ public class MainViews extends Application {
         FXMLLoader loaderPopUpDiscount = new FXMLLoader(getClass().getResource("/gui/PopUpDiscount.fxml"));
         FXMLLoader loaderPopUpSession = new FXMLLoader(getClass().getResource("/gui/PopUpSession.fxml"));
         FXMLLoader loaderOversold = new FXMLLoader(getClass().getResource("/gui/Oversold.fxml"));
+        FXMLLoader loaderRevenueRelatory = new FXMLLoader(getClass().getResource("/gui/RevenueRelatory.fxml"));
 
         Parent homeScreen = loaderHomeScreen.load();
         homeScreenScene = new Scene(homeScreen);
@@ -143,6 +149,9 @@ public class MainViews extends Application {
         Parent oversold = loaderOversold.load();
         oversoldScene = new Scene(oversold);
 
+        Parent revenueRelatory = loaderRevenueRelatory.load();
+        revenueRelatoryScene = new Scene(revenueRelatory);
+
         primaryStage.setScene(homeScreenScene);
         primaryStage.centerOnScreen();
         primaryStage.show();
@@ -246,6 +255,10 @@ public class MainViews extends Application {
                 stage.setScene(oversoldScene);
                 notifyAllListerners("oversold", userDataObject);
                 break;
+            case "revenueRelatory":
+                stage.setScene(revenueRelatoryScene);
+                notifyAllListerners("revenueRelatory", userDataObject);
+                break;
             default:
                 break;
         }
@@ -266,18 +279,37 @@ public class MainViews extends Application {
      */
     public static void initializeDataLayer() {
         System.out.println("--- INICIALIZANDO CAMADA DE DADOS (COM ARQUIVOS) ---");
+        // Conclui ou descarta uma venda interrompida antes de carregar os arquivos
+        UnitOfWork.recover();
         try {
             Class.forName("controller.business.RoomController");
             Class.forName("controller.business.MovieController");
+            // O controller de sessões cria o seu próprio repositório; ele precisa das salas já carregadas
+            Class.forName("controller.business.SessionController");
         } catch (ClassNotFoundException e) {
             System.out.println(e.getMessage());
         }
         ClientRepository clientRepo = new ClientRepository();
-        SessionRepository sessionRepo = new SessionRepository();
         TicketRepository ticketRepo = new TicketRepository();
         ClientController.initialize(clientRepo);
-        SessionController.initialize(sessionRepo);
+        LoyaltyController.initialize(new LoyaltyLedgerRepository(), ClientController.getAllClients());
         TicketController.initialize(ticketRepo);
+        // Só a aplicação arquiva o que já foi realizado; carregar os repositórios não grava nada
+        SessionController.archiveFinishedSessions();
+        TicketController.archiveFinishedTickets();
+        // As sessões realizadas entram pelo resumo do índice: nenhum mês arquivado é lido do disco
+        List<Ticket> currentTickets = TicketController.getCurrentTickets();
+        OccupancyController.initialize(SessionController.getAllSessions(), currentTickets,
+                SessionController::forEachArchivedSession, TicketController::forEachArchivedSale);
+        // Os totais do dia só precisam das vendas de hoje: a busca pelo minuto da venda pula o histórico
+        List<Ticket> soldToday;
+        try (Stream<Ticket> sold = TicketController.streamTicketsSoldBetween(LocalDate.now(), LocalDate.now())) {
+            soldToday = sold.collect(Collectors.toList());
+        }
+        RevenueController.initialize(soldToday);
+        SalesCubeController.initialize(currentTickets,
+                SessionController::forEachArchivedSession, TicketController::forEachArchivedSale);
+        TrendingController.initialize(SessionController.getAllSessions(), soldToday);
 
         System.out.println("--- CAMADA DE DADOS INICIALIZADA COM SUCESSO ---");
     }
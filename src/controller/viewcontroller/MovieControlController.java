@@ -1,5 +1,6 @@
 package controller.viewcontroller;
 
+import controller.business.BulkImportController;
 import controller.business.MovieController;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -7,14 +8,21 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import services.BulkImportService.ImportReport;
 import models.Movie;
 import javafx.fxml.Initializable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +60,8 @@ public class MovieControlController implements Initializable, MainViews.OnChange
     private TableColumn<Movie, String> ratingColumn;
     @FXML
     private TableColumn<Movie, String> synopsisColumn;
+    @FXML
+    private TextField txtSearch;
 
     private final ObservableList<Movie> selectedMovies = FXCollections.observableArrayList();
     private ObservableList<Movie> moviesForTable;
@@ -134,6 +144,8 @@ public class MovieControlController implements Initializable, MainViews.OnChange
             }
         });
 
+        txtSearch.textProperty().addListener((obs, oldValue, newValue) -> refreshTable());
+
         MainViews.addOnChangeScreenListener(this);
         refreshTable();
     }
@@ -152,14 +164,14 @@ public class MovieControlController implements Initializable, MainViews.OnChange
     }
 
     /**
-     * Atualiza a tabela de filmes.
+     * Atualiza a tabela de filmes, aplicando a busca digitada se houver.
      */
     private void refreshTable() {
         List<Movie> currentlySelectedCopy = new ArrayList<>(selectedMovies);
         selectedMovies.clear();
         moviesForTable.clear();
 
-        List<Movie> currentMoviesFromRepo = MovieController.getAllMovies();
+        List<Movie> currentMoviesFromRepo = MovieController.searchMovies(txtSearch.getText());
 
         if (currentMoviesFromRepo != null) {
             for (Movie movie : currentMoviesFromRepo) {
@@ -232,14 +244,56 @@ public class MovieControlController implements Initializable, MainViews.OnChange
             return;
         }
         List<Movie> moviesToDelete = new ArrayList<>(selectedMovies);
+        List<String> blocked = new ArrayList<>();
         for (Movie movie : moviesToDelete) {
-            MovieController.removeMovieById(movie.getId());
-            movieSelectionMap.remove(movie);
+            try {
+                MovieController.removeMovieById(movie.getId());
+                movieSelectionMap.remove(movie);
+            } catch (IllegalArgumentException e) {
+                blocked.add(movie.getTitle());
+            }
         }
 
         selectedMovies.clear();
         refreshTable();
-        mostrarPopUp("excluído");
+        if (blocked.isEmpty()) {
+            mostrarPopUp("excluído");
+        } else {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setHeaderText("Erro");
+            alert.setContentText("Filmes com sessões futuras não podem ser excluídos: " + String.join(", ", blocked));
+            alert.show();
+        }
+    }
+
+    /**
+     * Método chamado quando o botão "Importar CSV" é clicado. Importa os filmes de um
+     * arquivo CSV e mostra quantos foram cadastrados e os erros de cada linha.
+     *
+     * @param event evento de clique do botão
+     */
+    @FXML
+    void importMovies(ActionEvent event) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Importar filmes");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showOpenDialog(((Node) event.getSource()).getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        Alert alert;
+        try {
+            ImportReport report = BulkImportController.importMovies(file.toPath());
+            alert = new Alert(report.getErrors().isEmpty() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+            alert.setHeaderText(report.getImported() + " filmes importados");
+            alert.setContentText(String.join("\n", report.getErrors()));
+        } catch (IOException e) {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setHeaderText("Erro");
+            alert.setContentText("Não foi possível ler o arquivo: " + e.getMessage());
+        }
+        alert.show();
+        refreshTable();
     }
 
     /**
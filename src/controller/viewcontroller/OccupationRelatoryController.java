@@ -2,6 +2,7 @@ package controller.viewcontroller;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -16,14 +17,19 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
-import java.util.stream.Collectors;
-
 import javafx.event.ActionEvent;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Font;
 import models.*;
+import controller.business.MovieController;
+import controller.business.OccupancyController;
+import controller.business.ReportCacheController;
+import controller.business.SessionController;
+import enums.RepositoryType;
+import services.OccupancyService.Stats;
+import java.util.Map;
 
 /**
  * Classe responsável por controlar a tela de relatório de ocupação de salas.
@@ -151,7 +157,9 @@ public class OccupationRelatoryController implements Initializable {
     public void showFilter() {
         filterContainer.getChildren().clear();
 
-        if (room == null || room.getSessions() == null || room.getSessions().isEmpty()) {
+        // Um único retrato das sessões para todo o relatório
+        List<Session> roomSessions = room == null ? null : room.getSessions();
+        if (roomSessions == null || roomSessions.isEmpty()) {
             Label noDataLabel = new Label("Não há sessões nesta sala para gerar relatórios.");
             noDataLabel.setStyle("-fx-text-fill: #f2e8c6; -fx-font-size: 14px; -fx-padding: 15px;");
             filterContainer.getChildren().add(noDataLabel);
@@ -159,29 +167,28 @@ public class OccupationRelatoryController implements Initializable {
         }
 
         if ("Filme".equals(selected)) {
-            room.getSessions().stream()
-                    .collect(Collectors.groupingBy(Session::getMovie))
-                    .forEach((movie, sessoesDoFilme) -> {
-                        double totalVendidos = 0;
-                        for (Session session : sessoesDoFilme) {
-                            totalVendidos += (room.getTotalSeat() - session.getTotalAvailableSeats());
-                        }
-                        double totalAssentosOferecidos = (double) sessoesDoFilme.size() * room.getTotalSeat();
-                        double ocupacaoMedia = (totalAssentosOferecidos > 0) ? (totalVendidos / totalAssentosOferecidos) * 100 : 0;
-
-                        Text titleText = new Text(movie.getTitle() + " ");
-                        titleText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-                        titleText.setFill(javafx.scene.paint.Color.web("#f2e8c6"));
-                        Text occupationText = new Text("- Ocupação Média: " + String.format("%.1f", ocupacaoMedia) + "%\n");
-                        occupationText.setFont(Font.font("Arial", 18));
-                        occupationText.setFill(javafx.scene.paint.Color.web("#f2e8c6"));
-                        TextFlow textFlow = new TextFlow(titleText, occupationText);
-                        filterContainer.getChildren().add(textFlow);
-                    });
+            for (Map.Entry<Integer, Stats> entry : OccupancyController.getMovieStatsInRoom(room.getId()).entrySet()) {
+                Movie movie;
+                try {
+                    movie = MovieController.getMovieById(entry.getKey());
+                } catch (IllegalAccessError e) {
+                    continue; // filme excluído após as sessões terem acontecido
+                }
+                double ocupacaoMedia = entry.getValue().getOccupancy();
+
+                Text titleText = new Text(movie.getTitle() + " ");
+                titleText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+                titleText.setFill(javafx.scene.paint.Color.web("#f2e8c6"));
+                Text occupationText = new Text("- Ocupação Média: " + String.format("%.1f", ocupacaoMedia) + "%\n");
+                occupationText.setFont(Font.font("Arial", 18));
+                occupationText.setFill(javafx.scene.paint.Color.web("#f2e8c6"));
+                TextFlow textFlow = new TextFlow(titleText, occupationText);
+                filterContainer.getChildren().add(textFlow);
+            }
 
         } else if ("Horário de Sessão".equals(selected)) {
 
-            List<Movie> moviesNaSala = room.getSessions().stream()
+            List<Movie> moviesNaSala = roomSessions.stream()
                     .map(Session::getMovie)
                     .distinct()
                     .toList();
@@ -240,15 +247,7 @@ public class OccupationRelatoryController implements Initializable {
     private void displaySessionsForMovie(Movie movie, VBox container) {
         container.getChildren().clear();
 
-        List<Session> sessoesDoFilmeNaSala = new ArrayList<>();
-
-        if (room != null && room.getSessions() != null) {
-            for (Session session : room.getSessions()) {
-                if (session.getMovie().getId() == movie.getId()) {
-                    sessoesDoFilmeNaSala.add(session);
-                }
-            }
-        }
+        List<Session> sessoesDoFilmeNaSala = sessionsOfMovieInRoom(movie);
 
         if (sessoesDoFilmeNaSala.isEmpty()) {
             Label noSessionsLabel = new Label("Não há sessões programadas para este filme nesta sala.");
@@ -262,8 +261,7 @@ public class OccupationRelatoryController implements Initializable {
             String dataFormatada = session.getDate();
             String horaFormatada = session.getTime();
 
-            int vendidos = room.getTotalSeat() - session.getTotalAvailableSeats();
-            double ocupacao = (room.getTotalSeat() > 0) ? ((double) vendidos / room.getTotalSeat()) * 100.0 : 0.0;
+            double ocupacao = OccupancyController.getSessionStats(session.getId()).getOccupancy();
 
             Text sessionTitle = new Text("Sessão" + sessionCounter + " - " + movie.getTitle() + " (" + dataFormatada + " às " + horaFormatada + ")\n");
             sessionTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
@@ -279,4 +277,27 @@ public class OccupationRelatoryController implements Initializable {
             sessionCounter++;
         }
     }
+
+    /**
+     * Retorna as sessões de um filme que acontecem na sala atual,
+     * usando o índice de sessões por filme, inclusive as já realizadas.
+     *
+     * @param movie O filme cujas sessões serão buscadas.
+     * @return Lista com as sessões do filme nesta sala.
+     */
+    private List<Session> sessionsOfMovieInRoom(Movie movie) {
+        if (room == null) {
+            return new ArrayList<>();
+        }
+        int roomId = room.getId();
+        return ReportCacheController.get("sessionsOfMovieInRoom", EnumSet.of(RepositoryType.SESSION), () -> {
+            List<Session> result = new ArrayList<>();
+            for (Session session : SessionController.getSessionHistoryByMovie(movie.getId())) {
+                if (session.getRoom() != null && session.getRoom().getId() == roomId) {
+                    result.add(session);
+                }
+            }
+            return result;
+        }, roomId, movie.getId());
+    }
 }
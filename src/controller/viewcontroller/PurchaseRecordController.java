@@ -1,5 +1,6 @@
 package controller.viewcontroller;
 
+import controller.business.ClientController;
 import controller.business.SaleController;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -90,7 +91,7 @@ public class PurchaseRecordController implements Initializable {
         labelSession.setText(ticket.getSession().getDate() + " às " + ticket.getSession().getTime() + " (Sala " + ticket.getSession().getRoom().getId() + ")");
         labelPagamento.setText(ticket.getPaymentMethod().toString());
         
-        List<Ticket> list = ticket.getClient().getPurchasingHistory();
+        List<Ticket> list = ClientController.getClientHistory(ticket.getClient().getId());
         int tickets = 0;
         for(Ticket tck : list){
             if(ticket.getId() == tck.getId()){
@@ -1,6 +1,10 @@
 package controller.viewcontroller;
 
 import java.net.URL;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.ResourceBundle;
 import controller.business.MovieController;
 import controller.business.RoomController;
@@ -8,7 +12,13 @@ import controller.business.SessionController;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.geometry.Side;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
+import models.Movie;
+import services.SessionService.ScheduleResult;
 
 /**
  * Classe responsável por controlar a tela de cadastro de uma sessão.
@@ -34,6 +44,11 @@ public class RegisterSessionController implements Initializable {
     @FXML
     private TextField txtTime;
 
+    @FXML
+    private TextField txtUntil;
+
+    private final ContextMenu movieSuggestions = new ContextMenu();
+
 
     /**
      * Add commentMore actions
@@ -49,6 +64,40 @@ public class RegisterSessionController implements Initializable {
         txtPrice.setStyle("-fx-text-fill: white !important; -fx-background-color: #03002C !important;");
         txtRoom.setStyle("-fx-text-fill: white !important; -fx-background-color: #03002C !important;");
         txtTime.setStyle("-fx-text-fill: white !important; -fx-background-color: #03002C !important;");
+
+        txtMovieId.textProperty().addListener((obs, oldValue, newValue) -> showMovieSuggestions(newValue));
+        txtMovieId.focusedProperty().addListener((obs, oldValue, focused) -> {
+            if (!focused) {
+                movieSuggestions.hide();
+            }
+        });
+    }
+
+    /**
+     * Mostra sugestões de filmes enquanto o usuário digita o título no campo do filme.
+     * Ao escolher uma sugestão, o campo é preenchido com o ID do filme.
+     *
+     * @param text texto digitado no campo do filme
+     */
+    private void showMovieSuggestions(String text) {
+        if (text == null || text.isBlank() || text.trim().matches("\\d+")) {
+            movieSuggestions.hide();
+            return;
+        }
+
+        List<Movie> movies = MovieController.getMoviesByTitlePrefix(text, 8);
+        movieSuggestions.getItems().clear();
+        for (Movie movie : movies) {
+            MenuItem item = new MenuItem(movie.getTitle());
+            item.setOnAction(event -> txtMovieId.setText(movie.getId() + ""));
+            movieSuggestions.getItems().add(item);
+        }
+
+        if (movies.isEmpty()) {
+            movieSuggestions.hide();
+        } else if (!movieSuggestions.isShowing()) {
+            movieSuggestions.show(txtMovieId, Side.BOTTOM, 0, 0);
+        }
     }
 
     /**
@@ -62,7 +111,9 @@ public class RegisterSessionController implements Initializable {
     }
 
     /**
-     * Cadastra uma sessão no sistema.
+     * Cadastra uma sessão no sistema. Com vários horários (separados por "/") ou
+     * com a data "Repetir diariamente até" preenchida, cadastra a programação
+     * inteira de uma vez.
      * 
      * @param event evento de clique no botão de cadastrar sessão
      */
@@ -78,13 +129,29 @@ public class RegisterSessionController implements Initializable {
         if (!date.isEmpty() && !time.isEmpty() && !room.isEmpty() && !movie.isEmpty() && !ticketPrice.isEmpty()) {
             int roomId = Integer.parseInt(room);
             double ticketPriceValue = Double.parseDouble(ticketPrice);
-            SessionController.addSession(date, time, RoomController.getRoomById(roomId), MovieController.getMovieById(id), ticketPriceValue);
+            String until = txtUntil.getText().trim();
+            List<String> times = Arrays.asList(time.split("[/,;]"));
+            ScheduleResult result = null;
+            if (until.isEmpty() && times.size() == 1) {
+                SessionController.addSession(date, time, RoomController.getRoomById(roomId), MovieController.getMovieById(id), ticketPriceValue);
+            } else {
+                result = SessionController.scheduleRecurring(date, until.isEmpty() ? date : until, EnumSet.allOf(DayOfWeek.class),
+                        times, RoomController.getRoomById(roomId), MovieController.getMovieById(id), ticketPriceValue);
+            }
             txtMovieId.clear();
             txtDate.clear();
             txtTime.clear();
             txtRoom.clear();
             txtPrice.clear();
-            SessionControlController.mostrarPopUp("cadastrada");
+            txtUntil.clear();
+            if (result != null && !result.getConflicts().isEmpty()) {
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.setHeaderText(result.getCreated().size() + " sessões cadastradas");
+                alert.setContentText("Horários já ocupados:\n" + String.join("\n", result.getConflicts()));
+                alert.show();
+            } else {
+                SessionControlController.mostrarPopUp("cadastrada");
+            }
         }
     }
 
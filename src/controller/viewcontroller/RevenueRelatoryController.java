@@ -0,0 +1,173 @@
+package controller.viewcontroller;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import controller.business.RevenueController;
+import enums.RevenueDimension;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.geometry.Insets;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import services.RevenueService.RevenueLine;
+
+/**
+ * Classe responsável por controlar a tela de relatório de receita.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class RevenueRelatoryController implements Initializable {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final Path EXPORT_PATH = Paths.get("data", "relatorio_receita.csv");
+
+    @FXML
+    private ComboBox<RevenueDimension> cbDimension;
+
+    @FXML
+    private TextField txtFrom;
+
+    @FXML
+    private TextField txtTo;
+
+    @FXML
+    private Label lblTotal;
+
+    @FXML
+    private VBox resultContainer;
+
+    private List<RevenueLine> lastReport;
+    private RevenueDimension lastDimension;
+
+    /**
+     * Preenche as dimensões e abre o relatório de hoje por filme sempre que a tela é aberta.
+     */
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        cbDimension.getItems().setAll(RevenueDimension.values());
+        MainViews.addOnChangeScreenListener((screen, userData) -> {
+            if (screen.equals("revenueRelatory")) {
+                String today = LocalDate.now().format(DATE_FORMAT);
+                cbDimension.getSelectionModel().select(RevenueDimension.MOVIE);
+                txtFrom.setText(today);
+                txtTo.setText(today);
+                generateReport(null);
+            }
+        });
+    }
+
+    /**
+     * Gera o relatório com a dimensão e o período informados.
+     */
+    @FXML
+    void generateReport(ActionEvent event) {
+        try {
+            RevenueDimension dimension = cbDimension.getValue();
+            LocalDate from = LocalDate.parse(txtFrom.getText().trim(), DATE_FORMAT);
+            LocalDate to = LocalDate.parse(txtTo.getText().trim(), DATE_FORMAT);
+
+            lastReport = RevenueController.getReport(dimension, from, to);
+            lastDimension = dimension;
+            showReport(lastReport);
+        } catch (DateTimeParseException e) {
+            showAlert("Data inválida! Use o formato dd-MM-yyyy.");
+        } catch (IllegalArgumentException e) {
+            showAlert(e.getMessage());
+        }
+    }
+
+    /**
+     * Exporta o último relatório gerado para a pasta de dados.
+     */
+    @FXML
+    void exportReport(ActionEvent event) {
+        if (lastReport == null) {
+            showAlert("Gere um relatório antes de exportar.");
+            return;
+        }
+        try {
+            RevenueController.exportCsv(lastReport, lastDimension, EXPORT_PATH);
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setHeaderText("Relatório exportado");
+            alert.setContentText("Arquivo salvo em " + EXPORT_PATH.toAbsolutePath());
+            alert.show();
+        } catch (IOException e) {
+            showAlert("Erro ao exportar o relatório: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Volta para a tela principal quando o botão "Voltar" é clicado.
+     */
+    @FXML
+    void backHomeScreen(ActionEvent event) {
+        resultContainer.getChildren().clear();
+        lblTotal.setText("");
+        lastReport = null;
+        MainViews.changeScreen("homeScreen", null);
+    }
+
+    /**
+     * Mostra as linhas do relatório e o total do período.
+     */
+    private void showReport(List<RevenueLine> lines) {
+        resultContainer.getChildren().clear();
+        long tickets = 0;
+        double revenue = 0;
+        for (RevenueLine line : lines) {
+            tickets += line.getTickets();
+            revenue += line.getRevenue();
+
+            Label key = new Label(line.getKey());
+            key.setPrefWidth(500);
+            key.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+            key.setStyle("-fx-text-fill: #f2e8c6;");
+
+            Label count = new Label(line.getTickets() + " ingressos");
+            count.setPrefWidth(200);
+            count.setFont(Font.font("Arial", 18));
+            count.setStyle("-fx-text-fill: #f2e8c6;");
+
+            Label value = new Label(String.format("R$ %.2f", line.getRevenue()));
+            value.setFont(Font.font("Arial", 18));
+            value.setStyle("-fx-text-fill: #F58414;");
+
+            HBox row = new HBox(20, key, count, value);
+            row.setPadding(new Insets(6, 0, 6, 0));
+            resultContainer.getChildren().add(row);
+        }
+        if (lines.isEmpty()) {
+            Label empty = new Label("Nenhuma venda no período.");
+            empty.setFont(Font.font("Arial", 18));
+            empty.setStyle("-fx-text-fill: #f2e8c6;");
+            resultContainer.getChildren().add(empty);
+        }
+        lblTotal.setText(String.format("Total: %d ingressos - R$ %.2f", tickets, revenue));
+    }
+
+    /**
+     * Exibe um alerta de erro na tela.
+     * @param msg Mensagem de erro a ser exibida.
+     */
+    private void showAlert(String msg) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setHeaderText("Erro");
+        alert.setContentText(msg);
+        alert.show();
+    }
+}
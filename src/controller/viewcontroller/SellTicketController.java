@@ -12,7 +12,9 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import models.Session;
+import models.Ticket;
 import java.io.IOException;
+import java.util.ArrayList;
 
 /**
  * Controlador da tela de venda de ingressos.
@@ -53,10 +55,10 @@ public class SellTicketController {
         try {
             int clientID = Integer.parseInt(clientId.getText());
             String paymentStr = paymentMethod.getText();
-            SaleController.processSale(ClientController.getClientById(clientID), session, 1, PaymentMethod.valueOf(paymentStr));
+            ArrayList<Ticket> tickets = SaleController.processSale(ClientController.getClientById(clientID), session, 1, PaymentMethod.valueOf(paymentStr));
 
-            // Mostra o desconto aplicado
-            double discount = ClientController.calculateDiscount(clientID);
+            // Mostra o desconto aplicado (fidelidade e promoções)
+            double discount = tickets.get(0).getDiscount();
             paymentMethod.clear();
             clientId.clear();
             
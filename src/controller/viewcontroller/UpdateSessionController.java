@@ -6,8 +6,10 @@ import java.util.ResourceBundle;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
 import javafx.scene.control.TextField;
 import models.Session;
+import exceptions.ConcurrentUpdateException;
 import controller.business.MovieController;
 import controller.business.RoomController;
 import controller.business.SessionController;
@@ -21,6 +23,8 @@ import controller.business.SessionController;
  */
 public class UpdateSessionController implements Initializable {
     private static Session session;
+    // Versão da sessão quando a edição foi aberta
+    private static int sessionVersion;
 
     @FXML
     private TextField txtDate;
@@ -57,6 +61,7 @@ public class UpdateSessionController implements Initializable {
             public void onScreenChanged(String newScreen, Object userDataObject) {
                 if (userDataObject instanceof Session) {
                     session = (Session) userDataObject;
+                    sessionVersion = session.getVersion();
                     txtDate.setText(session.getDate());
                     txtTime.setText(session.getTime());
                     txtMovieId.setText(session.getMovie().getId() + "");
@@ -84,7 +89,15 @@ public class UpdateSessionController implements Initializable {
         int new_room = Integer.parseInt(room);
         int new_movie = Integer.parseInt(movie);
 
-        SessionController.updateSession(session.getId(), date, time, RoomController.getRoomById(new_room), MovieController.getMovieById(new_movie), tck);
+        try {
+            SessionController.updateSession(session.getId(), sessionVersion, date, time, RoomController.getRoomById(new_room), MovieController.getMovieById(new_movie), tck);
+        } catch (ConcurrentUpdateException e) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setHeaderText("Sessão alterada em outro terminal");
+            alert.setContentText(e.getMessage());
+            alert.show();
+            return;
+        }
         txtDate.clear();
         txtTime.clear();
         txtMovieId.clear();
@@ -0,0 +1,52 @@
+package enums;
+
+/**
+ * Enumeração dos eixos do cubo de vendas.
+ * Cada eixo possui uma descrição legível para o usuário.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public enum CubeDimension {
+    /**
+     * Filme da sessão.
+     */
+    MOVIE("Filme"),
+
+    /**
+     * Dia da semana da sessão.
+     */
+    WEEKDAY("Dia da Semana"),
+
+    /**
+     * Faixa de horário da sessão.
+     */
+    TIME_SLOT("Horário"),
+
+    /**
+     * Método de pagamento do ingresso.
+     */
+    PAYMENT_METHOD("Pagamento");
+
+    /**
+     * Descrição legível do eixo.
+     */
+    private String description;
+
+    /**
+     * Construtor do enum.
+     * @param description Descrição do eixo.
+     */
+    private CubeDimension(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retorna a descrição do eixo.
+     * @return Descrição legível.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
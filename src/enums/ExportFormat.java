@@ -0,0 +1,57 @@
+package enums;
+
+/**
+ * Enumeração dos formatos de arquivo da exportação de dados.
+ * Cada formato possui uma descrição legível para o usuário.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public enum ExportFormat {
+    /**
+     * Texto separado por ponto e vírgula, com cabeçalho.
+     */
+    CSV("csv"),
+
+    /**
+     * Lista de objetos JSON.
+     */
+    JSON("json");
+
+    /**
+     * Descrição legível do formato.
+     */
+    private String description;
+
+    /**
+     * Construtor do enum.
+     * @param description Descrição do formato.
+     */
+    private ExportFormat(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retorna o formato correspondente à descrição informada.
+     * @param desc Descrição do formato.
+     * @return ExportFormat correspondente.
+     * @throws IllegalArgumentException se a descrição não corresponder a nenhum formato.
+     */
+    public static ExportFormat fromDescription(String desc) {
+        for (ExportFormat format : ExportFormat.values()) {
+            if (format.description.equalsIgnoreCase(desc)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação inválido: " + desc);
+    }
+
+    /**
+     * Retorna a descrição do formato.
+     * @return Descrição legível.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,52 @@
+package enums;
+
+/**
+ * Enumeração dos tipos de lançamento do extrato de pontos de fidelidade.
+ * Cada tipo possui uma descrição legível para o usuário.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public enum LoyaltyEntryType {
+    /**
+     * Pontos ganhos em uma compra (ou saldo inicial migrado).
+     */
+    EARN("Acúmulo"),
+
+    /**
+     * Pontos usados pelo cliente.
+     */
+    REDEEM("Resgate"),
+
+    /**
+     * Pontos que passaram da validade.
+     */
+    EXPIRE("Expiração"),
+
+    /**
+     * Estorno dos lançamentos de um ingresso cancelado.
+     */
+    REVERSE("Estorno");
+
+    /**
+     * Descrição legível do tipo.
+     */
+    private String description;
+
+    /**
+     * Construtor do enum.
+     * @param description Descrição do tipo.
+     */
+    private LoyaltyEntryType(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retorna a descrição do tipo.
+     * @return Descrição legível.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,47 @@
+package enums;
+
+/**
+ * Enumeração dos repositórios que avisam quando seus dados mudam.
+ * Cada repositório possui uma descrição legível para o usuário.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public enum RepositoryType {
+    /**
+     * Repositório de clientes.
+     */
+    CLIENT("Clientes"),
+
+    /**
+     * Repositório de sessões.
+     */
+    SESSION("Sessões"),
+
+    /**
+     * Repositório de tickets.
+     */
+    TICKET("Tickets");
+
+    /**
+     * Descrição legível do repositório.
+     */
+    private String description;
+
+    /**
+     * Construtor do enum.
+     * @param description Descrição do repositório.
+     */
+    private RepositoryType(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retorna a descrição do repositório.
+     * @return Descrição legível.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,72 @@
+package enums;
+
+/**
+ * Enumeração das dimensões pelas quais a receita pode ser agrupada nos relatórios.
+ * Cada dimensão possui uma descrição legível para o usuário.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public enum RevenueDimension {
+    /**
+     * Agrupa pelo dia da venda.
+     */
+    DAY("Dia"),
+
+    /**
+     * Agrupa pelo filme da sessão.
+     */
+    MOVIE("Filme"),
+
+    /**
+     * Agrupa pela sala da sessão.
+     */
+    ROOM("Sala"),
+
+    /**
+     * Agrupa pelo método de pagamento.
+     */
+    PAYMENT_METHOD("Pagamento"),
+
+    /**
+     * Agrupa pela faixa de desconto aplicada.
+     */
+    DISCOUNT_BRACKET("Faixa de Desconto");
+
+    /**
+     * Descrição legível da dimensão.
+     */
+    private String description;
+
+    /**
+     * Construtor do enum.
+     * @param description Descrição da dimensão.
+     */
+    private RevenueDimension(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retorna a dimensão correspondente à descrição informada.
+     * @param desc Descrição da dimensão.
+     * @return RevenueDimension correspondente.
+     * @throws IllegalArgumentException se a descrição não corresponder a nenhuma dimensão.
+     */
+    public static RevenueDimension fromDescription(String desc) {
+        for (RevenueDimension dimension : RevenueDimension.values()) {
+            if (dimension.description.equalsIgnoreCase(desc)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Dimensão de receita inválida: " + desc);
+    }
+
+    /**
+     * Retorna a descrição da dimensão.
+     * @return Descrição legível.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,61 @@
+package enums;
+
+import java.time.LocalTime;
+
+/**
+ * Enumeração das faixas de horário das sessões, usadas nos relatórios de vendas.
+ * Cada faixa possui uma descrição legível para o usuário.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public enum TimeSlot {
+    /**
+     * Sessões que começam antes do meio-dia.
+     */
+    MORNING("Manhã"),
+
+    /**
+     * Sessões que começam entre 12h e 17h59.
+     */
+    AFTERNOON("Tarde"),
+
+    /**
+     * Sessões que começam a partir das 18h.
+     */
+    NIGHT("Noite");
+
+    /**
+     * Descrição legível da faixa.
+     */
+    private String description;
+
+    /**
+     * Construtor do enum.
+     * @param description Descrição da faixa.
+     */
+    private TimeSlot(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retorna a faixa de horário de um horário de início.
+     * @param time Horário de início da sessão.
+     * @return TimeSlot correspondente.
+     */
+    public static TimeSlot of(LocalTime time) {
+        if (time.getHour() < 12) {
+            return MORNING;
+        }
+        return time.getHour() < 18 ? AFTERNOON : NIGHT;
+    }
+
+    /**
+     * Retorna a descrição da faixa.
+     * @return Descrição legível.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,16 @@
+package exceptions;
+
+/**
+ * Lançada quando um registro foi alterado por outro terminal depois de ter sido
+ * aberto para edição. A edição é recusada em vez de sobrescrever a outra.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ConcurrentUpdateException extends RuntimeException{
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentUpdateException(String entity, int id){
+        super("O cadastro de " + entity + " com ID " + id + " foi alterado em outro terminal. Abra-o novamente e refaça a alteração.");
+    }
+}
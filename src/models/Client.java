@@ -2,11 +2,11 @@ package models;
 
 import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  * Classe que representa um cliente.
+ * O histórico de compras não fica no cliente: é consultado no TicketRepository
+ * pelo ID do cliente.
  *
  * @author Maria Eduarda Campos
  * @since 25/05/2025
@@ -21,7 +21,9 @@ public class Client implements Serializable {
     private String cpf;
     private LocalDate birthday;
     private int points;
-    private List<Ticket> purchasingHistory;
+    private boolean student;
+    // Número de alterações do cadastro, conferido ao salvar uma edição
+    private int version;
 
     /**
      * Construtor da classe Client.
@@ -36,7 +38,6 @@ public class Client implements Serializable {
         this.email = email;
         this.birthday = birthday;
         this.points = 0;
-        purchasingHistory = new LinkedList<>();
         id = _idGenerator++;
     }
 
@@ -52,7 +53,6 @@ public class Client implements Serializable {
         this.cpf = cpf;
         this.birthday = birthday;
         this.points = 0;
-        this.purchasingHistory = new LinkedList<>();
 
         if (id >= _idGenerator) {
             _idGenerator = id + 1;
@@ -131,11 +131,43 @@ public class Client implements Serializable {
     }
 
     /**
-     * Obtém o histórico de compras do cliente.
-     * @return Uma lista dinâmica contendo os tickets comprados pelo cliente.
+     * Obtém a data de nascimento do cliente como data.
+     * @return A data de nascimento do cliente.
+     */
+    public LocalDate getBirthDate() {
+        return birthday;
+    }
+
+    /**
+     * Indica se o cliente tem carteira de estudante cadastrada.
+     * @return true se o cliente for estudante.
+     */
+    public boolean isStudent() {
+        return student;
+    }
+
+    /**
+     * Define se o cliente tem carteira de estudante cadastrada.
+     * @param student true se o cliente for estudante.
      */
-    public LinkedList<Ticket> getPurchasingHistory() {
-        return (LinkedList<Ticket>) purchasingHistory;
+    public void setStudent(boolean student) {
+        this.student = student;
+    }
+
+    /**
+     * Retorna a versão do cadastro, que aumenta a cada alteração salva.
+     * Telas de edição guardam a versão lida e a devolvem ao salvar.
+     * @return A versão atual.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Registra uma nova alteração do cadastro.
+     */
+    public void incrementVersion() {
+        version++;
     }
 
     /**
@@ -170,21 +202,6 @@ public class Client implements Serializable {
         this.birthday = birthday;
     }
 
-    /**
-     * Adiciona um novo ticket ao histórico de compras do cliente.
-     *
-     * @param ticket O ticket que acabou de ser comprado.
-     */
-    public boolean addTicketToHistory(Ticket ticket) {
-        try {
-            purchasingHistory.add(ticket);
-            return true;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-
     /**
      * Incrementa os pontos de fidelidade do cliente.
      *
@@ -194,18 +211,6 @@ public class Client implements Serializable {
         this.points += additionalPoints;
     }
 
-    /**
-     * Retorna uma representação em string do histórico do cliente.
-     * @return Uma string contendo o histórico de compras do cliente.
-     */
-    public String printHistory(){
-        String result = "";
-        for (int i = 0; i < purchasingHistory.size(); i++) {
-            result += purchasingHistory.get(i).toString() + "\n";
-        }
-        return result;
-    }
-
     /**
      * Retorna uma representação em string do cliente. sobrescreve o método toString da classe Object.
      * @return Uma string contendo as informações do cliente.
@@ -216,7 +221,7 @@ public class Client implements Serializable {
         "\nName= " + name +
         "\nEmail= "+ email +
         "\nBirthday= "+ birthday +
-        "\nPurchasing History= " + purchasingHistory;
+        "\nPoints= " + points;
     }
 
     /**
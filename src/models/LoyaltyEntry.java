@@ -0,0 +1,97 @@
+package models;
+
+import enums.LoyaltyEntryType;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Lançamento do extrato de pontos de fidelidade de um cliente.
+ * Lançamentos nunca são alterados nem apagados: correções e cancelamentos
+ * geram novos lançamentos.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class LoyaltyEntry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int id;
+    private final int clientId;
+    private final int ticketId;
+    private final LoyaltyEntryType type;
+    private final int points;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private final String description;
+
+    /**
+     * Constrói um lançamento.
+     *
+     * @param id ID do lançamento.
+     * @param clientId ID do cliente.
+     * @param ticketId ID do ticket que originou o lançamento, ou 0 se não houver.
+     * @param type Tipo do lançamento.
+     * @param points Pontos lançados: positivos creditam e negativos debitam.
+     * @param createdAt Momento do lançamento.
+     * @param expiresAt Validade dos pontos ganhos, ou {@code null} para os demais tipos.
+     * @param description Descrição para o extrato.
+     */
+    public LoyaltyEntry(int id, int clientId, int ticketId, LoyaltyEntryType type, int points,
+                        LocalDateTime createdAt, LocalDateTime expiresAt, String description) {
+        this.id = id;
+        this.clientId = clientId;
+        this.ticketId = ticketId;
+        this.type = type;
+        this.points = points;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.description = description;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return ID do ticket que originou o lançamento, ou 0 se não houver.
+     */
+    public int getTicketId() {
+        return ticketId;
+    }
+
+    public LoyaltyEntryType getType() {
+        return type;
+    }
+
+    /**
+     * @return pontos lançados: positivos creditam e negativos debitam.
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return validade dos pontos ganhos, ou {@code null} para os demais tipos.
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + (points > 0 ? "+" : "") + points + " - " + description;
+    }
+}
@@ -0,0 +1,207 @@
+package models;
+
+import enums.PaymentMethod;
+import enums.TimeSlot;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Promoção de desconto declarada como dados: um percentual e as condições que
+ * o ingresso precisa atender. Uma condição vazia (ou nula) aceita qualquer valor.
+ *
+ * Promoções não cumulativas competem entre si e só a de maior percentual vale;
+ * as cumulativas são somadas a ela.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class Promotion implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static int _idGenerator = 1;
+    private int id;
+    private String name;
+    private double percent;
+    private boolean stackable;
+    private Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+    private Set<TimeSlot> timeSlots = EnumSet.noneOf(TimeSlot.class);
+    private Set<PaymentMethod> paymentMethods = EnumSet.noneOf(PaymentMethod.class);
+    private Set<Integer> movieIds = new HashSet<>();
+    private Integer minAge;
+    private Integer maxAge;
+    private boolean studentOnly;
+    private int minQuantity = 1;
+
+    /**
+     * Constrói uma promoção sem condições.
+     *
+     * @param name Nome exibido no ticket.
+     * @param percent Percentual de desconto (entre 0 e 100).
+     * @param stackable Se a promoção soma com as demais.
+     * @throws IllegalArgumentException se o nome for vazio ou o percentual inválido.
+     */
+    public Promotion(String name, double percent, boolean stackable) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("O nome da promoção não pode ser vazio!");
+        }
+        if (percent <= 0 || percent > 100) {
+            throw new IllegalArgumentException("O percentual da promoção deve estar entre 0 e 100!");
+        }
+        this.id = _idGenerator++;
+        this.name = name;
+        this.percent = percent;
+        this.stackable = stackable;
+    }
+
+    /**
+     * Ajusta o gerador de IDs depois de carregar promoções salvas.
+     *
+     * @param lastId O maior ID carregado.
+     */
+    public static void syncIdGenerator(int lastId) {
+        if (lastId >= _idGenerator) {
+            _idGenerator = lastId + 1;
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPercent() {
+        return percent;
+    }
+
+    public boolean isStackable() {
+        return stackable;
+    }
+
+    public Set<DayOfWeek> getWeekdays() {
+        return Collections.unmodifiableSet(weekdays);
+    }
+
+    /**
+     * Restringe a promoção a dias da semana da sessão.
+     * @param weekdays Dias aceitos.
+     * @return A própria promoção.
+     */
+    public Promotion onWeekdays(DayOfWeek... weekdays) {
+        Collections.addAll(this.weekdays, weekdays);
+        return this;
+    }
+
+    public Set<TimeSlot> getTimeSlots() {
+        return Collections.unmodifiableSet(timeSlots);
+    }
+
+    /**
+     * Restringe a promoção a faixas de horário da sessão.
+     * @param timeSlots Faixas aceitas.
+     * @return A própria promoção.
+     */
+    public Promotion inTimeSlots(TimeSlot... timeSlots) {
+        Collections.addAll(this.timeSlots, timeSlots);
+        return this;
+    }
+
+    public Set<PaymentMethod> getPaymentMethods() {
+        return Collections.unmodifiableSet(paymentMethods);
+    }
+
+    /**
+     * Restringe a promoção a métodos de pagamento.
+     * @param paymentMethods Métodos aceitos.
+     * @return A própria promoção.
+     */
+    public Promotion paidWith(PaymentMethod... paymentMethods) {
+        Collections.addAll(this.paymentMethods, paymentMethods);
+        return this;
+    }
+
+    public Set<Integer> getMovieIds() {
+        return Collections.unmodifiableSet(movieIds);
+    }
+
+    /**
+     * Restringe a promoção a filmes.
+     * @param movieIds IDs dos filmes aceitos.
+     * @return A própria promoção.
+     */
+    public Promotion forMovies(Integer... movieIds) {
+        Collections.addAll(this.movieIds, movieIds);
+        return this;
+    }
+
+    /**
+     * @return Idade mínima do cliente, ou {@code null} se não houver.
+     */
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * @return Idade máxima do cliente, ou {@code null} se não houver.
+     */
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Restringe a promoção a uma faixa de idade do cliente, em anos completos no dia da sessão.
+     * @param minAge Idade mínima, ou {@code null}.
+     * @param maxAge Idade máxima, ou {@code null}.
+     * @return A própria promoção.
+     */
+    public Promotion forAges(Integer minAge, Integer maxAge) {
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new IllegalArgumentException("A idade mínima não pode ser maior que a máxima!");
+        }
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    public boolean isStudentOnly() {
+        return studentOnly;
+    }
+
+    /**
+     * Restringe a promoção a clientes estudantes.
+     * @return A própria promoção.
+     */
+    public Promotion forStudents() {
+        this.studentOnly = true;
+        return this;
+    }
+
+    public int getMinQuantity() {
+        return minQuantity;
+    }
+
+    /**
+     * Exige uma quantidade mínima de ingressos na mesma venda (combo).
+     * @param minQuantity Quantidade mínima.
+     * @return A própria promoção.
+     */
+    public Promotion withMinQuantity(int minQuantity) {
+        if (minQuantity < 1) {
+            throw new IllegalArgumentException("A quantidade mínima deve ser pelo menos 1!");
+        }
+        this.minQuantity = minQuantity;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + percent + "%" + (stackable ? ", cumulativa" : "") + ")";
+    }
+}
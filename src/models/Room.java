@@ -1,7 +1,9 @@
 package models;
 
+import repository.IntObjectMap;
+import repository.SnapshotList;
+
 import java.io.Serializable;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -27,7 +29,11 @@ public class Room implements Serializable {
     private int totalSeat;
     // IMPORTANTE: O campo 'sessions' não pode ser salvo diretamente no arquivo da Sala.
     // Ele será reconstruído ao carregar as Sessões. Para isso, o marcamos como 'transient'.
-    private transient List<Session> sessions;
+    private transient SnapshotList<Session> sessions;
+    // ID da sessão -> quantas sessões já tinham entrado na fila antes dela; a posição
+    // atual é esse número menos as sessões já retiradas do início
+    private transient IntObjectMap<Integer> sessionOrder;
+    private transient int removedSessions;
 
     /**
      * Construtor da classe Room.
@@ -41,7 +47,7 @@ public class Room implements Serializable {
     public Room(int totalSeat){
         this.totalSeat = totalSeat;
         this.id = _idGenerator++;
-        this.sessions = new LinkedList<>();
+        ensureSessionsListExists();
     }
     /**
      * Construtor para reconstruir salas a partir de dados salvos.
@@ -50,7 +56,7 @@ public class Room implements Serializable {
     public Room(int id, int totalSeat) {
         this.id = id;
         this.totalSeat = totalSeat;
-        this.sessions = new LinkedList<>();
+        ensureSessionsListExists();
 
         if (id >= _idGenerator) {
             _idGenerator = id + 1;
@@ -63,7 +69,9 @@ public class Room implements Serializable {
      */
     private void ensureSessionsListExists() {
         if (this.sessions == null) {
-            this.sessions = new LinkedList<>();
+            this.sessions = new SnapshotList<>();
+            this.sessionOrder = new IntObjectMap<>();
+            this.removedSessions = 0;
         }
     }
 
@@ -89,7 +97,8 @@ public class Room implements Serializable {
      * Adiciona uma nova sessão à fila de sessões da sala.
      * 
      * A sessão é adicionada ao final da fila, seguindo a ordem FIFO
-     * (First In, First Out).
+     * (First In, First Out). Se a sessão já estiver na fila, ela é substituída
+     * na mesma posição, localizada pelo índice de IDs sem percorrer a fila.
      * 
      * @param session a sessão a ser adicionada à sala
      * @throws Exception se ocorrer erro ao adicionar a sessão na fila
@@ -97,12 +106,12 @@ public class Room implements Serializable {
     public void addSession(Session session) throws Exception{
         ensureSessionsListExists();
 
-        for (int i = 0; i < this.sessions.size(); i++) {
-            if (this.sessions.get(i).getId() == session.getId()) {
-                this.sessions.set(i, session);
-                return;
-            }
+        Integer order = sessionOrder.get(session.getId());
+        if (order != null) {
+            this.sessions.set(order - removedSessions, session);
+            return;
         }
+        sessionOrder.put(session.getId(), removedSessions + this.sessions.size());
         this.sessions.add(session);
     }
 
@@ -117,7 +126,10 @@ public class Room implements Serializable {
     public Session removeSession() {
         ensureSessionsListExists(); // Garante que a lista foi inicializada
         if (!sessions.isEmpty()) {
-            return sessions.removeFirst();
+            Session removed = sessions.remove(0);
+            sessionOrder.remove(removed.getId());
+            removedSessions++;
+            return removed;
         }
         return null;
     }
@@ -125,15 +137,15 @@ public class Room implements Serializable {
     /**
      * Retorna a fila completa de sessões da sala.
      * 
-     * Este método permite acesso direto à estrutura de dados que armazena
-     * as sessões, possibilitando operações mais complexas como consultas
-     * e iterações.
+     * A lista devolvida é um retrato imutável da fila no momento da chamada:
+     * relatórios podem percorrê-la enquanto sessões são cadastradas, sem
+     * erro de modificação concorrente nem dados pela metade.
      * 
-     * @return a lista dinâmica contendo todas as sessões da sala
+     * @return a lista com as sessões da sala neste momento
      */
     public List<Session> getSessions() {
         ensureSessionsListExists();
-        return sessions;
+        return sessions.snapshot();
     }
 
     /**
@@ -148,7 +160,7 @@ public class Room implements Serializable {
     public String toString() {
         return "Room " + id + ":" + 
         "\nTotal Seat=" + totalSeat + 
-        "\nSessions="+ sessions;
+        "\nSessions="+ getSessions();
     }
 
     /**
@@ -1,7 +1,11 @@
 package models;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
@@ -12,6 +16,10 @@ import java.time.format.DateTimeFormatter;
  * duração, número de assentos disponíveis e valor do ingresso.
  * Cada sessão possui um ID único gerado automaticamente.
  * 
+ * A data, o horário e o valor ficam em inteiros (dia desde 1970, segundo do
+ * dia e centavos) e os objetos de data e valor são montados na leitura.
+ * Arquivos gravados com os campos antigos são convertidos ao serem lidos.
+ * 
  * @author Carlos Moreira
  * @since 11/06/2025
  * @version 1.0
@@ -21,13 +29,15 @@ public class Session implements Serializable {
 
     private static int _idGenerator = 1;
     private int id;
-    private LocalDate date;
-    private LocalTime time;
+    private int epochDay;
+    private int startSecond;
     private int duration;
     private Room room;
-    private int totalAvailableSeats;
+    private volatile int totalAvailableSeats;
     private Movie movie;
-    private Double ticketValue;
+    private int ticketValueCents;
+    // Número de alterações do cadastro, conferido ao salvar uma edição
+    private int version;
 
     /**
      * Construtor principal para criar uma nova sessão.
@@ -42,13 +52,13 @@ public class Session implements Serializable {
      */
     public Session(LocalDate date, LocalTime time, Room room, Movie movie, Double ticketValue) {
         this.id = _idGenerator++;
-        this.date = date;
-        this.time = time;
+        setDate(date);
+        setTime(time);
         this.room = room;
         this.duration = movie.getDuration();
         this.totalAvailableSeats = room.getTotalSeat();
         this.movie = movie;
-        this.ticketValue = ticketValue;
+        setTicketValue(ticketValue);
     }
 
     /**
@@ -56,11 +66,11 @@ public class Session implements Serializable {
      */
     public Session(int id, LocalDate date, LocalTime time, Room room, Movie movie, double ticketValue, int totalAvailableSeats) {
         this.id = id;
-        this.date = date;
-        this.time = time;
+        setDate(date);
+        setTime(time);
         this.room = room;
         this.movie = movie;
-        this.ticketValue = ticketValue;
+        setTicketValue(ticketValue);
         this.totalAvailableSeats = totalAvailableSeats;
 
         if (id >= _idGenerator) {
@@ -81,13 +91,13 @@ public class Session implements Serializable {
      */
     public Session(LocalDate date, LocalTime time, Room room, Movie movie, Double ticketValue, int totalAvailableSeats) {
         this.id = _idGenerator++;
-        this.date = date;
-        this.time = time;
+        setDate(date);
+        setTime(time);
         this.room = room;
         this.duration = movie.getDuration();
         this.totalAvailableSeats = totalAvailableSeats;
         this.movie = movie;
-        this.ticketValue = ticketValue;
+        setTicketValue(ticketValue);
     }
 
     /**
@@ -96,7 +106,7 @@ public class Session implements Serializable {
      * @return Data formatada no padrão "dd-MM-yyyy"
      */
     public String getDate() {
-        return date.format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+        return getStartDate().format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
     }
 
     /**
@@ -105,7 +115,7 @@ public class Session implements Serializable {
      * @param date Nova data da sessão
      */
     public void setDate(LocalDate date) {
-        this.date = date;
+        this.epochDay = Math.toIntExact(date.toEpochDay());
     }
 
     /**
@@ -114,7 +124,7 @@ public class Session implements Serializable {
      * @param time Novo horário da sessão
      */
     public void setTime(LocalTime time) {
-        this.time = time;
+        this.startSecond = time.toSecondOfDay();
     }
 
     /**
@@ -123,7 +133,43 @@ public class Session implements Serializable {
      * @return Horário formatado no padrão "HH:mm:ss"
      */
     public String getTime() {
-        return time.format(java.time.format.DateTimeFormatter.ofPattern("HH:mm"));
+        return getStartTime().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm"));
+    }
+
+    /**
+     * Retorna a data e o horário de início da sessão.
+     *
+     * @return Data e horário de início
+     */
+    public LocalDateTime getStartDateTime() {
+        return LocalDateTime.of(getStartDate(), getStartTime());
+    }
+
+    /**
+     * Retorna a data da sessão.
+     *
+     * @return Data de início
+     */
+    public LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Retorna o horário de início da sessão.
+     *
+     * @return Horário de início
+     */
+    public LocalTime getStartTime() {
+        return LocalTime.ofSecondOfDay(startSecond);
+    }
+
+    /**
+     * Retorna a data da sessão em dias desde 01/01/1970, sem criar objetos de data.
+     *
+     * @return O dia da sessão
+     */
+    public int getEpochDay() {
+        return epochDay;
     }
 
     /**
@@ -177,7 +223,16 @@ public class Session implements Serializable {
      * @return Valor do ingresso
      */
     public Double getTicketValue() {
-        return ticketValue;
+        return ticketValueCents / 100.0;
+    }
+
+    /**
+     * Retorna o valor do ingresso da sessão em centavos.
+     * 
+     * @return Valor do ingresso em centavos
+     */
+    public int getTicketValueCents() {
+        return ticketValueCents;
     }
 
     /**
@@ -186,7 +241,7 @@ public class Session implements Serializable {
      * @param ticketValue Novo valor do ingresso
      */
     public void setTicketValue(Double ticketValue) {
-        this.ticketValue = ticketValue;
+        this.ticketValueCents = Math.toIntExact(Math.round(ticketValue * 100));
     }
 
     /**
@@ -203,10 +258,51 @@ public class Session implements Serializable {
      * 
      * @param totalAvailableSeats Novo número de assentos disponíveis
      */
-    public void setTotalAvailableSeats(int totalAvailableSeats) {
+    public synchronized void setTotalAvailableSeats(int totalAvailableSeats) {
         this.totalAvailableSeats = totalAvailableSeats;
     }
 
+    /**
+     * Reserva assentos da sessão, conferindo e descontando a disponibilidade em uma
+     * única operação, para que duas vendas simultâneas não passem da lotação.
+     *
+     * @param quantity Número de assentos a reservar.
+     * @return true se havia assentos suficientes e eles foram reservados; false caso contrário.
+     */
+    public synchronized boolean reserveSeats(int quantity) {
+        if (totalAvailableSeats < quantity) {
+            return false;
+        }
+        totalAvailableSeats -= quantity;
+        return true;
+    }
+
+    /**
+     * Devolve assentos à sessão, como no cancelamento de uma venda. Um valor
+     * negativo retira assentos, ao desfazer uma devolução.
+     *
+     * @param quantity Número de assentos a devolver.
+     */
+    public synchronized void releaseSeats(int quantity) {
+        totalAvailableSeats += quantity;
+    }
+
+    /**
+     * Retorna a versão do cadastro, que aumenta a cada alteração salva.
+     * Telas de edição guardam a versão lida e a devolvem ao salvar.
+     * @return A versão atual.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Registra uma nova alteração do cadastro.
+     */
+    public void incrementVersion() {
+        version++;
+    }
+
     /**
      * Retorna o ID único da sessão.
      * 
@@ -230,11 +326,49 @@ public class Session implements Serializable {
         return "Session " + id + ":" +
                 "\nMovie= (" + getMovie().getTitle() + ")" +
                 "\nTotal Seat= " + getTotalAvailableSeats() +
-                "\nStart date= " + date.format(formatDate)+
-                "\nStart Time= " + time.format(timeFormat) +
+                "\nStart date= " + getStartDate().format(formatDate)+
+                "\nStart Time= " + getStartTime().format(timeFormat) +
                 "\nTicket value= " + getTicketValue();
     }
 
+    /**
+     * Lê sessões do formato atual e do anterior, que guardava data, horário e
+     * valor como objetos.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        ObjectStreamClass format = fields.getObjectStreamClass();
+        id = fields.get("id", 0);
+        syncIdGenerator(id);
+        duration = fields.get("duration", 0);
+        room = (Room) fields.get("room", null);
+        totalAvailableSeats = fields.get("totalAvailableSeats", 0);
+        movie = (Movie) fields.get("movie", null);
+        version = fields.get("version", 0);
+        if (format.getField("epochDay") != null) {
+            epochDay = fields.get("epochDay", 0);
+            startSecond = fields.get("startSecond", 0);
+            ticketValueCents = fields.get("ticketValueCents", 0);
+            return;
+        }
+        setDate((LocalDate) fields.get("date", null));
+        setTime((LocalTime) fields.get("time", null));
+        Double ticketValue = (Double) fields.get("ticketValue", null);
+        setTicketValue(ticketValue == null ? 0.0 : ticketValue);
+    }
+
+    /**
+     * Garante que o próximo ID gerado seja maior que um ID já usado, inclusive
+     * por uma sessão que não está carregada em memória.
+     *
+     * @param usedId ID já usado por uma sessão.
+     */
+    public static synchronized void syncIdGenerator(int usedId) {
+        if (usedId >= _idGenerator) {
+            _idGenerator = usedId + 1;
+        }
+    }
+
     /**
      * Reseta o gerador de IDs para iniciar novamente a partir do ID 1.
      */
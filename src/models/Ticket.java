@@ -2,24 +2,53 @@ package models;
 
 import enums.PaymentMethod;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 
 /**
  * Representa um ingresso para uma sessão de cinema.
  *
+ * O ingresso guarda apenas valores primitivos: os IDs do cliente e da sessão,
+ * o preço em centavos, o desconto em centésimos de ponto percentual, o método
+ * de pagamento pela sua posição no enum e o momento da venda em minutos desde
+ * 1970. Com milhões de ingressos no histórico, isso evita um {@code Double},
+ * um {@code LocalDateTime} (com suas datas e horas internas) e as cópias
+ * serializadas de cliente e sessão por ingresso. Os métodos de acesso montam os
+ * objetos sob demanda: cliente e sessão são buscados pelo ID nos cadastros
+ * ({@link #setResolvers}), então refletem os dados atuais, e as regras de preço,
+ * que se repetem entre ingressos, são compartilhadas entre eles.
+ *
+ * Arquivos gravados no formato anterior são convertidos ao serem lidos.
+ *
  * @author Helen Santos Rocha
- * @version 5.0
+ * @version 6.0
  * @since 25/05/2025
  */
 public class Ticket implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    private static final byte NO_PAYMENT = -1;
+    private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+    private static final Map<String, String> PRICING_RULES = new ConcurrentHashMap<>();
+    private static volatile IntFunction<Client> clientResolver = id -> null;
+    private static volatile IntFunction<Session> sessionResolver = id -> null;
+
     private static int _idGenerator = 1;
     private int id;
-    private double finalPrice;
-    private Client client;
-    private Session session;
-    private PaymentMethod paymentMethod;
+    private int clientId;
+    private int sessionId;
+    private int finalPriceCents;
+    private short discountHundredths;
+    private byte paymentOrdinal = NO_PAYMENT;
+    private int saleEpochMinute;
+    private String pricingRule;
 
     /**
      * Constrói um novo ingresso.
@@ -30,10 +59,41 @@ public class Ticket implements Serializable {
      * @param paymentMethod O método de pagamento utilizado.
      */
     public Ticket(Client client, Session session, double finalPrice, PaymentMethod paymentMethod) {
-        this.client = client;
-        this.session = session;
-        this.finalPrice = finalPrice;
-        this.paymentMethod = paymentMethod;
+        this(client, session, finalPrice, 0.0, paymentMethod);
+    }
+
+    /**
+     * Constrói um novo ingresso registrando o desconto aplicado e o momento da venda.
+     *
+     * @param client O cliente que comprou o ingresso.
+     * @param session A sessão para a qual o ingresso é válido.
+     * @param finalPrice O preço final do ingresso.
+     * @param discount O desconto aplicado, em porcentagem.
+     * @param paymentMethod O método de pagamento utilizado.
+     */
+    public Ticket(Client client, Session session, double finalPrice, double discount, PaymentMethod paymentMethod) {
+        this(client, session, finalPrice, discount, paymentMethod, null);
+    }
+
+    /**
+     * Constrói um novo ingresso registrando também a regra de preço aplicada na venda.
+     *
+     * @param client O cliente que comprou o ingresso.
+     * @param session A sessão para a qual o ingresso é válido.
+     * @param finalPrice O preço final do ingresso.
+     * @param discount O desconto aplicado, em porcentagem.
+     * @param paymentMethod O método de pagamento utilizado.
+     * @param pricingRule A descrição das regras de preço aplicadas.
+     */
+    public Ticket(Client client, Session session, double finalPrice, double discount, PaymentMethod paymentMethod,
+                  String pricingRule) {
+        this.clientId = idOf(client);
+        this.sessionId = session == null ? 0 : session.getId();
+        this.finalPriceCents = toCents(finalPrice);
+        this.discountHundredths = (short) Math.round(discount * 100);
+        this.paymentOrdinal = ordinalOf(paymentMethod);
+        this.saleEpochMinute = toEpochMinute(LocalDateTime.now());
+        this.pricingRule = shareRule(pricingRule);
         this.id = _idGenerator++;
     }
 
@@ -49,16 +109,61 @@ public class Ticket implements Serializable {
      */
     public Ticket(int id, Client client, Session session, double finalPrice, PaymentMethod paymentMethod) {
         this.id = id;
-        this.client = client;
-        this.session = session;
-        this.finalPrice = finalPrice;
-        this.paymentMethod = paymentMethod;
+        this.clientId = idOf(client);
+        this.sessionId = session == null ? 0 : session.getId();
+        this.finalPriceCents = toCents(finalPrice);
+        this.paymentOrdinal = ordinalOf(paymentMethod);
+        this.saleEpochMinute = session == null ? 0 : toEpochMinute(session.getStartDateTime());
 
         if (id >= _idGenerator) {
             _idGenerator = id + 1;
         }
     }
 
+    /**
+     * Reconstrói um ingresso a partir dos seus valores primitivos, como os guardados
+     * no histórico colunar de tickets. Não acerta o gerador de IDs: quem carrega
+     * os tickets faz isso uma vez, com o maior ID carregado.
+     *
+     * @param id O ID do ingresso.
+     * @param clientId O ID do cliente (0 se não houver).
+     * @param sessionId O ID da sessão.
+     * @param finalPriceCents O preço final em centavos.
+     * @param discountHundredths O desconto em centésimos de ponto percentual.
+     * @param paymentOrdinal A posição do método de pagamento no enum (-1 se não houver).
+     * @param saleEpochMinute O minuto da venda desde 01/01/1970.
+     * @param pricingRule A descrição das regras de preço, ou null.
+     * @return O ingresso reconstruído.
+     */
+    public static Ticket restore(int id, int clientId, int sessionId, int finalPriceCents, short discountHundredths,
+                                 byte paymentOrdinal, int saleEpochMinute, String pricingRule) {
+        Ticket ticket = new Ticket();
+        ticket.id = id;
+        ticket.clientId = clientId;
+        ticket.sessionId = sessionId;
+        ticket.finalPriceCents = finalPriceCents;
+        ticket.discountHundredths = discountHundredths;
+        ticket.paymentOrdinal = paymentOrdinal;
+        ticket.saleEpochMinute = saleEpochMinute;
+        ticket.pricingRule = shareRule(pricingRule);
+        return ticket;
+    }
+
+    private Ticket() {
+    }
+
+    /**
+     * Define como os ingressos encontram o cliente e a sessão pelos seus IDs.
+     * Deve ser chamado na inicialização, depois que os cadastros estiverem carregados.
+     *
+     * @param clients Busca um cliente pelo ID, ou devolve null se ele não existir.
+     * @param sessions Busca uma sessão pelo ID, ou devolve null se ela não existir.
+     */
+    public static void setResolvers(IntFunction<Client> clients, IntFunction<Session> sessions) {
+        clientResolver = clients;
+        sessionResolver = sessions;
+    }
+
     /**
      * Retorna o próximo ID a ser gerado.
      *
@@ -83,25 +188,52 @@ public class Ticket implements Serializable {
      * @return O preço final do ingresso.
      */
     public double getFinalPrice() {
-        return finalPrice;
+        return finalPriceCents / 100.0;
+    }
+
+    /**
+     * Retorna o preço final do ingresso em centavos, sem arredondamentos.
+     *
+     * @return O preço final em centavos.
+     */
+    public int getFinalPriceCents() {
+        return finalPriceCents;
     }
 
     /**
-     * Retorna o cliente que comprou o ingresso.
+     * Retorna o cliente que comprou o ingresso, buscado pelo ID no cadastro atual.
      *
-     * @return O cliente que comprou o ingresso.
+     * @return O cliente que comprou o ingresso, ou null se ele não existir mais.
      */
     public Client getClient() {
-        return client;
+        return clientId == 0 ? null : clientResolver.apply(clientId);
+    }
+
+    /**
+     * Retorna o ID do cliente que comprou o ingresso.
+     *
+     * @return O ID do cliente, ou 0 se o ingresso não tiver cliente.
+     */
+    public int getClientId() {
+        return clientId;
     }
 
     /**
-     * Retorna a sessão para a qual o ingresso é válido.
+     * Retorna a sessão para a qual o ingresso é válido, buscada pelo ID no cadastro atual.
      *
-     * @return A sessão para a qual o ingresso é válido.
+     * @return A sessão do ingresso, ou null se ela não existir mais.
      */
     public Session getSession() {
-        return session;
+        return sessionId == 0 ? null : sessionResolver.apply(sessionId);
+    }
+
+    /**
+     * Retorna o ID da sessão para a qual o ingresso é válido.
+     *
+     * @return O ID da sessão, ou 0 se o ingresso não tiver sessão.
+     */
+    public int getSessionId() {
+        return sessionId;
     }
 
     /**
@@ -110,7 +242,52 @@ public class Ticket implements Serializable {
      * @return O método de pagamento utilizado.
      */
     public PaymentMethod getPaymentMethod() {
-        return paymentMethod;
+        return paymentOrdinal == NO_PAYMENT ? null : PAYMENT_METHODS[paymentOrdinal];
+    }
+
+    /**
+     * Retorna o desconto aplicado na venda, em porcentagem.
+     *
+     * @return O desconto aplicado (0 para tickets antigos sem essa informação).
+     */
+    public double getDiscount() {
+        return discountHundredths / 100.0;
+    }
+
+    /**
+     * Retorna o momento em que o ingresso foi vendido, com precisão de minutos.
+     * Tickets salvos antes desse dado existir usam o início da sessão.
+     *
+     * @return A data e hora da venda.
+     */
+    public LocalDateTime getSaleDateTime() {
+        return LocalDateTime.ofEpochSecond(saleEpochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Retorna o momento da venda em minutos desde 01/01/1970, sem criar objetos de data.
+     *
+     * @return O minuto da venda.
+     */
+    public int getSaleEpochMinute() {
+        return saleEpochMinute;
+    }
+
+    /**
+     * @return true se a venda registrou as regras de preço aplicadas.
+     */
+    public boolean hasPricingRule() {
+        return pricingRule != null;
+    }
+
+    /**
+     * Retorna as regras de preço aplicadas na venda, para auditoria.
+     * Tickets vendidos antes do preço dinâmico usam o valor fixo da sessão.
+     *
+     * @return A descrição das regras aplicadas.
+     */
+    public String getPricingRule() {
+        return pricingRule != null ? pricingRule : "Preço fixo";
     }
 
     /**
@@ -120,9 +297,78 @@ public class Ticket implements Serializable {
      */
     @Override
     public String toString() {
-        return "Ticket para " + session.getMovie().getTitle() +
-                " | Cliente: " + client.getName() +
-                " | Valor pago: R$" + String.format("%.2f", finalPrice);
+        Session session = getSession();
+        Client client = getClient();
+        return "Ticket para " + (session == null ? "sessão " + sessionId : session.getMovie().getTitle()) +
+                " | Cliente: " + (client == null ? clientId : client.getName()) +
+                " | Valor pago: R$" + String.format("%.2f", getFinalPrice());
+    }
+
+    /**
+     * Garante que o próximo ID gerado seja maior que um ID já usado, inclusive
+     * por um ticket que não está carregado como objeto, como os do histórico.
+     *
+     * @param id ID já usado por um ticket.
+     */
+    public static synchronized void syncIdGenerator(int id) {
+        if (id >= _idGenerator) {
+            _idGenerator = id + 1;
+        }
+    }
+
+    private static int idOf(Client client) {
+        return client == null ? 0 : client.getId();
+    }
+
+    private static byte ordinalOf(PaymentMethod method) {
+        return method == null ? NO_PAYMENT : (byte) method.ordinal();
+    }
+
+    private static int toCents(double value) {
+        return Math.toIntExact(Math.round(value * 100));
+    }
+
+    private static int toEpochMinute(LocalDateTime dateTime) {
+        return (int) Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Devolve a instância compartilhada do texto da regra de preço.
+     */
+    private static String shareRule(String rule) {
+        return rule == null ? null : PRICING_RULES.computeIfAbsent(rule, r -> r);
+    }
+
+    /**
+     * Lê tickets do formato atual e do anterior, que guardava cliente, sessão,
+     * valores em {@code double} e a data da venda como objetos.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        ObjectStreamClass format = fields.getObjectStreamClass();
+        id = fields.get("id", 0);
+        pricingRule = shareRule((String) fields.get("pricingRule", null));
+        if (format.getField("sessionId") != null) {
+            clientId = fields.get("clientId", 0);
+            sessionId = fields.get("sessionId", 0);
+            finalPriceCents = fields.get("finalPriceCents", 0);
+            discountHundredths = fields.get("discountHundredths", (short) 0);
+            paymentOrdinal = fields.get("paymentOrdinal", NO_PAYMENT);
+            saleEpochMinute = fields.get("saleEpochMinute", 0);
+            return;
+        }
+        Client client = (Client) fields.get("client", null);
+        Session session = (Session) fields.get("session", null);
+        LocalDateTime saleDateTime = (LocalDateTime) fields.get("saleDateTime", null);
+        clientId = idOf(client);
+        sessionId = session == null ? 0 : session.getId();
+        finalPriceCents = toCents(fields.get("finalPrice", 0.0));
+        discountHundredths = (short) Math.round(fields.get("discount", 0.0) * 100);
+        paymentOrdinal = ordinalOf((PaymentMethod) fields.get("paymentMethod", null));
+        if (saleDateTime == null && session != null) {
+            saleDateTime = session.getStartDateTime();
+        }
+        saleEpochMinute = saleDateTime == null ? 0 : toEpochMinute(saleDateTime);
     }
 
     /**
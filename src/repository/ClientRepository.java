@@ -1,14 +1,20 @@
 package repository;
 
+import enums.RepositoryType;
 import models.Client;
 import java.io.*; // Import para todas as classes de I/O (Serializable, ObjectInputStream, etc.)
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Classe que gerencia a coleção de clientes com persistência via serialização.
  * Salva e carrega a lista de objetos Client diretamente em um arquivo binário.
+ * Mantém índices por ID, por CPF (apenas dígitos) e por email (minúsculo); os dois últimos garantem
+ * a unicidade desses campos e permitem buscas em tempo constante. A lista de
+ * clientes entrega retratos imutáveis ({@link SnapshotList}) para leituras longas.
  *
  * @author Vinícius Nunes de Andrade
  * @author Thiago Ferreira Ribeiro
@@ -16,7 +22,10 @@ import java.util.List;
  * @version 4.0
  */
 public class ClientRepository {
-    private List<Client> clients;
+    private SnapshotList<Client> clients;
+    private final IntObjectMap<Client> clientsById = new IntObjectMap<>();
+    private final Map<String, Client> clientsByCpf = new HashMap<>();
+    private final Map<String, Client> clientsByEmail = new HashMap<>();
     private final String FILE_PATH = "data/clients.ser";
 
     /**
@@ -35,36 +44,152 @@ public class ClientRepository {
         new File("data").mkdirs();
 
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            this.clients = (List<Client>) ois.readObject();
+            this.clients = new SnapshotList<>((List<Client>) ois.readObject());
             System.out.println("Clientes carregados do arquivo serializado: " + FILE_PATH);
         } catch (FileNotFoundException | EOFException e) {
-            this.clients = new LinkedList<>();
+            this.clients = new SnapshotList<>();
             System.out.println("Arquivo de clientes não encontrado ou vazio. Iniciando com repositório novo.");
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Erro crítico ao carregar clientes do arquivo. Iniciando com repositório vazio.");
             e.printStackTrace();
-            this.clients = new LinkedList<>();
+            this.clients = new SnapshotList<>();
         }
+        rebuildIndexes();
     }
 
     /**
-     * Salva a lista de clientes em memória em um arquivo binário.
+     * Reconstrói os índices de CPF e email a partir da lista carregada.
+     * Registros duplicados vindos de arquivos antigos são mantidos na lista,
+     * mas apenas a primeira ocorrência fica indexada.
+     */
+    private void rebuildIndexes() {
+        clientsById.clear();
+        clientsByCpf.clear();
+        clientsByEmail.clear();
+        for (Client client : clients) {
+            clientsById.putIfAbsent(client.getId(), client);
+            if (clientsByCpf.putIfAbsent(normalizeCpf(client.getCpf()), client) != null) {
+                System.err.println("Aviso: CPF duplicado no arquivo para o cliente " + client.getId());
+            }
+            if (clientsByEmail.putIfAbsent(normalizeEmail(client.getEmail()), client) != null) {
+                System.err.println("Aviso: Email duplicado no arquivo para o cliente " + client.getId());
+            }
+        }
+    }
+
+    /**
+     * Normaliza um CPF mantendo apenas os dígitos.
+     *
+     * @param cpf CPF em qualquer formatação (ex.: 123.456.789-00).
+     * @return O CPF contendo apenas dígitos, ou string vazia se for nulo.
+     */
+    public static String normalizeCpf(String cpf) {
+        return cpf == null ? "" : cpf.replaceAll("\\D", "");
+    }
+
+    /**
+     * Normaliza um email removendo espaços e convertendo para minúsculas.
+     *
+     * @param email Email informado.
+     * @return O email normalizado, ou string vazia se for nulo.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+
+    /**
+     * Verifica se o CPF e o email podem ser usados por um cliente.
+     *
+     * @param cpf CPF a ser verificado.
+     * @param email Email a ser verificado.
+     * @param clientId ID do cliente que usará os dados (ignorado na comparação).
+     * @throws IllegalArgumentException se outro cliente já possuir o CPF ou o email.
+     */
+    public void validateUnique(String cpf, String email, int clientId) {
+        Client byCpf = clientsByCpf.get(normalizeCpf(cpf));
+        if (byCpf != null && byCpf.getId() != clientId) {
+            throw new IllegalArgumentException("Já existe um cliente cadastrado com o CPF " + cpf + ".");
+        }
+        Client byEmail = clientsByEmail.get(normalizeEmail(email));
+        if (byEmail != null && byEmail.getId() != clientId) {
+            throw new IllegalArgumentException("Já existe um cliente cadastrado com o email " + email + ".");
+        }
+    }
+
+    /**
+     * Salva a lista de clientes em memória em um arquivo binário
+     * e avisa os ouvintes de {@link RepositoryEvents} da alteração.
+     * Dentro de uma {@link UnitOfWork}, a gravação fica para o commit.
      */
     private void saveToFile() {
+        if (UnitOfWork.defer(FILE_PATH, this.clients::snapshot, RepositoryType.CLIENT)) {
+            return;
+        }
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(this.clients);
+            oos.writeObject(this.clients.snapshot());
         } catch (IOException e) {
             System.err.println("Erro ao salvar clientes no arquivo: " + e.getMessage());
             e.printStackTrace();
         }
+        RepositoryEvents.fire(RepositoryType.CLIENT);
     }
 
     /**
      * Adiciona um cliente ao repositório e salva a lista atualizada.
      * @param client O cliente a ser adicionado.
+     * @throws IllegalArgumentException se o CPF ou o email já estiverem cadastrados.
      */
     public void add(Client client) {
+        validateUnique(client.getCpf(), client.getEmail(), client.getId());
         clients.add(client);
+        clientsById.put(client.getId(), client);
+        clientsByCpf.put(normalizeCpf(client.getCpf()), client);
+        clientsByEmail.put(normalizeEmail(client.getEmail()), client);
+        saveToFile();
+    }
+
+    /**
+     * Adiciona vários clientes e salva a lista uma única vez.
+     * Todos os CPFs e emails são verificados antes, inclusive entre os próprios
+     * clientes do lote; se algum for repetido, nenhum cliente é adicionado.
+     *
+     * @param newClients Os clientes a serem adicionados.
+     * @throws IllegalArgumentException se algum CPF ou email já estiver cadastrado ou se repetir no lote.
+     */
+    public void addAll(List<Client> newClients) {
+        Set<String> batchCpfs = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (Client client : newClients) {
+            validateUnique(client.getCpf(), client.getEmail(), client.getId());
+            if (!batchCpfs.add(normalizeCpf(client.getCpf()))) {
+                throw new IllegalArgumentException("O CPF " + client.getCpf() + " aparece mais de uma vez no lote.");
+            }
+            if (!batchEmails.add(normalizeEmail(client.getEmail()))) {
+                throw new IllegalArgumentException("O email " + client.getEmail() + " aparece mais de uma vez no lote.");
+            }
+        }
+        clients.addAll(newClients);
+        for (Client client : newClients) {
+            clientsById.put(client.getId(), client);
+            clientsByCpf.put(normalizeCpf(client.getCpf()), client);
+            clientsByEmail.put(normalizeEmail(client.getEmail()), client);
+        }
+        saveToFile();
+    }
+
+    /**
+     * Atualiza os índices de um cliente cujo CPF ou email foi alterado e salva a lista.
+     * A unicidade dos novos valores deve ter sido verificada com {@link #validateUnique}.
+     *
+     * @param client O cliente já com os dados atualizados.
+     * @param oldCpf CPF anterior do cliente.
+     * @param oldEmail Email anterior do cliente.
+     */
+    public void update(Client client, String oldCpf, String oldEmail) {
+        clientsByCpf.remove(normalizeCpf(oldCpf), client);
+        clientsByEmail.remove(normalizeEmail(oldEmail), client);
+        clientsByCpf.put(normalizeCpf(client.getCpf()), client);
+        clientsByEmail.put(normalizeEmail(client.getEmail()), client);
         saveToFile();
     }
 
@@ -74,12 +199,25 @@ public class ClientRepository {
      * @return O cliente correspondente, ou null se não encontrado.
      */
     public Client getById(int id) {
-        for (Client client : clients) {
-            if (client.getId() == id) {
-                return client;
-            }
-        }
-        return null;
+        return clientsById.get(id);
+    }
+
+    /**
+     * Busca um cliente pelo CPF, independente da formatação usada.
+     * @param cpf CPF do cliente.
+     * @return O cliente correspondente, ou null se não encontrado.
+     */
+    public Client getByCpf(String cpf) {
+        return clientsByCpf.get(normalizeCpf(cpf));
+    }
+
+    /**
+     * Busca um cliente pelo email, sem diferenciar maiúsculas e minúsculas.
+     * @param email Email do cliente.
+     * @return O cliente correspondente, ou null se não encontrado.
+     */
+    public Client getByEmail(String email) {
+        return clientsByEmail.get(normalizeEmail(email));
     }
 
     /**
@@ -87,16 +225,28 @@ public class ClientRepository {
      */
     public void clear() {
         clients.clear();
+        clientsById.clear();
+        clientsByCpf.clear();
+        clientsByEmail.clear();
         saveToFile();
     }
 
     /**
      * Retorna todos os clientes cadastrados.
      *
-     * @return Uma LinkedList de clientes.
+     * @return Um retrato imutável dos clientes no momento da chamada (ver {@link #snapshot()}).
      */
-    public LinkedList<Client> getAll(){
-        return (LinkedList<Client>) clients;
+    public List<Client> getAll(){
+        return clients.snapshot();
+    }
+
+    /**
+     * Retorna um retrato imutável dos clientes neste momento, criado em tempo constante.
+     *
+     * @return Os clientes cadastrados no momento da chamada.
+     */
+    public List<Client> snapshot(){
+        return clients.snapshot();
     }
 
     /**
@@ -106,10 +256,13 @@ public class ClientRepository {
      * @return true se a remoção for bem-sucedida, false caso não exista cliente com esse ID.
      */
     public boolean removeById(int id) {
-        Iterator<Client> iterator = clients.iterator();
-        while (iterator.hasNext()) {
-            if (iterator.next().getId() == id) {
-                iterator.remove();
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            if (client.getId() == id) {
+                clients.remove(i);
+                clientsById.remove(id, client);
+                clientsByCpf.remove(normalizeCpf(client.getCpf()), client);
+                clientsByEmail.remove(normalizeEmail(client.getEmail()), client);
                 saveToFile();
                 return true;
             }
@@ -0,0 +1,71 @@
+package repository;
+
+import java.util.Arrays;
+
+/**
+ * Lista de IDs guardada em um vetor de {@code int}, usada nos índices que ligam
+ * uma chave (sessão, cliente) aos IDs dos seus tickets. Não cria um
+ * {@code Integer} por ID e percorre memória contígua.
+ *
+ * Os métodos são sincronizados: as listas são pequenas e a trava sem disputa
+ * custa menos que uma cópia por escrita.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class IntList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Acrescenta um valor no fim.
+     *
+     * @param value O valor.
+     */
+    public synchronized void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Remove a primeira ocorrência de um valor, mantendo a ordem dos demais.
+     *
+     * @param value O valor.
+     * @return true se o valor estava na lista.
+     */
+    public synchronized boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A quantidade de valores.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return true se a lista estiver vazia.
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Uma cópia dos valores, na ordem em que foram incluídos.
+     */
+    public synchronized int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,300 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Mapa de chaves {@code int} com endereçamento aberto, usado nos índices por ID
+ * dos repositórios no lugar de {@code HashMap<Integer, V>}.
+ *
+ * As chaves ficam em um vetor de {@code int} e os valores em um vetor paralelo,
+ * sem um nó nem um {@code Integer} por entrada: a busca percorre posições
+ * vizinhas dos dois vetores (sondagem linear), o que aproveita a cache do
+ * processador e não gera lixo para o coletor.
+ *
+ * Escritas são sincronizadas entre si; leituras nunca esperam. Uma chave, uma
+ * vez gravada em uma posição, não muda mais de posição na mesma tabela: a
+ * remoção apenas apaga o valor. Assim, uma leitura concorrente com uma escrita
+ * enxerga o valor anterior ou o novo, nunca o de outra chave. Quando as posições
+ * ocupadas (inclusive por chaves removidas) passam do limite de carga, a tabela
+ * é reconstruída e publicada inteira.
+ *
+ * @param <V> tipo dos valores.
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class IntObjectMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int EMPTY = 0;
+
+    /**
+     * Vetores da tabela. A chave 0 marca posição livre; o valor da chave 0 de
+     * verdade fica em {@link IntObjectMap#zeroValue}.
+     */
+    private static final class Table {
+        private final int[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(int capacity) {
+            keys = new int[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+    }
+
+    private volatile Table table;
+    private volatile Object zeroValue;
+    // Posições com chave gravada, com ou sem valor
+    private int used;
+    private volatile int size;
+
+    /**
+     * Cria um mapa vazio.
+     */
+    public IntObjectMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Cria um mapa vazio com espaço para a quantidade de entradas informada.
+     *
+     * @param expectedSize Quantidade de entradas esperada.
+     */
+    public IntObjectMap(int expectedSize) {
+        table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param key A chave.
+     * @return O valor da chave, ou null se ela não estiver no mapa.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == EMPTY) {
+            return (V) zeroValue;
+        }
+        Table t = table;
+        for (int i = mix(key) & t.mask; ; i = (i + 1) & t.mask) {
+            int k = t.keys[i];
+            if (k == key) {
+                return (V) t.values.get(i);
+            }
+            if (k == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @param key A chave.
+     * @return true se a chave estiver no mapa.
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associa um valor a uma chave.
+     *
+     * @param key A chave.
+     * @param value O valor (não pode ser nulo).
+     * @return O valor anterior da chave, ou null se não havia.
+     * @throws IllegalArgumentException se o valor for nulo.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("O valor não pode ser nulo!");
+        }
+        if (key == EMPTY) {
+            V previous = (V) zeroValue;
+            zeroValue = value;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        Table t = table;
+        int i = mix(key) & t.mask;
+        while (t.keys[i] != EMPTY && t.keys[i] != key) {
+            i = (i + 1) & t.mask;
+        }
+        if (t.keys[i] == EMPTY) {
+            if ((used + 1) * 4 > t.keys.length * 3) {
+                rehash(size + 1);
+                return put(key, value);
+            }
+            t.values.set(i, value);
+            t.keys[i] = key;
+            used++;
+            size++;
+            return null;
+        }
+        V previous = (V) t.values.getAndSet(i, value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Associa um valor a uma chave que ainda não está no mapa.
+     *
+     * @param key A chave.
+     * @param value O valor (não pode ser nulo).
+     * @return O valor que a chave já tinha, ou null se o valor informado foi guardado.
+     */
+    public synchronized V putIfAbsent(int key, V value) {
+        V previous = get(key);
+        return previous != null ? previous : put(key, value);
+    }
+
+    /**
+     * Retorna o valor da chave, criando-o e guardando-o se ela ainda não estiver no mapa.
+     *
+     * @param key A chave.
+     * @param factory Cria o valor a partir da chave.
+     * @return O valor da chave.
+     */
+    public synchronized V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Remove uma chave do mapa.
+     *
+     * @param key A chave.
+     * @return O valor removido, ou null se a chave não estava no mapa.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(int key) {
+        V previous;
+        if (key == EMPTY) {
+            previous = (V) zeroValue;
+            zeroValue = null;
+        } else {
+            Table t = table;
+            int i = mix(key) & t.mask;
+            while (t.keys[i] != EMPTY && t.keys[i] != key) {
+                i = (i + 1) & t.mask;
+            }
+            previous = t.keys[i] == EMPTY ? null : (V) t.values.getAndSet(i, null);
+        }
+        if (previous != null) {
+            size--;
+        }
+        return previous;
+    }
+
+    /**
+     * Remove uma chave apenas se ela estiver associada ao valor informado.
+     *
+     * @param key A chave.
+     * @param value O valor esperado.
+     * @return true se a chave foi removida.
+     */
+    public synchronized boolean remove(int key, Object value) {
+        if (value == null || get(key) != value) {
+            return false;
+        }
+        remove(key);
+        return true;
+    }
+
+    /**
+     * @return A quantidade de chaves no mapa.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true se o mapa estiver vazio.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna os valores do mapa neste momento, em ordem indefinida.
+     *
+     * @return Uma lista nova com os valores.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        Table t = table;
+        List<V> result = new ArrayList<>(size);
+        Object zero = zeroValue;
+        if (zero != null) {
+            result.add((V) zero);
+        }
+        for (int i = 0; i < t.keys.length; i++) {
+            Object value = t.values.get(i);
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove todas as chaves.
+     */
+    public synchronized void clear() {
+        table = new Table(INITIAL_CAPACITY);
+        zeroValue = null;
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Copia as entradas com valor para uma tabela nova, descartando as chaves removidas.
+     */
+    private void rehash(int expectedSize) {
+        Table old = table;
+        Table fresh = new Table(capacityFor(expectedSize));
+        int count = 0;
+        for (int i = 0; i < old.keys.length; i++) {
+            Object value = old.values.get(i);
+            if (value != null) {
+                int j = mix(old.keys[i]) & fresh.mask;
+                while (fresh.keys[j] != EMPTY) {
+                    j = (j + 1) & fresh.mask;
+                }
+                fresh.keys[j] = old.keys[i];
+                fresh.values.set(j, value);
+                count++;
+            }
+        }
+        used = count;
+        table = fresh;
+    }
+
+    /**
+     * Menor potência de 2 que guarda a quantidade informada com carga de até 50%.
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * IDs sequenciais caem em posições vizinhas, então percorrer IDs próximos lê
+     * memória contígua; os bits altos são dobrados para que chaves grandes não
+     * dependam só dos bits baixos.
+     */
+    private static int mix(int key) {
+        return key ^ (key >>> 16);
+    }
+}
@@ -0,0 +1,213 @@
+package repository;
+
+import models.LoyaltyEntry;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repositório do extrato de pontos de fidelidade.
+ *
+ * O extrato só recebe lançamentos novos: cada lançamento é acrescentado ao fim
+ * do arquivo, sem regravar os anteriores. Em memória, o repositório mantém o
+ * saldo corrente de cada cliente, atualizado a cada lançamento, e índices por
+ * cliente e por ticket.
+ *
+ * Dentro de uma {@link UnitOfWork}, o lançamento só é acrescentado ao arquivo no
+ * commit da unidade, no mesmo registro de commit da venda ou do cancelamento que
+ * o originou. Como a recuperação pode repetir um acréscimo interrompido, a leitura
+ * ignora lançamentos com um ID já lido.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class LoyaltyLedgerRepository {
+    private final List<LoyaltyEntry> entries = new ArrayList<>();
+    private final Map<Integer, Integer> balances = new HashMap<>();
+    private final Map<Integer, List<LoyaltyEntry>> entriesByClient = new HashMap<>();
+    private final Map<Integer, List<LoyaltyEntry>> entriesByTicket = new HashMap<>();
+    private final Map<Integer, LoyaltyEntry> entriesById = new HashMap<>();
+    private final String FILE_PATH = "data/loyalty.ser";
+    private int lastId;
+
+    /**
+     * Construtor do repositório.
+     * Tenta carregar o extrato do arquivo ao ser instanciado.
+     */
+    public LoyaltyLedgerRepository() {
+        loadFromFile();
+        writeHeaderIfEmpty();
+    }
+
+    /**
+     * Lê os lançamentos do arquivo, um objeto por vez, até o fim.
+     * Um lançamento incompleto no fim do arquivo (gravação interrompida) é descartado.
+     */
+    private void loadFromFile() {
+        new File("data").mkdirs();
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(FILE_PATH)))) {
+            while (true) {
+                LoyaltyEntry entry = (LoyaltyEntry) ois.readObject();
+                if (!entriesById.containsKey(entry.getId())) {
+                    index(entry);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("Arquivo de pontos não encontrado. Iniciando com extrato novo.");
+        } catch (EOFException e) {
+            System.out.println("Extrato de pontos carregado do arquivo serializado: " + FILE_PATH);
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Erro ao carregar o extrato de pontos. " + entries.size() + " lançamentos recuperados.");
+            e.printStackTrace();
+        }
+    }
+
+    private void index(LoyaltyEntry entry) {
+        entries.add(entry);
+        entriesById.put(entry.getId(), entry);
+        lastId = Math.max(lastId, entry.getId());
+        balances.merge(entry.getClientId(), entry.getPoints(), Integer::sum);
+        entriesByClient.computeIfAbsent(entry.getClientId(), k -> new ArrayList<>()).add(entry);
+        if (entry.getTicketId() > 0) {
+            entriesByTicket.computeIfAbsent(entry.getTicketId(), k -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private void unindex(LoyaltyEntry entry) {
+        entries.remove(entry);
+        entriesById.remove(entry.getId());
+        balances.merge(entry.getClientId(), -entry.getPoints(), Integer::sum);
+        entriesByClient.getOrDefault(entry.getClientId(), new ArrayList<>()).remove(entry);
+        if (entry.getTicketId() > 0) {
+            entriesByTicket.getOrDefault(entry.getTicketId(), new ArrayList<>()).remove(entry);
+        }
+    }
+
+    /**
+     * Grava o cabeçalho do fluxo de objetos num arquivo novo, para que todo
+     * lançamento possa ser acrescentado sem cabeçalho, inclusive os adiados
+     * para o commit de uma unidade.
+     */
+    private void writeHeaderIfEmpty() {
+        File file = new File(FILE_PATH);
+        if (file.length() > 0) {
+            return;
+        }
+        try (FileOutputStream fos = new FileOutputStream(file);
+             ObjectOutputStream oos = new ObjectOutputStream(fos)) {
+            oos.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            System.err.println("Erro ao criar o arquivo de pontos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Acrescenta um lançamento ao fim do arquivo ou, com uma unidade aberta, ao commit dela.
+     */
+    private void appendToFile(LoyaltyEntry entry) {
+        try {
+            byte[] record = encode(entry);
+            if (UnitOfWork.deferAppend(FILE_PATH, record)) {
+                return;
+            }
+            try (FileOutputStream fos = new FileOutputStream(FILE_PATH, true)) {
+                fos.write(record);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar lançamento de pontos no arquivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Os bytes do lançamento no formato do arquivo, sem o cabeçalho do fluxo.
+     */
+    private static byte[] encode(LoyaltyEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new AppendingObjectOutputStream(bytes)) {
+            oos.writeObject(entry);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Fluxo de objetos que continua um arquivo existente, sem repetir o cabeçalho.
+     */
+    private static final class AppendingObjectOutputStream extends ObjectOutputStream {
+        private AppendingObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() throws IOException {
+            reset();
+        }
+    }
+
+    /**
+     * @return o ID do próximo lançamento.
+     */
+    public int nextId() {
+        return lastId + 1;
+    }
+
+    /**
+     * Registra um lançamento novo.
+     *
+     * @param entry O lançamento.
+     */
+    public void append(LoyaltyEntry entry) {
+        index(entry);
+        appendToFile(entry);
+    }
+
+    /**
+     * Tira da memória um lançamento de uma unidade desfeita. O arquivo não muda:
+     * o lançamento só seria gravado no commit da unidade.
+     *
+     * @param entry O lançamento.
+     */
+    public void remove(LoyaltyEntry entry) {
+        if (entriesById.get(entry.getId()) == entry) {
+            unindex(entry);
+        }
+    }
+
+    /**
+     * Retorna o saldo corrente de um cliente em tempo constante.
+     *
+     * @param clientId O ID do cliente.
+     * @return A soma dos lançamentos do cliente.
+     */
+    public int getBalance(int clientId) {
+        return balances.getOrDefault(clientId, 0);
+    }
+
+    /**
+     * @param clientId O ID do cliente.
+     * @return Os lançamentos do cliente, do mais antigo para o mais novo.
+     */
+    public List<LoyaltyEntry> getByClient(int clientId) {
+        return Collections.unmodifiableList(entriesByClient.getOrDefault(clientId, Collections.emptyList()));
+    }
+
+    /**
+     * @param ticketId O ID do ticket.
+     * @return Os lançamentos originados pelo ticket.
+     */
+    public List<LoyaltyEntry> getByTicket(int ticketId) {
+        return Collections.unmodifiableList(entriesByTicket.getOrDefault(ticketId, Collections.emptyList()));
+    }
+
+    /**
+     * @return Os IDs dos clientes com algum lançamento.
+     */
+    public Set<Integer> getClientIds() {
+        return Collections.unmodifiableSet(entriesByClient.keySet());
+    }
+}
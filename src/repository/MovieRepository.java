@@ -3,13 +3,15 @@ package repository;
 import models.Movie;
 
 import java.io.*;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe que gerencia a coleção de filmes, com persistência em arquivo.
  * Pode operar em modo de memória ou com arquivo de texto.
+ * Mantém um índice pelo título normalizado e uma árvore de prefixos para
+ * buscas por nome e autocompletar sem percorrer a lista.
  *
  * @author Vinícius Nunes de Andrade
  * @author Thiago Ferreira Ribeiro
@@ -17,7 +19,11 @@ import java.util.List;
  * @version 3.0
  */
 public class MovieRepository {
-    private List<Movie> movies;
+    private SnapshotList<Movie> movies;
+    private final Map<String, Movie> moviesByTitle = new HashMap<>();
+    private final Map<Integer, String> indexedTitles = new HashMap<>();
+    private final TitlePrefixTrie titleTrie = new TitlePrefixTrie();
+    private final MovieSearchIndex searchIndex = new MovieSearchIndex();
     private final String FILE_PATH = "data/movies.ser";
 
     /**
@@ -36,15 +42,51 @@ public class MovieRepository {
         new File("data").mkdirs();
 
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            this.movies = (List<Movie>) ois.readObject();
+            this.movies = new SnapshotList<>((List<Movie>) ois.readObject());
             System.out.println("Filmes carregados do arquivo serializado: " + FILE_PATH);
         } catch (FileNotFoundException | EOFException e) {
-            this.movies = new LinkedList<>();
+            this.movies = new SnapshotList<>();
             System.out.println("Arquivo de filmes não encontrado ou vazio. Iniciando com repositório novo.");
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Erro crítico ao carregar filmes do arquivo. Iniciando com repositório vazio.");
             e.printStackTrace();
-            this.movies = new LinkedList<>();
+            this.movies = new SnapshotList<>();
+        }
+        for (Movie movie : movies) {
+            indexTitle(movie);
+            searchIndex.add(movie);
+        }
+    }
+
+    /**
+     * Normaliza um título para uso nos índices (sem espaços nas pontas e em minúsculas).
+     *
+     * @param title Título do filme.
+     * @return O título normalizado, ou string vazia se for nulo.
+     */
+    public static String normalizeTitle(String title) {
+        return title == null ? "" : title.trim().toLowerCase();
+    }
+
+    /**
+     * Registra o título atual de um filme nos índices.
+     */
+    private void indexTitle(Movie movie) {
+        String key = normalizeTitle(movie.getTitle());
+        moviesByTitle.put(key, movie);
+        indexedTitles.put(movie.getId(), key);
+        titleTrie.insert(key, movie);
+    }
+
+    /**
+     * Remove dos índices o título com o qual o filme foi registrado.
+     */
+    private void unindexTitle(int id) {
+        String key = indexedTitles.remove(id);
+        Movie indexed = (key == null) ? null : moviesByTitle.get(key);
+        if (indexed != null && indexed.getId() == id) {
+            moviesByTitle.remove(key);
+            titleTrie.remove(key);
         }
     }
 
@@ -53,7 +95,7 @@ public class MovieRepository {
      */
     private void saveToFile() {
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(this.movies);
+            oos.writeObject(this.movies.snapshot());
         } catch (IOException e) {
             System.err.println("Erro ao salvar filmes no arquivo: " + e.getMessage());
             e.printStackTrace();
@@ -67,6 +109,22 @@ public class MovieRepository {
      */
     public void add(Movie movie) {
         movies.add(movie);
+        indexTitle(movie);
+        searchIndex.add(movie);
+        saveToFile();
+    }
+
+    /**
+     * Adiciona vários filmes e salva o arquivo uma única vez.
+     *
+     * @param newMovies Os filmes a serem adicionados.
+     */
+    public void addAll(List<Movie> newMovies) {
+        movies.addAll(newMovies);
+        for (Movie movie : newMovies) {
+            indexTitle(movie);
+            searchIndex.add(movie);
+        }
         saveToFile();
     }
 
@@ -97,6 +155,10 @@ public class MovieRepository {
             throw new IllegalArgumentException("Filme com ID " + id + " não existe!");
         }
         movies.set(index, updatedMovie);
+        unindexTitle(id);
+        indexTitle(updatedMovie);
+        searchIndex.remove(id);
+        searchIndex.add(updatedMovie);
         saveToFile();
     }
 
@@ -117,10 +179,10 @@ public class MovieRepository {
     /**
      * Retorna todos os filmes armazenados.
      * 
-     * @return Uma lista contendo todos os filmes.
+     * @return Um retrato imutável dos filmes no momento da chamada.
      */
-    public LinkedList<Movie> getAll(){
-        return (LinkedList<Movie>) movies;
+    public List<Movie> getAll(){
+        return movies.snapshot();
     }
 
     /**
@@ -130,16 +192,13 @@ public class MovieRepository {
      * @return true se o filme foi encontrado e removido; false caso contrário.
      */
     public boolean removeById(int id) {
-        Iterator<Movie> iterator = movies.iterator();
-        while (iterator.hasNext()) {
-            Movie movie = iterator.next();
-            if (movie.getId() == id) {
-                iterator.remove();
-                saveToFile();
-                return true;
-            }
+        if (!movies.removeIf(movie -> movie.getId() == id)) {
+            return false;
         }
-        return false;
+        unindexTitle(id);
+        searchIndex.remove(id);
+        saveToFile();
+        return true;
     }
 
     /**
@@ -149,12 +208,29 @@ public class MovieRepository {
      * @return O filme encontrado ou null.
      */
     public Movie getMovieByName(String name) {
-        for (Movie movie : movies) {
-            if (movie.getTitle().trim().equalsIgnoreCase(name.trim())) {
-                return movie;
-            }
-        }
-        return null;
+        return moviesByTitle.get(normalizeTitle(name));
+    }
+
+    /**
+     * Retorna os filmes cujo título começa com o prefixo fornecido,
+     * sem diferenciar maiúsculas e minúsculas.
+     *
+     * @param prefix início do título digitado.
+     * @param limit quantidade máxima de filmes retornados.
+     * @return Lista com os filmes encontrados.
+     */
+    public List<Movie> getMoviesByTitlePrefix(String prefix, int limit) {
+        return titleTrie.startsWith(normalizeTitle(prefix), limit);
+    }
+
+    /**
+     * Busca filmes por palavras-chave no título, gênero, classificação e sinopse.
+     *
+     * @param query palavras digitadas pelo usuário.
+     * @return Lista de filmes ordenada por relevância.
+     */
+    public List<Movie> search(String query) {
+        return searchIndex.search(query);
     }
 
     /**
@@ -162,6 +238,10 @@ public class MovieRepository {
      */
     public void clear() {
         movies.clear();
+        moviesByTitle.clear();
+        indexedTitles.clear();
+        titleTrie.clear();
+        searchIndex.clear();
         saveToFile();
     }
 }
\ No newline at end of file
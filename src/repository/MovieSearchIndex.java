@@ -0,0 +1,195 @@
+package repository;
+
+import models.Movie;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido em memória para busca textual de filmes por palavra-chave.
+ * Indexa título, gênero, classificação e sinopse, com pesos diferentes por
+ * campo, e devolve os filmes ordenados por relevância.
+ *
+ * A tokenização é voltada ao português: remove acentos (animação e animacao
+ * casam), ignora palavras vazias como "de", "o" e "para" e considera números,
+ * de modo que "terror 18" encontra filmes de terror com classificação 18.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class MovieSearchIndex {
+    private static final int TITLE_WEIGHT = 4;
+    private static final int GENRE_WEIGHT = 3;
+    private static final int CLASSIFICATION_WEIGHT = 3;
+    private static final int SYNOPSIS_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "do", "da", "dos", "das",
+            "em", "no", "na", "nos", "nas", "por", "pelo", "pela", "para", "pra", "com", "sem",
+            "e", "ou", "que", "se", "ao", "aos", "seu", "sua", "seus", "suas", "ele", "ela",
+            "eles", "elas", "mais", "mas", "como", "sobre", "entre", "ate", "apos");
+
+    // termo -> (id do filme -> pontuação do termo naquele filme), ordenado para buscas por prefixo
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    // id do filme -> termos indexados, usado para remover o filme sem varrer o índice
+    private final Map<Integer, Set<String>> termsByMovie = new HashMap<>();
+    private final Map<Integer, Movie> moviesById = new HashMap<>();
+
+    /**
+     * Quebra um texto em termos normalizados: minúsculas, sem acentos e sem palavras vazias.
+     *
+     * @param text Texto livre.
+     * @return Lista de termos na ordem em que aparecem, vazia se o texto for nulo.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        for (String token : folded.split("[^a-z0-9]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexa um filme. Se ele já estiver indexado, os termos antigos são substituídos.
+     *
+     * @param movie O filme a ser indexado.
+     */
+    public void add(Movie movie) {
+        remove(movie.getId());
+
+        Map<String, Integer> scores = new HashMap<>();
+        addField(scores, movie.getTitle(), TITLE_WEIGHT);
+        addField(scores, movie.getGenre(), GENRE_WEIGHT);
+        addField(scores, movie.getClassification(), CLASSIFICATION_WEIGHT);
+        addField(scores, movie.getSynopsis(), SYNOPSIS_WEIGHT);
+
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(movie.getId(), entry.getValue());
+        }
+        termsByMovie.put(movie.getId(), new HashSet<>(scores.keySet()));
+        moviesById.put(movie.getId(), movie);
+    }
+
+    private void addField(Map<String, Integer> scores, String text, int weight) {
+        for (String token : tokenize(text)) {
+            scores.merge(token, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Remove um filme do índice.
+     *
+     * @param movieId ID do filme.
+     */
+    public void remove(int movieId) {
+        Set<String> terms = termsByMovie.remove(movieId);
+        moviesById.remove(movieId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> movies = postings.get(term);
+            if (movies != null) {
+                movies.remove(movieId);
+                if (movies.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca filmes que contenham os termos da consulta.
+     * Todos os termos precisam aparecer no filme; o último termo também casa
+     * como prefixo, para que a busca funcione enquanto o usuário digita.
+     * A relevância soma o peso de cada termo ponderado pela sua raridade no acervo.
+     *
+     * @param query Consulta digitada pelo usuário.
+     * @return Filmes encontrados, do mais para o menos relevante.
+     */
+    public List<Movie> search(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Double> ranking = null;
+        for (int i = 0; i < terms.size(); i++) {
+            boolean isLast = i == terms.size() - 1;
+            Map<Integer, Double> termScores = scoreTerm(terms.get(i), isLast);
+            if (ranking == null) {
+                ranking = termScores;
+            } else {
+                ranking.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Integer, Double> entry : ranking.entrySet()) {
+                    entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                }
+            }
+            if (ranking.isEmpty()) {
+                break;
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ordered = new ArrayList<>(ranking.entrySet());
+        ordered.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Integer.compare(a.getKey(), b.getKey());
+        });
+
+        List<Movie> result = new ArrayList<>(ordered.size());
+        for (Map.Entry<Integer, Double> entry : ordered) {
+            result.add(moviesById.get(entry.getKey()));
+        }
+        return result;
+    }
+
+    /**
+     * Calcula a pontuação de um termo em cada filme que o contém.
+     * Quando {@code prefix} é verdadeiro, também considera os termos que começam com ele.
+     */
+    private Map<Integer, Double> scoreTerm(String term, boolean prefix) {
+        Map<Integer, Double> scores = new HashMap<>();
+        if (prefix) {
+            for (Map<Integer, Integer> movies : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                accumulate(scores, movies);
+            }
+        } else {
+            Map<Integer, Integer> movies = postings.get(term);
+            if (movies != null) {
+                accumulate(scores, movies);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Integer, Double> scores, Map<Integer, Integer> movies) {
+        double rarity = Math.log(1.0 + (double) moviesById.size() / movies.size());
+        for (Map.Entry<Integer, Integer> entry : movies.entrySet()) {
+            scores.merge(entry.getKey(), entry.getValue() * rarity, Math::max);
+        }
+    }
+
+    /**
+     * Remove todos os filmes do índice.
+     */
+    public void clear() {
+        postings.clear();
+        termsByMovie.clear();
+        moviesById.clear();
+    }
+}
@@ -0,0 +1,93 @@
+package repository;
+
+import models.Promotion;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * Classe que gerencia as promoções de desconto cadastradas.
+ * Utiliza serialização para persistir os dados em arquivo.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class PromotionRepository {
+    private SnapshotList<Promotion> promotions;
+    private final String FILE_PATH = "data/promotions.ser";
+
+    /**
+     * Construtor do repositório.
+     * Tenta carregar as promoções do arquivo ao ser instanciado.
+     */
+    public PromotionRepository() {
+        loadFromFile();
+    }
+
+    /**
+     * Carrega a lista de promoções de um arquivo binário.
+     * Se o arquivo não existir ou estiver vazio, inicia com uma lista nova.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadFromFile() {
+        new File("data").mkdirs();
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
+            this.promotions = new SnapshotList<>((List<Promotion>) ois.readObject());
+            System.out.println("Promoções carregadas do arquivo serializado: " + FILE_PATH);
+        } catch (FileNotFoundException | EOFException e) {
+            this.promotions = new SnapshotList<>();
+            System.out.println("Arquivo de promoções não encontrado ou vazio. Iniciando com repositório novo.");
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Erro crítico ao carregar promoções do arquivo. Iniciando com repositório vazio.");
+            e.printStackTrace();
+            this.promotions = new SnapshotList<>();
+        }
+        for (Promotion promotion : promotions) {
+            Promotion.syncIdGenerator(promotion.getId());
+        }
+    }
+
+    /**
+     * Salva a lista de promoções em memória em um arquivo binário.
+     */
+    private void saveToFile() {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
+            oos.writeObject(this.promotions.snapshot());
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar promoções no arquivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adiciona uma promoção e salva no arquivo.
+     *
+     * @param promotion A promoção a ser adicionada.
+     */
+    public void add(Promotion promotion) {
+        promotions.add(promotion);
+        saveToFile();
+    }
+
+    /**
+     * Remove uma promoção pelo ID.
+     *
+     * @param id O ID da promoção.
+     * @return true se a promoção foi removida.
+     */
+    public boolean removeById(int id) {
+        if (!promotions.removeIf(promotion -> promotion.getId() == id)) {
+            return false;
+        }
+        saveToFile();
+        return true;
+    }
+
+    /**
+     * Retorna todas as promoções cadastradas.
+     *
+     * @return Um retrato imutável das promoções no momento da chamada.
+     */
+    public List<Promotion> getAll() {
+        return promotions.snapshot();
+    }
+}
@@ -0,0 +1,52 @@
+package repository;
+
+import enums.RepositoryType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Canal de avisos de alteração dos repositórios. Cada repositório avisa depois
+ * de gravar uma alteração, e quem guarda dados derivados (como o cache de
+ * relatórios) se inscreve para descartá-los.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class RepositoryEvents {
+
+    /**
+     * Interface para quem quer ser avisado das alterações.
+     */
+    public static interface Listener {
+        void onChange(RepositoryType source);
+    }
+
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Inscreve um ouvinte.
+     * @param listener ouvinte a ser avisado.
+     */
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Cancela a inscrição de um ouvinte.
+     * @param listener ouvinte inscrito.
+     */
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Avisa todos os ouvintes de que os dados de um repositório mudaram.
+     * @param source repositório alterado.
+     */
+    public static void fire(RepositoryType source) {
+        for (Listener listener : listeners) {
+            listener.onChange(source);
+        }
+    }
+}
@@ -3,8 +3,6 @@ package repository;
 import models.Room;
 
 import java.io.*; // Import genérico para todas as classes de I/O
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -16,7 +14,7 @@ import java.util.List;
  * @version 2.0
  */
 public class RoomRepository {
-    private List<Room> rooms;
+    private SnapshotList<Room> rooms;
     private final String FILE_PATH = "data/rooms.ser"; // Arquivo binário para objetos serializados
 
     /**
@@ -34,15 +32,15 @@ public class RoomRepository {
     private void loadFromFile() {
         new File("data").mkdirs(); // Garante que a pasta 'data' exista
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            this.rooms = (List<Room>) ois.readObject();
+            this.rooms = new SnapshotList<>((List<Room>) ois.readObject());
             System.out.println("Salas carregadas do arquivo serializado: " + FILE_PATH);
         } catch (FileNotFoundException | EOFException e) {
-            this.rooms = new LinkedList<>();
+            this.rooms = new SnapshotList<>();
             System.out.println("Arquivo de salas não encontrado ou vazio. Iniciando com repositório novo.");
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Erro crítico ao carregar salas do arquivo. Iniciando com repositório vazio.");
             e.printStackTrace();
-            this.rooms = new LinkedList<>();
+            this.rooms = new SnapshotList<>();
         }
     }
 
@@ -51,7 +49,7 @@ public class RoomRepository {
      */
     private void saveToFile() {
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(this.rooms);
+            oos.writeObject(this.rooms.snapshot());
         } catch (IOException e) {
             System.err.println("Erro ao salvar salas no arquivo: " + e.getMessage());
         }
@@ -85,10 +83,10 @@ public class RoomRepository {
     /**
      * Retorna todas as salas cadastradas.
      *
-     * @return Um ArrayDeque contendo todas as salas.
+     * @return Um retrato imutável das salas no momento da chamada.
      */
-    public LinkedList<Room> getAll(){
-        return (LinkedList<Room>) rooms;
+    public List<Room> getAll(){
+        return rooms.snapshot();
     }
 
     /**
@@ -98,17 +96,11 @@ public class RoomRepository {
      * @return true se a sala foi removida; false caso contrário.
      */
     public boolean removeById(int id) {
-        // Usar um Iterator é a forma mais segura e eficiente de remover
-        // de uma LinkedList durante a iteração.
-        Iterator<Room> iterator = rooms.iterator();
-        while (iterator.hasNext()) {
-            if (iterator.next().getId() == id) {
-                iterator.remove();
-                saveToFile();
-                return true;
-            }
+        if (!rooms.removeIf(room -> room.getId() == id)) {
+            return false;
         }
-        return false;
+        saveToFile();
+        return true;
     }
 
     /**
@@ -0,0 +1,462 @@
+package repository;
+
+import models.Session;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Arquivo das sessões que já foram realizadas, dividido em segmentos mensais.
+ *
+ * Cada mês tem um arquivo próprio ({@code AAAA-MM.ser}) com as suas sessões.
+ * Em memória fica apenas um índice com o ID, o dia e o filme de cada sessão
+ * arquivada, lido de {@code index.bin} e acrescido a cada arquivamento: ele
+ * diz se uma sessão está arquivada e em qual mês sem abrir nenhum segmento.
+ * O arquivo do índice guarda também o resumo de cada sessão (sala, horário,
+ * capacidade e assentos vendidos), que {@link #forEachSummary} percorre para
+ * reconstruir agregados sem ler os segmentos.
+ * Um segmento só é lido quando uma consulta histórica pede uma sessão ou um
+ * período dele, e fica guardado por uma {@link SoftReference}: sob pressão de
+ * memória o coletor pode descartá-lo, e ele é lido de novo na próxima consulta.
+ *
+ * As sessões arquivadas não mudam mais. As devolvidas pelas consultas são
+ * cópias lidas do arquivo e servem apenas para leitura.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class SessionArchive {
+    private static final int MAGIC = 0x43534152;
+    private static final int FORMAT_VERSION = 2;
+    // Índices da versão 1 só tinham ID, dia e filme; são refeitos a partir dos segmentos
+    private static final int FORMAT_VERSION_WITHOUT_SUMMARY = 1;
+    private static final String INDEX_FILE = "index.bin";
+
+    /**
+     * Conteúdo de um segmento lido do arquivo: as sessões em ordem de início e o índice por ID.
+     */
+    private static final class Loaded {
+        private final List<Session> sessions;
+        private final IntObjectMap<Session> byId;
+
+        private Loaded(List<Session> sessions) {
+            this.sessions = Collections.unmodifiableList(sessions);
+            this.byId = new IntObjectMap<>(sessions.size());
+            for (Session session : sessions) {
+                byId.put(session.getId(), session);
+            }
+        }
+    }
+
+    /**
+     * Um mês do arquivo: os dias que as suas sessões ocupam e o conteúdo, se já foi lido.
+     */
+    private static final class Segment {
+        private final YearMonth month;
+        private volatile int firstDay = Integer.MAX_VALUE;
+        private volatile int lastDay = Integer.MIN_VALUE;
+        private volatile SoftReference<Loaded> loaded = new SoftReference<>(null);
+
+        private Segment(YearMonth month) {
+            this.month = month;
+        }
+
+        private boolean overlaps(long fromDay, long toDay) {
+            return firstDay <= toDay && lastDay >= fromDay;
+        }
+    }
+
+    private final Path directory;
+    private final NavigableMap<YearMonth, Segment> segments = new ConcurrentSkipListMap<>();
+    private final IntObjectMap<Segment> segmentById = new IntObjectMap<>();
+    private final IntObjectMap<IntList> idsByMovie = new IntObjectMap<>();
+    private volatile int maxId;
+
+    /**
+     * Cria o arquivo no diretório informado e lê o seu índice, sem abrir os segmentos.
+     *
+     * @param directory Diretório dos segmentos e do índice.
+     */
+    public SessionArchive(String directory) {
+        this.directory = Paths.get(directory);
+        loadIndex();
+    }
+
+    /**
+     * @return A quantidade de sessões arquivadas.
+     */
+    public int size() {
+        return segmentById.size();
+    }
+
+    /**
+     * @param id O ID da sessão.
+     * @return true se a sessão estiver arquivada.
+     */
+    public boolean contains(int id) {
+        return segmentById.containsKey(id);
+    }
+
+    /**
+     * @return O maior ID de sessão arquivada, ou 0 se o arquivo estiver vazio.
+     */
+    public int maxId() {
+        return maxId;
+    }
+
+    /**
+     * Busca uma sessão arquivada, lendo o segmento do seu mês se ele não estiver em memória.
+     *
+     * @param id O ID da sessão.
+     * @return A sessão, ou null se ela não estiver arquivada.
+     */
+    public Session get(int id) {
+        Segment segment = segmentById.get(id);
+        return segment == null ? null : load(segment).byId.get(id);
+    }
+
+    /**
+     * Retorna as sessões arquivadas de um filme, lendo só os meses em que ele teve sessões.
+     *
+     * @param movieId O ID do filme.
+     * @return As sessões do filme, em ordem de ID.
+     */
+    public List<Session> getByMovie(int movieId) {
+        IntList ids = idsByMovie.get(movieId);
+        if (ids == null) {
+            return List.of();
+        }
+        List<Session> result = new ArrayList<>(ids.size());
+        for (int id : ids.toArray()) {
+            Session session = get(id);
+            if (session != null) {
+                result.add(session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Percorre as sessões arquivadas de um período, em ordem de início. Só são
+     * lidos os segmentos com sessões dentro do período, um de cada vez.
+     *
+     * @param from Primeiro dia do período.
+     * @param to Último dia do período.
+     * @return Uma stream preguiçosa com as sessões do período.
+     */
+    public Stream<Session> streamBetween(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        return segments.values().stream()
+                .filter(segment -> segment.overlaps(fromDay, toDay))
+                .flatMap(segment -> load(segment).sessions.stream())
+                .filter(session -> session.getEpochDay() >= fromDay && session.getEpochDay() <= toDay);
+    }
+
+    /**
+     * Percorre o resumo das sessões arquivadas lendo apenas o arquivo do índice,
+     * sem abrir nenhum segmento. Cada sessão é visitada uma única vez.
+     *
+     * @param visitor Recebe o resumo de cada sessão arquivada.
+     */
+    public synchronized void forEachSummary(SummaryVisitor visitor) {
+        Path path = directory.resolve(INDEX_FILE);
+        if (!Files.exists(path)) {
+            return;
+        }
+        BitSet visited = new BitSet();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Formato desconhecido.");
+            }
+            while (true) {
+                int id;
+                int day;
+                int movieId;
+                int roomId;
+                int startMinute;
+                int capacity;
+                int sold;
+                try {
+                    id = in.readInt();
+                    day = in.readInt();
+                    movieId = in.readInt();
+                    roomId = in.readInt();
+                    startMinute = in.readInt();
+                    capacity = in.readInt();
+                    sold = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                // Um arquivamento repetido depois de uma falha acrescenta a sessão de novo
+                if (id > 0 && !visited.get(id)) {
+                    visited.set(id);
+                    visitor.visit(id, roomId, movieId, day, startMinute, capacity, sold);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o índice do arquivo de sessões: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recebe o resumo de uma sessão arquivada.
+     */
+    @FunctionalInterface
+    public interface SummaryVisitor {
+        /**
+         * @param sessionId ID da sessão.
+         * @param roomId ID da sala (0 se a sessão não tinha sala).
+         * @param movieId ID do filme (0 se a sessão não tinha filme).
+         * @param epochDay Dia da sessão, em dias desde 01/01/1970.
+         * @param startMinute Minuto do dia em que a sessão começou.
+         * @param capacity Assentos da sala.
+         * @param sold Assentos vendidos.
+         */
+        void visit(int sessionId, int roomId, int movieId, int epochDay, int startMinute, int capacity, int sold);
+    }
+
+    /**
+     * Arquiva sessões: cada uma entra no segmento do seu mês, que é regravado,
+     * e depois no índice. Uma sessão já arquivada é substituída no seu segmento,
+     * então repetir o arquivamento depois de uma falha não duplica sessões.
+     *
+     * @param sessions As sessões a arquivar.
+     * @throws UncheckedIOException se algum segmento ou o índice não puder ser gravado.
+     */
+    public synchronized void addAll(List<Session> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Map<YearMonth, List<Session>> byMonth = new LinkedHashMap<>();
+        for (Session session : sessions) {
+            byMonth.computeIfAbsent(YearMonth.from(session.getStartDate()), m -> new ArrayList<>()).add(session);
+        }
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<YearMonth, List<Session>> entry : byMonth.entrySet()) {
+                Segment segment = segments.computeIfAbsent(entry.getKey(), Segment::new);
+                Map<Integer, Session> merged = new LinkedHashMap<>();
+                for (Session session : load(segment).sessions) {
+                    merged.put(session.getId(), session);
+                }
+                for (Session session : entry.getValue()) {
+                    merged.put(session.getId(), session);
+                }
+                List<Session> content = new ArrayList<>(merged.values());
+                content.sort(Comparator.comparing(Session::getStartDateTime).thenComparingInt(Session::getId));
+                writeSegment(segment, content);
+                segment.loaded = new SoftReference<>(new Loaded(content));
+            }
+            appendToIndex(sessions);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o arquivo de sessões: " + e.getMessage(), e);
+        }
+        for (Session session : sessions) {
+            register(session.getId(), session.getEpochDay(), movieIdOf(session));
+        }
+    }
+
+    /**
+     * Apaga todos os segmentos e o índice.
+     */
+    public synchronized void clear() {
+        try {
+            for (Segment segment : segments.values()) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+            Files.deleteIfExists(directory.resolve(INDEX_FILE));
+        } catch (IOException e) {
+            System.err.println("Erro ao apagar o arquivo de sessões: " + e.getMessage());
+        }
+        segments.clear();
+        segmentById.clear();
+        idsByMovie.clear();
+        maxId = 0;
+    }
+
+    /**
+     * Devolve o conteúdo do segmento, lendo o arquivo se ele ainda não foi lido ou foi descartado.
+     */
+    private Loaded load(Segment segment) {
+        Loaded content = segment.loaded.get();
+        if (content != null) {
+            return content;
+        }
+        synchronized (segment) {
+            content = segment.loaded.get();
+            if (content == null) {
+                content = new Loaded(readSegment(segment));
+                segment.loaded = new SoftReference<>(content);
+            }
+            return content;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Session> readSegment(Segment segment) {
+        Path path = segmentPath(segment);
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return new ArrayList<>((List<Session>) ois.readObject());
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Erro ao ler o arquivo de sessões de " + segment.month + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Grava o segmento em um arquivo temporário e o troca pelo definitivo.
+     */
+    private void writeSegment(Segment segment, List<Session> content) throws IOException {
+        Path path = segmentPath(segment);
+        Path tmp = Paths.get(path + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(fos))) {
+            oos.writeObject(new ArrayList<>(content));
+            oos.flush();
+            fos.getFD().sync();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Acrescenta ID, dia, filme e o resumo das sessões no fim do índice. Um registro
+     * incompleto no fim do arquivo, de uma gravação interrompida, é ignorado na leitura.
+     */
+    private void appendToIndex(List<Session> sessions) throws IOException {
+        Path path = directory.resolve(INDEX_FILE);
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        try (FileOutputStream fos = new FileOutputStream(path.toFile(), true);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+            }
+            for (Session session : sessions) {
+                writeIndexRecord(out, session);
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+    }
+
+    private static void writeIndexRecord(DataOutputStream out, Session session) throws IOException {
+        int capacity = session.getRoom() == null ? 0 : session.getRoom().getTotalSeat();
+        out.writeInt(session.getId());
+        out.writeInt(session.getEpochDay());
+        out.writeInt(movieIdOf(session));
+        out.writeInt(session.getRoom() == null ? 0 : session.getRoom().getId());
+        out.writeInt(session.getStartTime().toSecondOfDay() / 60);
+        out.writeInt(capacity);
+        out.writeInt(Math.max(0, capacity - session.getTotalAvailableSeats()));
+    }
+
+    private void loadIndex() {
+        Path path = directory.resolve(INDEX_FILE);
+        if (!Files.exists(path)) {
+            return;
+        }
+        boolean withoutSummary;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_SUMMARY) {
+                throw new IOException("Formato desconhecido.");
+            }
+            withoutSummary = version == FORMAT_VERSION_WITHOUT_SUMMARY;
+            while (true) {
+                int id;
+                int day;
+                int movieId;
+                try {
+                    id = in.readInt();
+                    day = in.readInt();
+                    movieId = in.readInt();
+                    if (!withoutSummary) {
+                        in.skipNBytes(4L * Integer.BYTES);
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                register(id, day, movieId);
+            }
+            System.out.println("Arquivo de sessões carregado: " + directory + " (" + size() + " sessões em "
+                    + segments.size() + " meses)");
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar o índice do arquivo de sessões: " + e.getMessage());
+            return;
+        }
+        if (withoutSummary) {
+            rewriteIndex();
+        }
+    }
+
+    /**
+     * Regrava o índice no formato atual a partir dos segmentos, lendo cada mês uma única vez.
+     */
+    private void rewriteIndex() {
+        Path path = directory.resolve(INDEX_FILE);
+        Path tmp = Paths.get(path + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (Segment segment : segments.values()) {
+                for (Session session : readSegment(segment)) {
+                    writeIndexRecord(out, session);
+                }
+            }
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            System.err.println("Erro ao atualizar o índice do arquivo de sessões: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Índice do arquivo de sessões atualizado com o resumo das sessões.");
+        } catch (IOException e) {
+            System.err.println("Erro ao atualizar o índice do arquivo de sessões: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inclui a sessão no índice em memória.
+     */
+    private void register(int id, int epochDay, int movieId) {
+        YearMonth month = YearMonth.from(LocalDate.ofEpochDay(epochDay));
+        Segment segment = segments.computeIfAbsent(month, Segment::new);
+        segment.firstDay = Math.min(segment.firstDay, epochDay);
+        segment.lastDay = Math.max(segment.lastDay, epochDay);
+        if (segmentById.put(id, segment) == null) {
+            idsByMovie.computeIfAbsent(movieId, k -> new IntList()).add(id);
+        }
+        maxId = Math.max(maxId, id);
+    }
+
+    private Path segmentPath(Segment segment) {
+        return directory.resolve(segment.month + ".ser");
+    }
+
+    private static int movieIdOf(Session session) {
+        return session.getMovie() == null ? 0 : session.getMovie().getId();
+    }
+}
@@ -1,18 +1,31 @@
 package repository;
 
+import enums.RepositoryType;
 import controller.business.RoomController;
 import models.Room;
 import models.Session;
 
 import java.io.*; // Import genérico para todas as classes de I/O
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
 
 /**
  * Classe que gerencia as sessões (Session) do cinema usando serialização.
+ * Mantém índices ID -> sessão, filme -> sessões e data -> sessões atualizados a cada inclusão,
+ * alteração ou remoção, para consultar as sessões de um filme ou de um período
+ * sem percorrer todas as sessões. A lista de sessões e o índice por data
+ * entregam retratos ({@link SnapshotList}) para leituras longas, como relatórios.
+ *
+ * Na inicialização da aplicação, {@link #archiveFinished()} move as sessões de
+ * dias anteriores ao atual para o arquivo de sessões realizadas
+ * ({@link SessionArchive}), em segmentos mensais no disco: a lista e os índices
+ * passam a guardar só as sessões de hoje em diante. Carregar o repositório não
+ * grava nada, para que ferramentas somente de leitura possam usá-lo. Consultas por ID, por período e o histórico de um filme também
+ * encontram as sessões arquivadas, lendo do disco só os meses pedidos.
  *
  * @author Thiago Ferreira Ribeiro
  * @author Vinícius Nunes de Andrade
@@ -20,10 +33,17 @@ import java.util.List;
  * @version 4.0
  */
 public class SessionRepository {
-    private List<Session> sessions;
+    private SnapshotList<Session> sessions;
+    private final IntObjectMap<Session> sessionsById = new IntObjectMap<>();
+    private final IntObjectMap<SnapshotList<Session>> sessionsByMovie = new IntObjectMap<>();
+    // ID da sessão -> ID do filme com o qual ela foi indexada
+    private final IntObjectMap<Integer> indexedMovies = new IntObjectMap<>();
+    private final NavigableMap<LocalDate, SnapshotList<Session>> sessionsByDate = new ConcurrentSkipListMap<>();
+    // ID da sessão -> data com a qual ela foi indexada
+    private final IntObjectMap<LocalDate> indexedDates = new IntObjectMap<>();
     private final String FILE_PATH = "data/sessions.ser";
+    private final SessionArchive archive = new SessionArchive("data/sessions-archive");
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     /**
      * Construtor do repositório.
      * Tenta carregar as sessões do arquivo ao ser instanciado.
@@ -35,15 +55,21 @@ public class SessionRepository {
     /**
      * Carrega a lista de sessões de um arquivo binário.
      * Se o arquivo não existir ou estiver vazio, inicia com uma lista nova.
-     * Também repopula as filas de sessão das salas.
+     * Repopula as filas de sessão das salas com as sessões de hoje em diante.
      */
     private void loadFromFile() {
         new File("data").mkdirs();
+        Session.syncIdGenerator(archive.maxId());
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            this.sessions = (List<Session>) ois.readObject();
+            this.sessions = new SnapshotList<>((List<Session>) ois.readObject(), Session::getId);
             System.out.println("Sessões carregadas do arquivo serializado: " + FILE_PATH);
 
+            int today = Math.toIntExact(LocalDate.now().toEpochDay());
             for (Session session : this.sessions) {
+                indexSession(session);
+                if (isFinished(session, today)) {
+                    continue;
+                }
                 Room room = session.getRoom();
                 if (room != null) {
                     try {
@@ -58,23 +84,124 @@ public class SessionRepository {
             }
 
         } catch (FileNotFoundException | EOFException e) {
-            this.sessions = new LinkedList<>();
+            this.sessions = new SnapshotList<>(Session::getId);
             System.out.println("Arquivo de sessões não encontrado ou vazio. Iniciando com repositório novo.");
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Erro crítico ao carregar sessões do arquivo. Iniciando com repositório vazio.");
             e.printStackTrace();
-            this.sessions = new LinkedList<>();
+            this.sessions = new SnapshotList<>(Session::getId);
+        }
+    }
+    /**
+     * Move para o arquivo as sessões de dias anteriores ao atual (e as que já
+     * estavam nele, de um arquivamento interrompido) e grava a lista sem elas.
+     * Se o arquivo não puder ser gravado, todas continuam na lista.
+     * Deve ser chamado uma vez na inicialização da aplicação.
+     *
+     * @return A quantidade de sessões movidas.
+     */
+    public synchronized int archiveFinished() {
+        int today = Math.toIntExact(LocalDate.now().toEpochDay());
+        List<Session> past = new ArrayList<>();
+        for (Session session : sessions) {
+            if (isFinished(session, today)) {
+                past.add(session);
+            }
+        }
+        if (past.isEmpty()) {
+            return 0;
+        }
+        try {
+            archive.addAll(past);
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            return 0;
+        }
+        sessions.removeIf(session -> isFinished(session, today));
+        for (Session session : past) {
+            unindexSession(session.getId());
+        }
+        saveToFile();
+        return past.size();
+    }
+
+    /**
+     * Diz se a sessão é de um dia anterior a {@code today} ou já está no arquivo.
+     */
+    private boolean isFinished(Session session, int today) {
+        return session.getEpochDay() < today || archive.contains(session.getId());
+    }
+
+    /**
+     * Registra a sessão nos índices por ID, por filme e por data, substituindo um registro anterior.
+     */
+    private void indexSession(Session session) {
+        unindexSession(session.getId());
+        sessionsById.put(session.getId(), session);
+        LocalDate date = session.getStartDateTime().toLocalDate();
+        sessionsByDate.computeIfAbsent(date, k -> new SnapshotList<>()).add(session);
+        indexedDates.put(session.getId(), date);
+        if (session.getMovie() == null) {
+            return;
+        }
+        int movieId = session.getMovie().getId();
+        sessionsByMovie.computeIfAbsent(movieId, k -> new SnapshotList<>()).add(session);
+        indexedMovies.put(session.getId(), movieId);
+    }
+
+    /**
+     * @return true se a própria instância já está nos índices com a sua data e o seu filme atuais.
+     */
+    private boolean isIndexedAs(Session session) {
+        Integer movieId = indexedMovies.get(session.getId());
+        int currentMovieId = session.getMovie() == null ? 0 : session.getMovie().getId();
+        return sessionsById.get(session.getId()) == session
+                && session.getStartDateTime().toLocalDate().equals(indexedDates.get(session.getId()))
+                && (movieId == null ? session.getMovie() == null : movieId == currentMovieId);
+    }
+
+    /**
+     * Remove a sessão dos índices com as chaves com as quais ela foi registrada.
+     */
+    private void unindexSession(int sessionId) {
+        sessionsById.remove(sessionId);
+        LocalDate date = indexedDates.remove(sessionId);
+        if (date != null && removeFrom(sessionsByDate.get(date), sessionId)) {
+            sessionsByDate.remove(date);
+        }
+        Integer movieId = indexedMovies.remove(sessionId);
+        if (movieId != null && removeFrom(sessionsByMovie.get(movieId), sessionId)) {
+            sessionsByMovie.remove(movieId);
+        }
+    }
+
+    /**
+     * Tira a sessão de uma lista do índice.
+     * @return true se a lista ficou vazia e deve sair do índice.
+     */
+    private static boolean removeFrom(SnapshotList<Session> indexed, int sessionId) {
+        if (indexed == null) {
+            return false;
         }
+        indexed.removeIf(s -> s.getId() == sessionId);
+        return indexed.isEmpty();
     }
+
     /**
-     * Salva a lista de sessões em memória em um arquivo binário.
+     * Salva a lista de sessões em memória em um arquivo binário
+     * e avisa os ouvintes de {@link RepositoryEvents} da alteração.
+     * Dentro de uma {@link UnitOfWork}, a gravação fica para o commit.
      */
     private void saveToFile() {
+        if (UnitOfWork.defer(FILE_PATH, this.sessions::snapshot, RepositoryType.SESSION)) {
+            return;
+        }
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(this.sessions);
+            oos.writeObject(this.sessions.snapshot());
         } catch (IOException e) {
             System.err.println("Erro ao salvar sessões no arquivo: " + e.getMessage());
         }
+        RepositoryEvents.fire(RepositoryType.SESSION);
     }
 
     /**
@@ -83,19 +210,38 @@ public class SessionRepository {
      */
     public void add(Session session) {
         sessions.add(session);
+        indexSession(session);
         saveToFile();
     }
 
     /**
-     * Retorna uma sessão pelo seu ID.
+     * Adiciona várias sessões e salva o arquivo uma única vez.
+     * @param newSessions As sessões a serem adicionadas.
+     */
+    public void addAll(List<Session> newSessions) {
+        sessions.addAll(newSessions);
+        for (Session session : newSessions) {
+            indexSession(session);
+        }
+        saveToFile();
+    }
+
+    /**
+     * Retorna uma sessão pelo seu ID, procurando também entre as arquivadas.
      * @param id O ID da sessão.
      * @return A sessão encontrada ou null.
      */
     public Session getById(int id) {
-        for (Session session : sessions) {
-            if (session.getId() == id) return session;
-        }
-        return null;
+        Session session = sessionsById.get(id);
+        return session != null ? session : archive.get(id);
+    }
+
+    /**
+     * @param id O ID da sessão.
+     * @return true se a sessão já foi realizada e está no arquivo, somente para leitura.
+     */
+    public boolean isArchived(int id) {
+        return archive.contains(id);
     }
 
     /**
@@ -107,66 +253,116 @@ public class SessionRepository {
         int index = getIndex(sessionToUpdate.getId());
         if (index != -1) {
             sessions.set(index, sessionToUpdate);
+            // Numa venda, a sessão alterada é a mesma já indexada, com a mesma data e o mesmo filme
+            if (!isIndexedAs(sessionToUpdate)) {
+                indexSession(sessionToUpdate);
+            }
             saveToFile();
         }
     }
 
     private int getIndex(int id) {
-        int index = 0;
-        for (Session session : sessions) {
-            if (session.getId() == id) return index;
-            index++;
-        }
-        return -1;
+        return sessions.indexOfKey(id);
     }
 
     /**
      * Retorna todas as sessões agendadas para uma dada data.
      * @param date A data (como objeto LocalDate) pela qual se quer filtrar.
-     * @return Uma lista contendo as sessões da data informada.
+     * @return Um retrato imutável das sessões da data informada.
      */
-    public LinkedList<Session> getByDate(LocalDate date) {
-        LinkedList<Session> sessionsByDate = new LinkedList<>();
+    public List<Session> getByDate(LocalDate date) {
+        SnapshotList<Session> dateSessions = sessionsByDate.get(date);
+        return dateSessions == null ? List.of() : dateSessions.snapshot();
+    }
 
-        String dateToCompare = date.format(DATE_FORMATTER);
+    /**
+     * Percorre, sem copiar, as sessões de um período em ordem de data.
+     * Cada dia é lido pelo seu retrato, então alterações durante o percurso não o interrompem.
+     * As sessões arquivadas do período vêm primeiro, lidas mês a mês do disco.
+     * @param from Primeiro dia do período.
+     * @param to Último dia do período.
+     * @return Uma stream preguiçosa com as sessões do período.
+     */
+    public Stream<Session> streamBetween(LocalDate from, LocalDate to) {
+        return Stream.concat(archive.streamBetween(from, to),
+                sessionsByDate.subMap(from, true, to, true).values().stream().flatMap(day -> day.snapshot().stream()));
+    }
 
-        for (Session session : sessions) {
-            if (session.getDate().equals(dateToCompare)) {
-                sessionsByDate.add(session);
-            }
-        }
-        return sessionsByDate;
+    /**
+     * Percorre o resumo das sessões arquivadas (sala, filme, horário, capacidade e
+     * vendidos) sem ler os segmentos do disco.
+     * @param visitor Recebe o resumo de cada sessão arquivada.
+     */
+    public void forEachArchivedSummary(SessionArchive.SummaryVisitor visitor) {
+        archive.forEachSummary(visitor);
+    }
+
+    /**
+     * Retorna todas as sessões que exibem um determinado filme, sem as arquivadas.
+     * @param movieId O ID do filme.
+     * @return Um retrato imutável das sessões do filme, vazio se não houver nenhuma.
+     */
+    public List<Session> getByMovie(int movieId) {
+        SnapshotList<Session> movieSessions = sessionsByMovie.get(movieId);
+        return movieSessions == null ? List.of() : movieSessions.snapshot();
     }
 
     /**
-     * Retorna todas as sessões cadastradas.
+     * Retorna todas as sessões que já exibiram ou vão exibir um filme, lendo do
+     * disco os meses arquivados em que ele teve sessões.
+     * @param movieId O ID do filme.
+     * @return As sessões arquivadas do filme seguidas das atuais.
+     */
+    public List<Session> getHistoryByMovie(int movieId) {
+        List<Session> result = new ArrayList<>(archive.getByMovie(movieId));
+        result.addAll(getByMovie(movieId));
+        return result;
+    }
+
+    /**
+     * Retorna todas as sessões cadastradas, sem as arquivadas.
      *
-     * @return Uma lista contendo todas as sessões.
+     * @return Um retrato imutável das sessões no momento da chamada (ver {@link #snapshot()}).
      */
-    public LinkedList<Session> getAll(){
-        return (LinkedList<Session>) sessions;
+    public List<Session> getAll(){
+        return sessions.snapshot();
+    }
+
+    /**
+     * Retorna um retrato imutável das sessões neste momento, criado em tempo constante.
+     *
+     * @return As sessões cadastradas no momento da chamada.
+     */
+    public List<Session> snapshot(){
+        return sessions.snapshot();
     }
 
     /**
      * Remove a sessão com o ID especificado e salva no arquivo.
+     * Sessões arquivadas não são removidas.
      */
     public boolean removeById(int id) {
-        Iterator<Session> iterator = sessions.iterator();
-        while (iterator.hasNext()) {
-            if (iterator.next().getId() == id) {
-                iterator.remove();
-                saveToFile();
-                return true;
-            }
+        int index = getIndex(id);
+        if (index == -1) {
+            return false;
         }
-        return false;
+        sessions.remove(index);
+        unindexSession(id);
+        saveToFile();
+        return true;
     }
 
     /**
-     * Remove todas as sessões cadastradas e salva o estado vazio no arquivo.
+     * Remove todas as sessões cadastradas, inclusive as arquivadas, e salva o estado vazio no arquivo.
      */
     public void clear() {
         sessions.clear();
+        archive.clear();
+        sessionsById.clear();
+        sessionsByMovie.clear();
+        indexedMovies.clear();
+        sessionsByDate.clear();
+        indexedDates.clear();
         saveToFile();
     }
 }
\ No newline at end of file
@@ -0,0 +1,365 @@
+package repository;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lista dos repositórios que entrega retratos imutáveis do seu conteúdo em tempo
+ * constante, para que relatórios longos leiam um estado consistente enquanto as
+ * vendas continuam.
+ *
+ * Os elementos ficam em um vetor. Um retrato é apenas o vetor e o tamanho no
+ * momento em que foi pedido. Inclusões no fim escrevem depois do tamanho dos
+ * retratos já entregues, então não os alteram; quando o vetor enche, ou quando
+ * um elemento é removido, a lista passa a usar uma cópia e os retratos antigos
+ * continuam com o vetor anterior. Escritas são sincronizadas entre si; leituras
+ * nunca esperam.
+ *
+ * O retrato guarda as referências dos elementos, não cópias deles: alterações
+ * feitas dentro de um objeto (como os assentos de uma sessão) aparecem nele.
+ * Já substituir um elemento pela sua nova versão não altera os retratos
+ * entregues: enquanto nenhum retrato do vetor atual foi entregue, a troca é
+ * feita no próprio vetor; depois disso, a lista passa a usar uma cópia. Assim,
+ * uma sequência de substituições copia o vetor no máximo uma vez por retrato
+ * entregue.
+ *
+ * Criada com uma chave (como o ID das entidades), a lista mantém também a
+ * posição de cada chave, e {@link #indexOfKey(int)} a encontra em tempo constante.
+ *
+ * @param <T> tipo dos elementos.
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class SnapshotList<T> implements Iterable<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Retrato imutável: os {@code size} primeiros elementos de {@code elements}.
+     * Gravado em arquivo como um {@link ArrayList} comum.
+     */
+    private static final class Snapshot<T> extends AbstractList<T> implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 1L;
+        private final transient Generation generation;
+        private final transient Object[] elements;
+        private final int size;
+
+        private Snapshot(Generation generation, int size) {
+            this.generation = generation;
+            this.elements = generation.elements;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora da lista de tamanho " + size);
+            }
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private Object writeReplace() {
+            return new ArrayList<>(this);
+        }
+    }
+
+    /**
+     * Um vetor de elementos e o estado de posse dele: livre para substituições no
+     * próprio vetor, já entregue em algum retrato, ou sendo alterado por uma substituição.
+     */
+    private static final class Generation {
+        private static final int FREE = 0;
+        private static final int HANDED_OUT = 1;
+        private static final int WRITING = 2;
+
+        private final Object[] elements;
+        private final AtomicInteger state = new AtomicInteger(FREE);
+
+        private Generation(Object[] elements) {
+            this.elements = elements;
+        }
+    }
+
+    private Object[] elements;
+    private Generation generation;
+    private volatile Snapshot<T> current;
+    private final ToIntFunction<? super T> key;
+    // Chave -> posição no vetor; só existe quando a lista tem chave
+    private final IntObjectMap<Integer> positions;
+
+    /**
+     * Cria uma lista vazia.
+     */
+    public SnapshotList() {
+        this((ToIntFunction<? super T>) null);
+    }
+
+    /**
+     * Cria uma lista vazia que mantém a posição de cada chave.
+     *
+     * @param key Extrai a chave de um elemento, ou null para uma lista sem chave.
+     */
+    public SnapshotList(ToIntFunction<? super T> key) {
+        publish(new Object[INITIAL_CAPACITY], 0);
+        this.key = key;
+        this.positions = key == null ? null : new IntObjectMap<>();
+    }
+
+    /**
+     * Cria uma lista com os elementos de uma coleção.
+     *
+     * @param source Os elementos iniciais.
+     */
+    public SnapshotList(Collection<? extends T> source) {
+        this(source, null);
+    }
+
+    /**
+     * Cria uma lista com os elementos de uma coleção, que mantém a posição de cada chave.
+     *
+     * @param source Os elementos iniciais.
+     * @param key Extrai a chave de um elemento, ou null para uma lista sem chave.
+     */
+    public SnapshotList(Collection<? extends T> source, ToIntFunction<? super T> key) {
+        publish(Arrays.copyOf(source.toArray(), Math.max(INITIAL_CAPACITY, source.size())), source.size());
+        this.key = key;
+        this.positions = key == null ? null : new IntObjectMap<>(source.size());
+        indexPositions(0, source.size());
+    }
+
+    /**
+     * Retorna o conteúdo atual como uma lista imutável, sem copiar os elementos.
+     * Nunca espera pelas escritas: se uma substituição estiver sendo feita no
+     * vetor atual, tenta de novo com o retrato que ela publica.
+     *
+     * @return O retrato da lista neste momento.
+     */
+    public List<T> snapshot() {
+        while (true) {
+            Snapshot<T> snapshot = current;
+            AtomicInteger state = snapshot.generation.state;
+            int observed = state.get();
+            if (observed == Generation.HANDED_OUT
+                    || (observed == Generation.FREE && state.compareAndSet(Generation.FREE, Generation.HANDED_OUT))) {
+                // Se outro retrato foi publicado antes da posse, este pode não ser mais o estado atual
+                if (current == snapshot) {
+                    return snapshot;
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * @return A quantidade de elementos.
+     */
+    public int size() {
+        return current.size;
+    }
+
+    /**
+     * @return true se a lista estiver vazia.
+     */
+    public boolean isEmpty() {
+        return current.size == 0;
+    }
+
+    /**
+     * @param index A posição.
+     * @return O elemento na posição.
+     */
+    public T get(int index) {
+        return current.get(index);
+    }
+
+    /**
+     * Encontra a posição de um elemento pela sua chave, sem percorrer a lista.
+     *
+     * @param key A chave.
+     * @return A posição do elemento com a chave, ou -1 se não houver.
+     * @throws IllegalStateException se a lista foi criada sem chave.
+     */
+    public int indexOfKey(int key) {
+        if (positions == null) {
+            throw new IllegalStateException("A lista não mantém posições por chave!");
+        }
+        Integer index = positions.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Percorre o retrato atual; alterações feitas durante o percurso não aparecem nele.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * Acrescenta um elemento no fim.
+     *
+     * @param element O elemento.
+     */
+    public synchronized void add(T element) {
+        int size = current.size;
+        Object[] target = size == elements.length ? Arrays.copyOf(elements, size + (size >> 1) + 1) : elements;
+        target[size] = element;
+        publish(target, size + 1);
+        indexPositions(size, size + 1);
+    }
+
+    /**
+     * Acrescenta vários elementos no fim, publicando um único retrato novo.
+     *
+     * @param source Os elementos.
+     */
+    public synchronized void addAll(Collection<? extends T> source) {
+        int size = current.size;
+        int newSize = size + source.size();
+        Object[] target = newSize > elements.length
+                ? Arrays.copyOf(elements, Math.max(newSize, size + (size >> 1) + 1)) : elements;
+        int first = size;
+        for (T element : source) {
+            target[size++] = element;
+        }
+        publish(target, newSize);
+        indexPositions(first, newSize);
+    }
+
+    /**
+     * Substitui o elemento de uma posição pela sua nova versão. Os retratos já
+     * entregues continuam com a versão anterior: se algum deles usa o vetor atual,
+     * a lista passa a usar uma cópia; senão, a troca é feita no próprio vetor.
+     *
+     * @param index A posição.
+     * @param element O novo elemento.
+     */
+    public synchronized void set(int index, T element) {
+        checkIndex(index);
+        Object previous = elements[index];
+        if (previous == element) {
+            return;
+        }
+        int size = current.size;
+        AtomicInteger state = generation.state;
+        if (state.compareAndSet(Generation.FREE, Generation.WRITING)) {
+            // Nenhum retrato deste vetor foi entregue: quem pedir um agora espera o novo
+            elements[index] = element;
+            publish(elements, size);
+            state.set(Generation.FREE);
+        } else {
+            Object[] copy = elements.clone();
+            copy[index] = element;
+            publish(copy, size);
+        }
+        if (positions != null) {
+            positions.remove(keyOf(previous));
+            positions.put(key.applyAsInt(element), index);
+        }
+    }
+
+    /**
+     * Remove o elemento de uma posição.
+     *
+     * @param index A posição.
+     * @return O elemento removido.
+     */
+    public synchronized T remove(int index) {
+        T removed = current.get(index);
+        int size = current.size;
+        Object[] copy = new Object[elements.length];
+        System.arraycopy(elements, 0, copy, 0, index);
+        System.arraycopy(elements, index + 1, copy, index, size - index - 1);
+        publish(copy, size - 1);
+        if (positions != null) {
+            positions.remove(key.applyAsInt(removed));
+            indexPositions(index, size - 1);
+        }
+        return removed;
+    }
+
+    /**
+     * Remove os elementos que atendem ao filtro.
+     *
+     * @param filter O filtro.
+     * @return true se algum elemento foi removido.
+     */
+    public synchronized boolean removeIf(Predicate<? super T> filter) {
+        Snapshot<T> snapshot = current;
+        Object[] copy = new Object[elements.length];
+        int kept = 0;
+        for (T element : snapshot) {
+            if (!filter.test(element)) {
+                copy[kept++] = element;
+            }
+        }
+        if (kept == snapshot.size) {
+            return false;
+        }
+        publish(copy, kept);
+        if (positions != null) {
+            positions.clear();
+            indexPositions(0, kept);
+        }
+        return true;
+    }
+
+    /**
+     * Remove todos os elementos.
+     */
+    public synchronized void clear() {
+        publish(new Object[INITIAL_CAPACITY], 0);
+        if (positions != null) {
+            positions.clear();
+        }
+    }
+
+    /**
+     * Grava a posição das chaves dos elementos entre {@code from} (inclusive) e {@code to}.
+     */
+    private void indexPositions(int from, int to) {
+        if (positions == null) {
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            positions.put(keyOf(elements[i]), i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int keyOf(Object element) {
+        return key.applyAsInt((T) element);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= current.size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora da lista de tamanho " + current.size);
+        }
+    }
+
+    /**
+     * Publica um novo retrato; um vetor diferente do atual começa livre para substituições.
+     */
+    private void publish(Object[] newElements, int size) {
+        if (newElements != elements) {
+            elements = newElements;
+            generation = new Generation(newElements);
+        }
+        current = new Snapshot<>(generation, size);
+    }
+}
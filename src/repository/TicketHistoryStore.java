@@ -0,0 +1,444 @@
+package repository;
+
+import models.Ticket;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Armazenamento colunar, fora do heap, dos tickets de sessões já realizadas.
+ *
+ * Esses tickets não mudam mais e só são lidos por relatórios e consultas. Cada
+ * campo fica em uma coluna própria, um {@link ByteBuffer} direto com um valor
+ * primitivo por ticket: ID, sessão, cliente, preço em centavos, desconto,
+ * método de pagamento, minuto da venda e o código da regra de preço (as regras
+ * se repetem e ficam em um dicionário). O coletor de lixo não percorre esses
+ * dados, e uma varredura de relatório lê apenas as colunas de que precisa, em
+ * memória contígua e sem montar objetos.
+ *
+ * As linhas ficam ordenadas por ID, então a busca de um ticket é uma busca
+ * binária na coluna de IDs; o ticket é montado a partir das colunas a cada
+ * leitura. Acrescentar tickets cria colunas novas, intercaladas por ID, e as
+ * publica de uma vez: leituras em andamento continuam com as colunas
+ * anteriores. O conteúdo é gravado em um arquivo binário próprio, substituído
+ * atomicamente a cada inclusão.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class TicketHistoryStore {
+    private static final int MAGIC = 0x43535448;
+    private static final int FORMAT_VERSION = 1;
+    private static final short NO_RULE = -1;
+    // Bytes por ticket de cada coluna, na ordem de Columns.all()
+    private static final int[] WIDTHS = {Integer.BYTES, Integer.BYTES, Integer.BYTES, Integer.BYTES, Integer.BYTES,
+            Short.BYTES, Byte.BYTES, Short.BYTES};
+
+    /**
+     * Colunas imutáveis depois de publicadas.
+     */
+    private static final class Columns {
+        private final int size;
+        private final ByteBuffer ids;
+        private final ByteBuffer sessionIds;
+        private final ByteBuffer clientIds;
+        private final ByteBuffer priceCents;
+        private final ByteBuffer saleMinutes;
+        private final ByteBuffer discounts;
+        private final ByteBuffer payments;
+        private final ByteBuffer ruleCodes;
+        // Definido antes da publicação das colunas
+        private String[] rules;
+
+        private Columns(int size, String[] rules) {
+            this.size = size;
+            this.ids = column(size, Integer.BYTES);
+            this.sessionIds = column(size, Integer.BYTES);
+            this.clientIds = column(size, Integer.BYTES);
+            this.priceCents = column(size, Integer.BYTES);
+            this.saleMinutes = column(size, Integer.BYTES);
+            this.discounts = column(size, Short.BYTES);
+            this.payments = column(size, Byte.BYTES);
+            this.ruleCodes = column(size, Short.BYTES);
+            this.rules = rules;
+        }
+
+        private ByteBuffer[] all() {
+            return new ByteBuffer[]{ids, sessionIds, clientIds, priceCents, saleMinutes, discounts, payments, ruleCodes};
+        }
+
+        private void copyRow(int row, Columns target, int targetRow) {
+            target.ids.putInt(targetRow * Integer.BYTES, ids.getInt(row * Integer.BYTES));
+            target.sessionIds.putInt(targetRow * Integer.BYTES, sessionIds.getInt(row * Integer.BYTES));
+            target.clientIds.putInt(targetRow * Integer.BYTES, clientIds.getInt(row * Integer.BYTES));
+            target.priceCents.putInt(targetRow * Integer.BYTES, priceCents.getInt(row * Integer.BYTES));
+            target.saleMinutes.putInt(targetRow * Integer.BYTES, saleMinutes.getInt(row * Integer.BYTES));
+            target.discounts.putShort(targetRow * Short.BYTES, discounts.getShort(row * Short.BYTES));
+            target.payments.put(targetRow, payments.get(row));
+            target.ruleCodes.putShort(targetRow * Short.BYTES, ruleCodes.getShort(row * Short.BYTES));
+        }
+
+        private static ByteBuffer column(int size, int width) {
+            return ByteBuffer.allocateDirect(Math.max(1, size * width)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    private final String filePath;
+    private volatile Columns columns = new Columns(0, new String[0]);
+
+    /**
+     * Cria o armazenamento e carrega o arquivo informado, se existir.
+     *
+     * @param filePath Arquivo binário das colunas.
+     */
+    public TicketHistoryStore(String filePath) {
+        this.filePath = filePath;
+        loadFromFile();
+    }
+
+    /**
+     * @return A quantidade de tickets no histórico.
+     */
+    public int size() {
+        return columns.size;
+    }
+
+    /**
+     * @param id O ID do ticket.
+     * @return true se o ticket estiver no histórico.
+     */
+    public boolean contains(int id) {
+        Columns c = columns;
+        return find(c, id) >= 0;
+    }
+
+    /**
+     * Monta o ticket com o ID informado a partir das colunas.
+     *
+     * @param id O ID do ticket.
+     * @return O ticket, ou null se ele não estiver no histórico.
+     */
+    public Ticket get(int id) {
+        Columns c = columns;
+        int row = find(c, id);
+        return row < 0 ? null : ticketAt(c, row);
+    }
+
+    /**
+     * Retorna a lista imutável dos tickets do histórico neste momento, em ordem de ID.
+     * Cada elemento é montado a partir das colunas quando é lido.
+     *
+     * @return Os tickets do histórico.
+     */
+    public List<Ticket> snapshot() {
+        Columns c = columns;
+        return new View(c, null);
+    }
+
+    /**
+     * Lista dos tickets de um conjunto de colunas, montados na leitura: todas as
+     * linhas, ou apenas as linhas informadas.
+     */
+    private static final class View extends AbstractList<Ticket> implements RandomAccess {
+        private final Columns columns;
+        private final int[] rows;
+
+        private View(Columns columns, int[] rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        @Override
+        public Ticket get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora da lista de tamanho " + size());
+            }
+            return ticketAt(columns, rows == null ? index : rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows == null ? columns.size : rows.length;
+        }
+    }
+
+    /**
+     * Retorna os tickets vendidos entre dois minutos (inclusive), em ordem de venda.
+     * A busca percorre apenas a coluna de minutos da venda; os tickets são montados
+     * quando a lista devolvida é lida.
+     *
+     * @param fromMinute Primeiro minuto, contado desde 01/01/1970.
+     * @param toMinute Último minuto, contado desde 01/01/1970.
+     * @return Uma lista imutável com os tickets do período.
+     */
+    public List<Ticket> soldBetween(int fromMinute, int toMinute) {
+        Columns c = columns;
+        // Minuto da venda nos 32 bits altos e linha nos baixos, para ordenar sem objetos
+        long[] matches = new long[16];
+        int count = 0;
+        for (int row = 0; row < c.size; row++) {
+            int minute = c.saleMinutes.getInt(row * Integer.BYTES);
+            if (minute >= fromMinute && minute <= toMinute) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = ((long) minute << 32) | row;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = (int) matches[i];
+        }
+        return new View(c, rows);
+    }
+
+    /**
+     * Percorre as colunas de sessão e cliente, para montar índices sem criar os tickets.
+     *
+     * @param visitor Recebe o ID, a sessão e o cliente de cada ticket.
+     */
+    public void forEachKey(KeyVisitor visitor) {
+        Columns c = columns;
+        for (int row = 0; row < c.size; row++) {
+            int offset = row * Integer.BYTES;
+            visitor.visit(c.ids.getInt(offset), c.sessionIds.getInt(offset), c.clientIds.getInt(offset));
+        }
+    }
+
+    /**
+     * Recebe as chaves de um ticket do histórico.
+     */
+    @FunctionalInterface
+    public interface KeyVisitor {
+        void visit(int ticketId, int sessionId, int clientId);
+    }
+
+    /**
+     * Percorre as colunas de sessão, preço, minuto da venda e pagamento, para
+     * reconstruir agregados sem criar os tickets.
+     *
+     * @param visitor Recebe os dados de venda de cada ticket.
+     */
+    public void forEachSale(SaleVisitor visitor) {
+        Columns c = columns;
+        for (int row = 0; row < c.size; row++) {
+            int offset = row * Integer.BYTES;
+            visitor.visit(c.ids.getInt(offset), c.sessionIds.getInt(offset), c.priceCents.getInt(offset),
+                    c.discounts.getShort(row * Short.BYTES), c.saleMinutes.getInt(offset), c.payments.get(row));
+        }
+    }
+
+    /**
+     * Recebe os dados de venda de um ticket do histórico.
+     */
+    @FunctionalInterface
+    public interface SaleVisitor {
+        /**
+         * @param ticketId ID do ticket.
+         * @param sessionId ID da sessão.
+         * @param priceCents Preço final, em centavos.
+         * @param discountHundredths Desconto aplicado, em centésimos de ponto percentual.
+         * @param saleMinute Minuto da venda, contado desde 01/01/1970.
+         * @param payment Posição do método de pagamento em {@code PaymentMethod}, ou -1 se não houver.
+         */
+        void visit(int ticketId, int sessionId, int priceCents, int discountHundredths, int saleMinute, int payment);
+    }
+
+    /**
+     * Acrescenta tickets ao histórico e grava o arquivo. Tickets que já estão no
+     * histórico são ignorados.
+     *
+     * @param tickets Os tickets a serem guardados.
+     * @throws UncheckedIOException se o arquivo não puder ser gravado; nesse caso o histórico não muda.
+     */
+    public synchronized void addAll(List<Ticket> tickets) {
+        Columns old = columns;
+        List<Ticket> incoming = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            if (find(old, ticket.getId()) < 0) {
+                incoming.add(ticket);
+            }
+        }
+        if (incoming.isEmpty()) {
+            return;
+        }
+        incoming.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+
+        Map<String, Short> codes = new HashMap<>();
+        List<String> rules = new ArrayList<>(Arrays.asList(old.rules));
+        for (int i = 0; i < rules.size(); i++) {
+            codes.put(rules.get(i), (short) i);
+        }
+
+        Columns merged = new Columns(old.size + incoming.size(), null);
+        int oldRow = 0;
+        int next = 0;
+        for (int row = 0; row < merged.size; row++) {
+            boolean takeOld = next == incoming.size()
+                    || (oldRow < old.size && old.ids.getInt(oldRow * Integer.BYTES) < incoming.get(next).getId());
+            if (takeOld) {
+                old.copyRow(oldRow++, merged, row);
+            } else {
+                writeRow(merged, row, incoming.get(next++), codes, rules);
+            }
+        }
+        merged.rules = rules.toArray(new String[0]);
+        try {
+            saveToFile(merged);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o histórico de tickets.", e);
+        }
+        columns = merged;
+    }
+
+    /**
+     * Remove todo o histórico e apaga o arquivo.
+     */
+    public synchronized void clear() {
+        columns = new Columns(0, new String[0]);
+        new File(filePath).delete();
+    }
+
+    private static Ticket ticketAt(Columns c, int row) {
+        int offset = row * Integer.BYTES;
+        short rule = c.ruleCodes.getShort(row * Short.BYTES);
+        return Ticket.restore(c.ids.getInt(offset), c.clientIds.getInt(offset), c.sessionIds.getInt(offset),
+                c.priceCents.getInt(offset), c.discounts.getShort(row * Short.BYTES), c.payments.get(row),
+                c.saleMinutes.getInt(offset), rule == NO_RULE ? null : c.rules[rule]);
+    }
+
+    private static int find(Columns c, int id) {
+        int low = 0;
+        int high = c.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = c.ids.getInt(mid * Integer.BYTES);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeRow(Columns c, int row, Ticket ticket, Map<String, Short> codes, List<String> rules) {
+        int offset = row * Integer.BYTES;
+        c.ids.putInt(offset, ticket.getId());
+        c.sessionIds.putInt(offset, ticket.getSessionId());
+        c.clientIds.putInt(offset, ticket.getClientId());
+        c.priceCents.putInt(offset, ticket.getFinalPriceCents());
+        c.saleMinutes.putInt(offset, ticket.getSaleEpochMinute());
+        c.discounts.putShort(row * Short.BYTES, (short) Math.round(ticket.getDiscount() * 100));
+        c.payments.put(row, ticket.getPaymentMethod() == null ? -1 : (byte) ticket.getPaymentMethod().ordinal());
+        short code = NO_RULE;
+        if (ticket.hasPricingRule()) {
+            code = codes.computeIfAbsent(ticket.getPricingRule(), rule -> {
+                if (rules.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Regras de preço demais no histórico de tickets.");
+                }
+                rules.add(rule);
+                return (short) (rules.size() - 1);
+            });
+        }
+        c.ruleCodes.putShort(row * Short.BYTES, code);
+    }
+
+    /**
+     * Lê o arquivo de colunas direto para os buffers fora do heap.
+     */
+    private void loadFromFile() {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, ByteBuffer.allocate(4 * Integer.BYTES));
+            if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Formato desconhecido.");
+            }
+            int size = header.getInt(8);
+            String[] rules = new String[header.getInt(12)];
+            for (int i = 0; i < rules.length; i++) {
+                int length = readFully(channel, ByteBuffer.allocate(Integer.BYTES)).getInt(0);
+                rules[i] = new String(readFully(channel, ByteBuffer.allocate(length)).array(), StandardCharsets.UTF_8);
+            }
+            Columns loaded = new Columns(size, rules);
+            ByteBuffer[] all = loaded.all();
+            for (int i = 0; i < all.length; i++) {
+                all[i].limit(size * WIDTHS[i]);
+                readFully(channel, all[i]);
+                all[i].clear();
+            }
+            columns = loaded;
+            if (size > 0) {
+                // As linhas estão ordenadas por ID: a última tem o maior
+                Ticket.syncIdGenerator(loaded.ids.getInt((size - 1) * Integer.BYTES));
+            }
+            System.out.println("Histórico de tickets carregado do arquivo: " + filePath + " (" + size + " tickets)");
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar o histórico de tickets: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava as colunas em um arquivo temporário e o troca pelo definitivo.
+     */
+    private void saveToFile(Columns c) throws IOException {
+        new File(filePath).getAbsoluteFile().getParentFile().mkdirs();
+        Path tmp = Paths.get(filePath + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(c.size).putInt(c.rules.length).flip();
+            writeFully(channel, header);
+            for (String rule : c.rules) {
+                byte[] bytes = rule.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+                entry.putInt(bytes.length).put(bytes).flip();
+                writeFully(channel, entry);
+            }
+            ByteBuffer[] all = c.all();
+            for (int i = 0; i < all.length; i++) {
+                ByteBuffer column = all[i].duplicate();
+                column.clear().limit(c.size * WIDTHS[i]);
+                writeFully(channel, column);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Arquivo de histórico incompleto.");
+            }
+        }
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -1,15 +1,31 @@
 package repository;
 
-import controller.business.ClientController;
-import models.Client;
+import enums.RepositoryType;
 import models.Ticket;
 
 import java.io.*;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
 
 /**
  * Repositório para gerenciar os dados dos tickets.
  * Pode operar em modo de memória ou com persistência em arquivo de texto.
+ * Mantém índices por ID do ticket, por sessão, por cliente e por data de venda;
+ * o índice por cliente substitui o antigo histórico de compras guardado dentro
+ * de cada cliente. A lista de tickets e o índice por data de venda entregam
+ * retratos ({@link SnapshotList}), então relatórios leem um estado consistente
+ * enquanto as vendas continuam. Os índices por ID, sessão e cliente usam
+ * chaves {@code int} ({@link IntObjectMap}) e listas de IDs em vetores de
+ * {@code int} ({@link IntList}), sem objetos por entrada.
+ *
+ * Tickets de sessões já realizadas não mudam mais: {@link #archive} os move para
+ * o histórico colunar fora do heap ({@link TicketHistoryStore}), gravado em um
+ * arquivo próprio. Eles continuam nos índices por sessão e por cliente, e as
+ * consultas por ID, as listas e as buscas por período os incluem de forma
+ * transparente; apenas não podem ser alterados nem removidos.
  *
  * @author Vinícius Nunes de Andrade
  * @author Thiago Ferreira Ribeiro
@@ -17,8 +33,15 @@ import java.util.*;
  * @version 3.0
  */
 public class TicketRepository {
-    private List<Ticket> tickets;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private SnapshotList<Ticket> tickets;
+    private final IntObjectMap<Ticket> ticketsById = new IntObjectMap<>();
+    private final IntObjectMap<IntList> ticketIdsBySession = new IntObjectMap<>();
+    private final IntObjectMap<IntList> ticketIdsByClient = new IntObjectMap<>();
+    private final NavigableMap<LocalDate, SnapshotList<Integer>> ticketIdsBySaleDate = new ConcurrentSkipListMap<>();
     private final String FILE_PATH = "data/tickets.ser"; // Arquivo binário
+    private final TicketHistoryStore history = new TicketHistoryStore("data/tickets-history.bin");
 
     /**
      * Construtor do repositório.
@@ -31,41 +54,131 @@ public class TicketRepository {
     /**
      * Carrega a lista de tickets de um arquivo binário.
      * Se o arquivo não existir ou estiver vazio, inicia com uma lista nova.
-     * Também repopula o histórico de compras dos clientes.
+     * Também reconstrói os índices por sessão e por cliente, incluindo os tickets do histórico.
      */
     private void loadFromFile() {
         new File("data").mkdirs();
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            this.tickets = (List<Ticket>) ois.readObject();
+            this.tickets = new SnapshotList<>((List<Ticket>) ois.readObject(), Ticket::getId);
             System.out.println("Tickets carregados do arquivo serializado: " + FILE_PATH);
-            for (Ticket ticket : this.tickets) {
-                Client client = ticket.getClient();
-                if (client != null) {
-                    Client clientFromController = ClientController.getClientById(client.getId());
-                    if (clientFromController != null) {
-                        clientFromController.addTicketToHistory(ticket);
-                    }
-                }
-            }
         } catch (FileNotFoundException | EOFException e) {
-            this.tickets = new LinkedList<>();
+            this.tickets = new SnapshotList<>(Ticket::getId);
             System.out.println("Arquivo de tickets não encontrado ou vazio. Iniciando com repositório novo.");
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Erro crítico ao carregar tickets do arquivo. Iniciando com repositório vazio.");
             e.printStackTrace();
-            this.tickets = new LinkedList<>();
+            this.tickets = new SnapshotList<>(Ticket::getId);
+        }
+        if (history.size() > 0) {
+            // Uma queda no meio de archive() deixa o ticket nos dois arquivos; vale o histórico
+            tickets.removeIf(ticket -> history.contains(ticket.getId()));
+            history.forEachKey(this::indexKeys);
+        }
+        int maxId = 0;
+        for (Ticket ticket : this.tickets) {
+            indexTicket(ticket);
+            maxId = Math.max(maxId, ticket.getId());
+        }
+        // O histórico já acertou o gerador com o maior ID dele; falta o dos tickets atuais
+        Ticket.syncIdGenerator(maxId);
+    }
+
+    /**
+     * Registra o ticket nos índices por ID, sessão, cliente e data de venda.
+     */
+    private void indexTicket(Ticket ticket) {
+        ticketsById.put(ticket.getId(), ticket);
+        indexKeys(ticket.getId(), ticket.getSessionId(), ticket.getClientId());
+        if (ticket.getSessionId() != 0) {
+            ticketIdsBySaleDate.computeIfAbsent(saleDate(ticket), k -> new SnapshotList<>()).add(ticket.getId());
+        }
+    }
+
+    /**
+     * Registra um ID de ticket nos índices por sessão e por cliente.
+     */
+    private void indexKeys(int ticketId, int sessionId, int clientId) {
+        if (sessionId != 0) {
+            ticketIdsBySession.computeIfAbsent(sessionId, k -> new IntList()).add(ticketId);
+        }
+        if (clientId != 0) {
+            ticketIdsByClient.computeIfAbsent(clientId, k -> new IntList()).add(ticketId);
+        }
+    }
+
+    private static LocalDate saleDate(Ticket ticket) {
+        return LocalDate.ofEpochDay(Math.floorDiv(ticket.getSaleEpochMinute(), MINUTES_PER_DAY));
+    }
+
+    /**
+     * Remove o ticket com o ID informado de todos os índices.
+     */
+    private void unindexTicket(int id) {
+        Ticket ticket = ticketsById.remove(id);
+        if (ticket == null) {
+            return;
+        }
+        if (ticket.getSessionId() != 0) {
+            removeFromIndex(ticketIdsBySession, ticket.getSessionId(), id);
+            removeFromSaleDate(ticket);
+        }
+        if (ticket.getClientId() != 0) {
+            removeFromIndex(ticketIdsByClient, ticket.getClientId(), id);
+        }
+    }
+
+    private void removeFromSaleDate(Ticket ticket) {
+        SnapshotList<Integer> sameDay = ticketIdsBySaleDate.get(saleDate(ticket));
+        if (sameDay != null) {
+            sameDay.removeIf(ticketId -> ticketId == ticket.getId());
+            if (sameDay.isEmpty()) {
+                ticketIdsBySaleDate.remove(saleDate(ticket));
+            }
+        }
+    }
+
+    private void removeFromIndex(IntObjectMap<IntList> index, int key, int ticketId) {
+        IntList ids = index.get(key);
+        if (ids != null) {
+            ids.removeValue(ticketId);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
         }
     }
 
     /**
-     * Salva a lista de tickets em memória em um arquivo binário.
+     * Converte uma lista de IDs do índice na lista imutável de tickets correspondente,
+     * em ordem de ID (a ordem de compra), buscando no histórico os que não estão em memória.
+     */
+    private List<Ticket> resolve(IntList index) {
+        if (index == null) {
+            return List.of();
+        }
+        int[] ids = index.toArray();
+        Arrays.sort(ids);
+        Ticket[] result = new Ticket[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = getById(ids[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * Salva a lista de tickets em memória em um arquivo binário
+     * e avisa os ouvintes de {@link RepositoryEvents} da alteração.
+     * Dentro de uma {@link UnitOfWork}, a gravação fica para o commit.
      */
     private void saveToFile() {
+        if (UnitOfWork.defer(FILE_PATH, this.tickets::snapshot, RepositoryType.TICKET)) {
+            return;
+        }
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(this.tickets);
+            oos.writeObject(this.tickets.snapshot());
         } catch (IOException e) {
             System.err.println("Erro ao salvar tickets no arquivo: " + e.getMessage());
         }
+        RepositoryEvents.fire(RepositoryType.TICKET);
     }
 
     /**
@@ -75,22 +188,95 @@ public class TicketRepository {
      */
     public void add(Ticket ticket) {
         tickets.add(ticket);
+        indexTicket(ticket);
         saveToFile();
     }
 
     /**
-     * Busca um ticket pelo ID de forma eficiente.
+     * Busca um ticket pelo ID de forma eficiente, em memória ou no histórico.
      *
      * @param id O ID do ticket a ser buscado.
      * @return O ticket correspondente ao ID ou null se não encontrado.
      */
     public Ticket getById(int id) {
+        Ticket ticket = ticketsById.get(id);
+        return ticket != null ? ticket : history.get(id);
+    }
+
+    /**
+     * @param id O ID do ticket.
+     * @return true se o ticket estiver no histórico de sessões já realizadas.
+     */
+    public boolean isArchived(int id) {
+        return history.contains(id);
+    }
+
+    /**
+     * Move para o histórico colunar os tickets cujas sessões já foram realizadas.
+     * O histórico é gravado antes do arquivo de tickets; se o sistema cair entre
+     * as duas gravações, a próxima carga descarta as cópias repetidas.
+     *
+     * @param finished Diz, pelo ID da sessão, se ela já foi realizada.
+     * @return A quantidade de tickets movidos.
+     */
+    public synchronized int archive(IntPredicate finished) {
+        List<Ticket> done = new ArrayList<>();
         for (Ticket ticket : tickets) {
-            if (ticket.getId() == id) {
-                return ticket;
+            if (ticket.getSessionId() != 0 && finished.test(ticket.getSessionId())) {
+                done.add(ticket);
             }
         }
-        return null;
+        if (done.isEmpty()) {
+            return 0;
+        }
+        history.addAll(done);
+        tickets.removeIf(ticket -> history.contains(ticket.getId()));
+        for (Ticket ticket : done) {
+            ticketsById.remove(ticket.getId());
+            removeFromSaleDate(ticket);
+        }
+        saveToFile();
+        return done.size();
+    }
+
+    /**
+     * Retorna os tickets vendidos para uma sessão.
+     *
+     * @param sessionId O ID da sessão.
+     * @return Uma lista imutável com os tickets da sessão, vazia se não houver nenhum.
+     */
+    public List<Ticket> getBySession(int sessionId) {
+        return resolve(ticketIdsBySession.get(sessionId));
+    }
+
+    /**
+     * Retorna os tickets comprados por um cliente, na ordem de compra.
+     *
+     * @param clientId O ID do cliente.
+     * @return Uma lista imutável com os tickets do cliente, vazia se não houver nenhum.
+     */
+    public List<Ticket> getByClient(int clientId) {
+        return resolve(ticketIdsByClient.get(clientId));
+    }
+
+    /**
+     * Percorre, sem copiar, os tickets vendidos em um período. Primeiro vêm os do
+     * histórico, em ordem de venda, e depois os demais, em ordem de data de venda.
+     * Cada dia é lido pelo seu retrato, então vendas feitas durante o percurso não o
+     * interrompem; tickets cancelados durante o percurso são pulados.
+     *
+     * @param from Primeiro dia do período.
+     * @param to Último dia do período.
+     * @return Uma stream preguiçosa com os tickets do período.
+     */
+    public Stream<Ticket> streamSoldBetween(LocalDate from, LocalDate to) {
+        Stream<Ticket> current = ticketIdsBySaleDate.subMap(from, true, to, true).values().stream()
+                .flatMap(ids -> ids.snapshot().stream())
+                .map(ticketsById::get)
+                .filter(Objects::nonNull);
+        int fromMinute = Math.toIntExact(from.toEpochDay() * MINUTES_PER_DAY);
+        int toMinute = Math.toIntExact((to.toEpochDay() + 1) * MINUTES_PER_DAY - 1);
+        return Stream.concat(history.soldBetween(fromMinute, toMinute).stream(), current);
     }
 
     /**
@@ -100,52 +286,105 @@ public class TicketRepository {
      */
     public void update(int id, Ticket updatedTicket) {
         int index = getIndex(id);
+        if (index == -1 && history.contains(id)) {
+            throw new IllegalArgumentException("O ticket com ID " + id + " é de uma sessão já realizada e não pode ser alterado!");
+        }
         if (index == -1) {
             throw new IllegalArgumentException("Ticket com ID " + id + " não existe!");
         }
         tickets.set(index, updatedTicket);
+        unindexTicket(id);
+        indexTicket(updatedTicket);
         saveToFile();
     }
 
     /**
-     * Método auxiliar para pegar o índice de um certo ticket.
+     * Método auxiliar para pegar o índice de um certo ticket, em tempo constante.
      */
     private int getIndex(int id) {
-        int index = 0;
-        for (Ticket ticket : tickets) {
-            if (ticket.getId() == id) {
-                return index;
-            }
-            index++;
-        }
-        return -1;
+        return tickets.indexOfKey(id);
+    }
+
+    /**
+     * Retorna todos os tickets armazenados no repositório, inclusive os do histórico.
+     *
+     * @return Um retrato imutável dos tickets no momento da chamada (ver {@link #snapshot()}).
+     */
+    public List<Ticket> getAll(){
+        return snapshot();
     }
 
     /**
-     * Retorna todos os tickets armazenados no repositório.
+     * Retorna um retrato imutável dos tickets neste momento, criado em tempo constante:
+     * os do histórico, montados na leitura, seguidos pelos que estão em memória.
+     * Relatórios podem percorrê-lo pelo tempo que precisarem, sem travar as vendas.
      *
-     * @return Uma lista dinâmica contendo todos os tickets.
+     * @return Os tickets cadastrados no momento da chamada.
      */
-    public LinkedList<Ticket> getAll(){
-        return (LinkedList<Ticket>) tickets;
+    public List<Ticket> snapshot(){
+        List<Ticket> archived = history.snapshot();
+        List<Ticket> current = tickets.snapshot();
+        return archived.isEmpty() ? current : new Concatenation(archived, current);
+    }
+
+    /**
+     * Retorna um retrato imutável só dos tickets em memória, os das sessões ainda
+     * não realizadas, sem passar pelo histórico.
+     *
+     * @return Os tickets em memória no momento da chamada.
+     */
+    public List<Ticket> snapshotCurrent(){
+        return tickets.snapshot();
+    }
+
+    /**
+     * Percorre os dados de venda dos tickets do histórico sem montar os tickets.
+     *
+     * @param visitor Recebe os dados de venda de cada ticket do histórico.
+     */
+    public void forEachArchivedSale(TicketHistoryStore.SaleVisitor visitor) {
+        history.forEachSale(visitor);
+    }
+
+    /**
+     * Lista imutável formada por duas listas de acesso por índice, uma após a outra.
+     */
+    private static final class Concatenation extends AbstractList<Ticket> implements RandomAccess {
+        private final List<Ticket> first;
+        private final List<Ticket> second;
+
+        private Concatenation(List<Ticket> first, List<Ticket> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public Ticket get(int index) {
+            return index < first.size() ? first.get(index) : second.get(index - first.size());
+        }
+
+        @Override
+        public int size() {
+            return first.size() + second.size();
+        }
     }
 
     /**
      * Remove um ticket pelo ID de forma eficiente.
+     * Tickets do histórico não são removidos.
      *
      * @param id O ID do ticket a ser removido.
      * @return true se o ticket foi removido com sucesso, false caso contrário.
      */
     public boolean removeById(int id) {
-        Iterator<Ticket> iterator = tickets.iterator();
-        while (iterator.hasNext()) {
-            if (iterator.next().getId() == id) {
-                iterator.remove();
-                saveToFile();
-                return true;
-            }
+        int index = getIndex(id);
+        if (index == -1) {
+            return false;
         }
-        return false;
+        tickets.remove(index);
+        unindexTicket(id);
+        saveToFile();
+        return true;
     }
 
     /**
@@ -153,6 +392,11 @@ public class TicketRepository {
      */
     public void clear() {
         tickets.clear();
+        history.clear();
+        ticketsById.clear();
+        ticketIdsBySession.clear();
+        ticketIdsByClient.clear();
+        ticketIdsBySaleDate.clear();
         saveToFile();
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package repository;
+
+import models.Movie;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Árvore de prefixos (trie) dos títulos de filmes, usada para autocompletar
+ * nos seletores de filme. Os títulos são inseridos já normalizados, então a
+ * busca custa o tamanho do prefixo mais a quantidade de resultados devolvidos.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class TitlePrefixTrie {
+    private final Node root = new Node();
+
+    /**
+     * Nó da árvore. Guarda os filhos por caractere e o filme cujo título termina nele.
+     */
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Movie movie;
+    }
+
+    /**
+     * Insere um filme na árvore usando o título normalizado como chave.
+     *
+     * @param key Título normalizado do filme.
+     * @param movie O filme a ser inserido.
+     */
+    public void insert(String key, Movie movie) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.movie = movie;
+    }
+
+    /**
+     * Remove o filme associado ao título normalizado informado.
+     * Nós que ficarem vazios são descartados.
+     *
+     * @param key Título normalizado do filme.
+     */
+    public void remove(String key) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            path.push(node);
+            node = node.children.get(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+        }
+        node.movie = null;
+
+        // Poda os nós sem filme e sem filhos, do fim do título para o início
+        for (int i = key.length() - 1; i >= 0 && node.movie == null && node.children.isEmpty(); i--) {
+            Node parent = path.pop();
+            parent.children.remove(key.charAt(i));
+            node = parent;
+        }
+    }
+
+    /**
+     * Retorna os filmes cujo título normalizado começa com o prefixo informado.
+     *
+     * @param prefix Prefixo já normalizado.
+     * @param limit Quantidade máxima de filmes retornados.
+     * @return Lista com até {@code limit} filmes, vazia se nenhum título casar.
+     */
+    public List<Movie> startsWith(String prefix, int limit) {
+        List<Movie> result = new ArrayList<>();
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.get(prefix.charAt(i));
+            if (node == null) {
+                return result;
+            }
+        }
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node current = stack.pop();
+            if (current.movie != null) {
+                result.add(current.movie);
+            }
+            for (Node child : current.children.values()) {
+                stack.push(child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove todos os títulos da árvore.
+     */
+    public void clear() {
+        root.children.clear();
+        root.movie = null;
+    }
+}
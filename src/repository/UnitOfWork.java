@@ -0,0 +1,403 @@
+package repository;
+
+import enums.RepositoryType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Unidade de trabalho que torna uma operação de vários passos (como uma venda)
+ * atômica e durável.
+ *
+ * Enquanto a unidade está aberta na thread, os repositórios de tickets, sessões
+ * e clientes não gravam seus arquivos: apenas avisam que mudaram. Arquivos que
+ * só recebem registros no fim, como o extrato de pontos, entregam os bytes a
+ * acrescentar ({@link #deferAppend}), que entram no mesmo commit. Cada passo
+ * registra como desfazer sua alteração em memória ({@link #onRollback}). No
+ * {@link #commit()}, cada arquivo alterado é gravado uma única vez em um arquivo
+ * temporário e, em seguida, um único registro de commit com a lista desses
+ * arquivos é gravado: é ele que decide se a unidade aconteceu. Só então os
+ * temporários substituem os arquivos definitivos. Se o sistema cair no meio da
+ * troca, {@link #recover()} a conclui na próxima inicialização; sem registro de
+ * commit, os temporários são descartados.
+ *
+ * Se a unidade for fechada sem commit, ou se uma exceção escapar de dentro
+ * dela, o registro de desfazer é executado do passo mais novo para o mais
+ * antigo e nada é gravado; os repositórios alterados avisam em
+ * {@link RepositoryEvents} mesmo assim, pois o estado desfeito pode ter sido
+ * lido enquanto estava em memória. Unidades abertas dentro de outra participam
+ * da unidade externa, que é a única a gravar.
+ *
+ * Os temporários e o registro de commit têm nomes fixos, então unidades de
+ * threads diferentes gravam uma de cada vez: a gravação e a troca dos arquivos
+ * acontecem sob uma trava global. O trabalho em memória de cada unidade
+ * continua em paralelo. O conteúdo de cada arquivo é lido do repositório já
+ * dentro da trava, então a última unidade a gravar grava o estado mais novo e
+ * não apaga uma venda confirmada por outra thread nesse meio tempo. Uma unidade
+ * desfeita regrava os arquivos que alterou com o estado restaurado.
+ *
+ * Uso:
+ * <pre>
+ * try (UnitOfWork unit = UnitOfWork.begin()) {
+ *     repository.add(ticket);
+ *     UnitOfWork.onRollback(() -&gt; repository.removeById(ticket.getId()));
+ *     unit.commit();
+ * }
+ * </pre>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class UnitOfWork implements AutoCloseable {
+    private static final String DATA_DIR = "data";
+    private static final String COMMIT_RECORD = DATA_DIR + "/commit.log";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String APPEND_SUFFIX = ".append" + TMP_SUFFIX;
+    // Linha do registro de commit de um arquivo que recebe bytes no fim em vez de ser trocado
+    private static final String APPEND_MARK = "+";
+
+    private static final ThreadLocal<Log> current = new ThreadLocal<>();
+    // Uma unidade por vez grava temporários, registro de commit e troca de arquivos
+    private static final Object COMMIT_LOCK = new Object();
+
+    /**
+     * Estado compartilhado pela unidade externa e pelas unidades internas.
+     */
+    private static final class Log {
+        private final Deque<Runnable> undo = new ArrayDeque<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private final Map<String, Supplier<?>> snapshots = new LinkedHashMap<>();
+        private final Map<String, ByteArrayOutputStream> appends = new LinkedHashMap<>();
+        private final Set<RepositoryType> changed = EnumSet.noneOf(RepositoryType.class);
+        private boolean rollbackOnly;
+    }
+
+    private final Log log;
+    private final boolean outermost;
+    private boolean finished;
+
+    private UnitOfWork(Log log, boolean outermost) {
+        this.log = log;
+        this.outermost = outermost;
+    }
+
+    /**
+     * Abre uma unidade de trabalho na thread atual, ou participa da que já estiver aberta.
+     *
+     * @return A unidade, a ser fechada com try-with-resources.
+     */
+    public static UnitOfWork begin() {
+        Log log = current.get();
+        if (log != null) {
+            return new UnitOfWork(log, false);
+        }
+        log = new Log();
+        current.set(log);
+        return new UnitOfWork(log, true);
+    }
+
+    /**
+     * @return true se houver uma unidade de trabalho aberta na thread atual.
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Registra como desfazer o passo que acabou de ser feito. Sem unidade aberta, não faz nada.
+     *
+     * @param undo Ação que desfaz o passo em memória.
+     */
+    public static void onRollback(Runnable undo) {
+        Log log = current.get();
+        if (log != null) {
+            log.undo.push(undo);
+        }
+    }
+
+    /**
+     * Registra uma ação para depois do commit, como atualizar dados derivados.
+     * Sem unidade aberta, a ação é executada na hora.
+     *
+     * @param action Ação a ser executada.
+     */
+    public static void afterCommit(Runnable action) {
+        Log log = current.get();
+        if (log != null) {
+            log.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Chamado pelos repositórios no lugar de gravar o arquivo. Com uma unidade aberta,
+     * guarda o conteúdo para ser gravado no commit.
+     *
+     * @param path Arquivo do repositório.
+     * @param content Fornece o objeto serializado no arquivo; é lido só na gravação, já com o estado final.
+     * @param source Repositório alterado, avisado em {@link RepositoryEvents} depois do commit.
+     * @return true se a gravação foi adiada; false se o repositório deve gravar agora.
+     */
+    static boolean defer(String path, Supplier<?> content, RepositoryType source) {
+        Log log = current.get();
+        if (log == null) {
+            return false;
+        }
+        log.snapshots.put(path, content);
+        log.changed.add(source);
+        return true;
+    }
+
+    /**
+     * Chamado pelos repositórios que só acrescentam registros no fim do arquivo, no
+     * lugar de gravar. Com uma unidade aberta, guarda os bytes para serem acrescentados
+     * no commit, junto com os demais arquivos da unidade.
+     *
+     * @param path Arquivo do repositório.
+     * @param record Bytes do registro, no formato do arquivo.
+     * @return true se a gravação foi adiada; false se o repositório deve gravar agora.
+     */
+    static boolean deferAppend(String path, byte[] record) {
+        Log log = current.get();
+        if (log == null) {
+            return false;
+        }
+        log.appends.computeIfAbsent(path, k -> new ByteArrayOutputStream()).writeBytes(record);
+        return true;
+    }
+
+    /**
+     * Confirma a unidade. Na unidade externa, grava os arquivos alterados e o registro
+     * de commit e executa as ações de depois do commit; se a gravação falhar, a unidade
+     * é desfeita. Uma ação de depois do commit que falhar é registrada no log de erros
+     * sem impedir as seguintes, pois a unidade já está gravada.
+     *
+     * @throws IllegalStateException se a unidade já foi encerrada ou desfeita por uma unidade interna.
+     * @throws RuntimeException se não foi possível gravar a unidade.
+     */
+    public void commit() {
+        if (finished) {
+            throw new IllegalStateException("A unidade de trabalho já foi encerrada.");
+        }
+        if (log.rollbackOnly) {
+            throw new IllegalStateException("A unidade de trabalho foi desfeita por uma operação interna.");
+        }
+        finished = true;
+        if (!outermost) {
+            return;
+        }
+        Set<RepositoryType> changed = EnumSet.copyOf(log.changed);
+        try {
+            write(log.snapshots, log.appends);
+        } catch (IOException e) {
+            undo();
+            fireChanged(changed);
+            throw new RuntimeException("Erro ao gravar a operação. Nenhuma alteração foi feita.", e);
+        } finally {
+            current.remove();
+        }
+        // A unidade já está gravada: uma falha daqui em diante não pode chegar a quem a confirmou
+        fireChanged(changed);
+        for (Runnable action : log.afterCommit) {
+            runAfterCommit(action);
+        }
+    }
+
+    /**
+     * Avisa os repositórios alterados pela unidade, confirmada ou desfeita: o que foi
+     * calculado a partir do estado em memória durante a unidade não vale mais.
+     */
+    private static void fireChanged(Set<RepositoryType> changed) {
+        for (RepositoryType source : changed) {
+            runAfterCommit(() -> RepositoryEvents.fire(source));
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            System.err.println("Erro ao atualizar dados derivados de uma operação já gravada: " + e);
+        }
+    }
+
+    /**
+     * Desfaz a unidade se ela não foi confirmada. Em uma unidade interna, marca a
+     * unidade externa para ser desfeita.
+     */
+    @Override
+    public void close() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (!outermost) {
+            log.rollbackOnly = true;
+            return;
+        }
+        Set<RepositoryType> changed = EnumSet.copyOf(log.changed);
+        try {
+            undo();
+            // Outra unidade pode ter gravado estes arquivos com as alterações desta ainda em memória
+            write(log.snapshots, Map.of());
+        } catch (IOException e) {
+            System.err.println("Erro ao regravar os arquivos da operação desfeita: " + e.getMessage());
+        } finally {
+            current.remove();
+        }
+        // Um relatório pode ter lido as alterações desfeitas enquanto estavam em memória
+        fireChanged(changed);
+    }
+
+    /**
+     * Executa o registro de desfazer com a unidade ainda aberta, então as gravações
+     * pedidas pelas próprias ações de desfazer não acontecem na hora.
+     */
+    private void undo() {
+        while (!log.undo.isEmpty()) {
+            try {
+                log.undo.pop().run();
+            } catch (RuntimeException e) {
+                System.err.println("Erro ao desfazer passo da operação: " + e.getMessage());
+            }
+        }
+        log.appends.clear();
+        log.changed.clear();
+        log.afterCommit.clear();
+    }
+
+    /**
+     * Grava os temporários e o registro de commit, depois troca os arquivos. Uma falha
+     * antes do registro de commit apaga o que foi gravado; depois dele, a troca é
+     * concluída por {@link #recover()}.
+     */
+    private static void write(Map<String, Supplier<?>> snapshots, Map<String, ByteArrayOutputStream> appends)
+            throws IOException {
+        if (snapshots.isEmpty() && appends.isEmpty()) {
+            return;
+        }
+        synchronized (COMMIT_LOCK) {
+            writeAndPublish(snapshots, appends);
+        }
+    }
+
+    private static void writeAndPublish(Map<String, Supplier<?>> snapshots, Map<String, ByteArrayOutputStream> appends)
+            throws IOException {
+        new File(DATA_DIR).mkdirs();
+        List<String> lines = new ArrayList<>();
+        try {
+            for (Map.Entry<String, Supplier<?>> snapshot : snapshots.entrySet()) {
+                lines.add(snapshot.getKey());
+                try (FileOutputStream fos = new FileOutputStream(snapshot.getKey() + TMP_SUFFIX);
+                     ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(fos))) {
+                    oos.writeObject(snapshot.getValue().get());
+                    oos.flush();
+                    fos.getFD().sync();
+                }
+            }
+            for (Map.Entry<String, ByteArrayOutputStream> append : appends.entrySet()) {
+                lines.add(APPEND_MARK + append.getKey());
+                try (FileOutputStream fos = new FileOutputStream(append.getKey() + APPEND_SUFFIX)) {
+                    append.getValue().writeTo(fos);
+                    fos.getFD().sync();
+                }
+            }
+            // Ponto de commit: a partir daqui a unidade é concluída, mesmo após uma queda
+            try (FileOutputStream fos = new FileOutputStream(COMMIT_RECORD)) {
+                fos.write(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+                fos.getFD().sync();
+            }
+        } catch (IOException e) {
+            new File(COMMIT_RECORD).delete();
+            for (String line : lines) {
+                new File(line.startsWith(APPEND_MARK)
+                        ? line.substring(APPEND_MARK.length()) + APPEND_SUFFIX : line + TMP_SUFFIX).delete();
+            }
+            throw e;
+        }
+
+        try {
+            publish(lines);
+        } catch (IOException e) {
+            System.err.println("Erro ao trocar arquivos da operação; ela será concluída na próxima inicialização: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Troca cada arquivo pelo seu temporário, acrescenta os registros pendentes no fim
+     * dos arquivos que só crescem e apaga o registro de commit. Se uma queda interromper
+     * um acréscimo depois de gravado e antes de apagado o temporário, ele é repetido na
+     * recuperação: o repositório dono do arquivo descarta o registro repetido ao ler.
+     */
+    private static void publish(List<String> lines) throws IOException {
+        for (String line : lines) {
+            if (line.startsWith(APPEND_MARK)) {
+                String path = line.substring(APPEND_MARK.length());
+                Path tmp = Paths.get(path + APPEND_SUFFIX);
+                if (Files.exists(tmp)) {
+                    try (FileOutputStream fos = new FileOutputStream(path, true)) {
+                        fos.write(Files.readAllBytes(tmp));
+                        fos.getFD().sync();
+                    }
+                    Files.delete(tmp);
+                }
+                continue;
+            }
+            Path tmp = Paths.get(line + TMP_SUFFIX);
+            if (Files.exists(tmp)) {
+                Files.move(tmp, Paths.get(line), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        Files.deleteIfExists(Paths.get(COMMIT_RECORD));
+    }
+
+    /**
+     * Conclui uma unidade confirmada antes de uma queda e descarta temporários de
+     * unidades não confirmadas. Deve ser chamado no início da aplicação, antes de
+     * carregar os repositórios.
+     */
+    public static void recover() {
+        synchronized (COMMIT_LOCK) {
+            recoverRecord();
+        }
+    }
+
+    private static void recoverRecord() {
+        File record = new File(COMMIT_RECORD);
+        try {
+            if (record.exists()) {
+                List<String> lines = new ArrayList<>();
+                for (String line : Files.readAllLines(record.toPath(), StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        lines.add(line.trim());
+                    }
+                }
+                publish(lines);
+                System.out.println("Operação interrompida concluída a partir do registro de commit.");
+            }
+            File[] leftovers = new File(DATA_DIR).listFiles((dir, name) -> name.endsWith(TMP_SUFFIX));
+            if (leftovers != null) {
+                for (File tmp : leftovers) {
+                    tmp.delete();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao recuperar operação interrompida: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package services;
+
+import controller.business.ClientController;
+import controller.business.MovieController;
+import controller.business.RoomController;
+import controller.business.SessionController;
+import models.Client;
+import models.Movie;
+import models.Room;
+import models.Session;
+import repository.MovieRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Classe de serviço que importa clientes, filmes e sessões em lote a partir de arquivos CSV
+ * separados por ';', com uma linha de cabeçalho.
+ *
+ * As linhas são lidas e validadas em paralelo, com as mesmas regras do cadastro
+ * individual. Depois, em uma única passada sequencial, são verificadas as
+ * duplicidades (contra o repositório e dentro do próprio arquivo) e os conflitos
+ * de horário; as linhas aceitas são gravadas de uma vez só, então o arquivo do
+ * repositório é reescrito uma única vez por importação. As linhas rejeitadas
+ * aparecem no relatório com o número da linha e o motivo.
+ *
+ * Colunas esperadas:
+ * <ul>
+ *     <li>clientes: nome;cpf;email;nascimento (dd-MM-yyyy)</li>
+ *     <li>filmes: titulo;genero;duracao;classificacao;sinopse</li>
+ *     <li>sessões: data (dd-MM-yyyy);horario (HH:mm);sala;filme_id;valor</li>
+ * </ul>
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class BulkImportService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Resultado de uma importação: quantos registros entraram e os erros por linha.
+     */
+    public static class ImportReport {
+        private final int imported;
+        private final List<String> errors;
+
+        public ImportReport(int imported, List<String> errors) {
+            this.imported = imported;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * @return quantidade de registros cadastrados.
+         */
+        public int getImported() {
+            return imported;
+        }
+
+        /**
+         * @return mensagens das linhas rejeitadas, no formato "Linha N: motivo".
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Linha do arquivo já convertida, ou o erro que impediu a conversão.
+     */
+    private static final class Row<T> {
+        private final int line;
+        private final T value;
+        private final String error;
+
+        private Row(int line, T value, String error) {
+            this.line = line;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    private static final class ClientRow {
+        private final String name;
+        private final String cpf;
+        private final String email;
+        private final LocalDate birthday;
+
+        private ClientRow(String name, String cpf, String email, LocalDate birthday) {
+            this.name = name;
+            this.cpf = cpf;
+            this.email = email;
+            this.birthday = birthday;
+        }
+    }
+
+    private static final class SessionRow {
+        private final LocalDate date;
+        private final LocalTime time;
+        private final int roomId;
+        private final int movieId;
+        private final double ticketValue;
+
+        private SessionRow(LocalDate date, LocalTime time, int roomId, int movieId, double ticketValue) {
+            this.date = date;
+            this.time = time;
+            this.roomId = roomId;
+            this.movieId = movieId;
+            this.ticketValue = ticketValue;
+        }
+    }
+
+    /**
+     * Importa clientes de um arquivo CSV.
+     *
+     * @param input arquivo de origem.
+     * @return o resultado da importação.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public ImportReport importClients(Path input) throws IOException {
+        List<Row<ClientRow>> rows = parse(input, 4, fields -> {
+            ClientService.validateClientData(fields[0], fields[1], fields[2], fields[3]);
+            return new ClientRow(fields[0], fields[1], fields[2], LocalDate.parse(fields[3], DATE_FORMAT));
+        });
+
+        List<String> errors = new ArrayList<>();
+        List<Client> accepted = new ArrayList<>();
+        Set<String> cpfs = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Row<ClientRow> row : rows) {
+            if (row.error != null) {
+                errors.add(message(row.line, row.error));
+                continue;
+            }
+            ClientRow data = row.value;
+            try {
+                ClientController.validateUnique(data.cpf, data.email);
+                if (!cpfs.add(data.cpf)) {
+                    throw new IllegalArgumentException("CPF repetido no arquivo!");
+                }
+                if (!emails.add(data.email)) {
+                    cpfs.remove(data.cpf);
+                    throw new IllegalArgumentException("Email repetido no arquivo!");
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(message(row.line, e.getMessage()));
+                continue;
+            }
+            accepted.add(new Client(data.name, data.email, data.cpf, data.birthday));
+        }
+
+        ClientController.addClients(accepted);
+        return new ImportReport(accepted.size(), errors);
+    }
+
+    /**
+     * Importa filmes de um arquivo CSV. Títulos já cadastrados são rejeitados.
+     *
+     * @param input arquivo de origem.
+     * @return o resultado da importação.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public ImportReport importMovies(Path input) throws IOException {
+        List<Row<String[]>> rows = parse(input, 5, fields -> {
+            MovieService.validateMovieData(fields[0], parseInt(fields[2], "Duração"));
+            return fields;
+        });
+
+        List<String> errors = new ArrayList<>();
+        List<Movie> accepted = new ArrayList<>();
+        Set<String> titles = new HashSet<>();
+        for (Row<String[]> row : rows) {
+            if (row.error != null) {
+                errors.add(message(row.line, row.error));
+                continue;
+            }
+            String[] fields = row.value;
+            if (MovieController.getMovieByName(fields[0]) != null
+                    || !titles.add(MovieRepository.normalizeTitle(fields[0]))) {
+                errors.add(message(row.line, "Já existe um filme com o título " + fields[0] + "!"));
+                continue;
+            }
+            accepted.add(new Movie(fields[0], fields[1], Integer.parseInt(fields[2].trim()), fields[3], fields[4]));
+        }
+
+        MovieController.addMovies(accepted);
+        return new ImportReport(accepted.size(), errors);
+    }
+
+    /**
+     * Importa sessões de um arquivo CSV. Sessões que conflitam com a grade atual
+     * ou com outra linha do arquivo são rejeitadas.
+     *
+     * @param input arquivo de origem.
+     * @return o resultado da importação.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public ImportReport importSessions(Path input) throws IOException {
+        List<Row<SessionRow>> rows = parse(input, 5, fields -> new SessionRow(
+                LocalDate.parse(fields[0], DATE_FORMAT),
+                LocalTime.parse(fields[1], TIME_FORMAT),
+                parseInt(fields[2], "Sala"),
+                parseInt(fields[3], "Filme"),
+                parseDouble(fields[4])));
+
+        // Erros indexados pela linha, para o relatório sair na ordem do arquivo
+        Map<Integer, String> errors = new TreeMap<>();
+        List<Integer> lines = new ArrayList<>();
+        List<Session> candidates = new ArrayList<>();
+        for (Row<SessionRow> row : rows) {
+            if (row.error != null) {
+                errors.put(row.line, message(row.line, row.error));
+                continue;
+            }
+            SessionRow data = row.value;
+            try {
+                Room room = RoomController.getRoomById(data.roomId);
+                Movie movie = MovieController.getMovieById(data.movieId);
+                SessionService.validateSessionData(data.date, room, movie, data.ticketValue);
+                candidates.add(new Session(data.date, data.time, room, movie, data.ticketValue));
+                lines.add(row.line);
+            } catch (RuntimeException | IllegalAccessError e) {
+                errors.put(row.line, message(row.line, e.getMessage()));
+            }
+        }
+
+        List<String> conflicts = SessionController.checkTimetable(candidates);
+        List<Session> accepted = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (conflicts.get(i) != null) {
+                errors.put(lines.get(i), message(lines.get(i), conflicts.get(i)));
+            } else {
+                accepted.add(candidates.get(i));
+            }
+        }
+
+        SessionController.addSessions(accepted);
+        return new ImportReport(accepted.size(), new ArrayList<>(errors.values()));
+    }
+
+    /**
+     * Lê o arquivo e converte as linhas em paralelo, mantendo a ordem original.
+     * A primeira linha é o cabeçalho; linhas em branco são ignoradas.
+     */
+    private <T> List<Row<T>> parse(Path input, int columns, Function<String[], T> converter) throws IOException {
+        List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8);
+        return IntStream.range(1, lines.size())
+                .parallel()
+                .filter(i -> !lines.get(i).isBlank())
+                .mapToObj(i -> {
+                    int lineNumber = i + 1;
+                    try {
+                        String[] fields = split(lines.get(i));
+                        if (fields.length != columns) {
+                            return new Row<T>(lineNumber, null,
+                                    "esperadas " + columns + " colunas, encontradas " + fields.length);
+                        }
+                        return new Row<>(lineNumber, converter.apply(fields), null);
+                    } catch (DateTimeParseException e) {
+                        return new Row<T>(lineNumber, null, "data ou horário inválido: " + e.getParsedString());
+                    } catch (RuntimeException | IllegalAccessError e) {
+                        return new Row<T>(lineNumber, null, e.getMessage());
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Separa os campos de uma linha CSV com ';', aceitando campos entre aspas.
+     */
+    private static String[] split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ';') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " inválido: " + value);
+        }
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value.trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor do ingresso inválido: " + value);
+        }
+    }
+
+    private static String message(int line, String error) {
+        return "Linha " + line + ": " + error;
+    }
+}
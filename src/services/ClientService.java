@@ -1,12 +1,17 @@
 package services;
 
 import java.time.LocalDate;
-import java.util.LinkedList;
+import java.util.EnumSet;
 import java.util.List;
 
+import controller.business.LoyaltyController;
+import controller.business.ReportCacheController;
+import controller.business.TicketController;
+import enums.RepositoryType;
 import models.Client;
 import models.Ticket;
 import repository.ClientRepository;
+import repository.UnitOfWork;
 import exceptions.*;
 
 /**
@@ -35,9 +40,31 @@ public class ClientService {
      * @param birthday Data de nascimento (não pode ser nula e deve ser no passado e
      *                 no formato dd-mm-yyyy).
      * @return Uma string falando que o cliente foi adicionado.
-     * @throws IllegalArgumentException se algum dado estiver inválido.
+     * @throws IllegalArgumentException se algum dado estiver inválido ou se o CPF/email já estiver cadastrado.
      */
     public String addClient(String name, String cpf, String email, String birthday) {
+        validateClientData(name, cpf, email, birthday);
+
+        // Verifica duplicidade antes de criar o objeto para não consumir um ID à toa
+        clientRepository.validateUnique(cpf, email, 0);
+
+        LocalDate birthDateParsed = LocalDate.parse(birthday, java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+        clientRepository.add(new Client(name, email, cpf, birthDateParsed));
+
+        return "Cliente registrado com sucesso!";
+    }
+
+    /**
+     * Verifica os dados de um cliente com as regras de cadastro, sem consultar o repositório.
+     * Usado no cadastro, na alteração e na importação em lote.
+     *
+     * @param name     Nome do cliente.
+     * @param cpf      CPF do cliente.
+     * @param email    Email do cliente.
+     * @param birthday Data de nascimento no formato dd-mm-yyyy.
+     * @throws IllegalArgumentException se algum dado estiver inválido.
+     */
+    public static void validateClientData(String name, String cpf, String email, String birthday) {
         if (name == null || birthday == null || email == null || cpf == null) {
             throw new IllegalArgumentException("Nome, data de nascimento e email não podem ser nulos.");
         } else if (name.isEmpty() || birthday.isEmpty() || email.isEmpty()) {
@@ -49,19 +76,35 @@ public class ClientService {
         } else if (!cpf.contains(".")&&!cpf.contains("-")) {
             throw new IllegalArgumentException("Cpf inválido");
         }
+    }
 
-        LocalDate birthDateParsed = LocalDate.parse(birthday, java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-        clientRepository.add(new Client(name, email, cpf, birthDateParsed));
+    /**
+     * Verifica se o CPF e o email ainda não pertencem a nenhum cliente cadastrado.
+     *
+     * @param cpf   CPF do novo cliente.
+     * @param email Email do novo cliente.
+     * @throws IllegalArgumentException se o CPF ou o email já estiverem cadastrados.
+     */
+    public void validateUnique(String cpf, String email) {
+        clientRepository.validateUnique(cpf, email, 0);
+    }
 
-        return "Cliente registrado com sucesso!";
+    /**
+     * Adiciona vários clientes já validados de uma vez, gravando o arquivo uma única vez.
+     *
+     * @param newClients Os clientes a serem adicionados.
+     * @throws IllegalArgumentException se algum CPF ou email já estiver cadastrado (nada é adicionado).
+     */
+    public void addClients(List<Client> newClients) {
+        clientRepository.addAll(newClients);
     }
 
     /**
      * Retorna todos os clientes cadastrados.
      *
-     * @return Uma LinkedList contendo todos os clientes.
+     * @return Um retrato imutável dos clientes.
      */
-    public LinkedList<Client> getAllClients() {
+    public List<Client> getAllClients() {
         return clientRepository.getAll();
     }
 
@@ -74,32 +117,51 @@ public class ClientService {
      * @param email    Email do cliente (não pode ser vazio).
      * @param birthday Data de nascimento (não pode ser nula e deve ser no passado e
      *                 no formato dd-mm-yyyy).
-     * @throws IllegalArgumentException se algum dado estiver inválido.
+     * @throws IllegalArgumentException se algum dado estiver inválido ou se o CPF/email pertencer a outro cliente.
      * @return Uma string falando que o cliente foi atualizado.
      */
     public String updateClient(int id, String name, String cpf, String email, String birthday) {
         Client client = clientRepository.getById(id);
         if (client == null)
             throw new IllegalArgumentException("O cliente selecionado não existe!");
-        if (name == null || birthday == null || email == null) {
-            throw new IllegalArgumentException("Nome, data de nascimento e email não podem ser nulos.");
-        } else if (name.isEmpty() || birthday.isEmpty() || email.isEmpty()) {
-            throw new IllegalArgumentException("Nome, data de nascimento e email não podem ser vazios.");
-        } else if (!email.contains("@")) {
-            throw new IllegalArgumentException("Email inválido.");
-        } else if (!birthday.matches("\\d{2}-\\d{2}-\\d{4}")) {
-            throw new IllegalArgumentException("Data de nascimento deve estar no formato dd-mm-yyyy.");
-        } else if (!cpf.contains(".") && !cpf.contains("-")) {
-            throw new IllegalArgumentException("Cpf inválido");
-        }
+        return updateClient(id, client.getVersion(), name, cpf, email, birthday);
+    }
+
+    /**
+     * Atualiza um cliente aberto para edição na versão {@code expectedVersion}.
+     * Se outro terminal salvou o cliente nesse meio tempo, a alteração é recusada.
+     *
+     * @param id              do cliente a ser atualizado
+     * @param expectedVersion Versão do cliente quando a edição começou ({@link Client#getVersion()}).
+     * @param name            Nome do cliente (não pode ser vazio).
+     * @param cpf             CPF do cliente (não pode ser vazio).
+     * @param email           Email do cliente (não pode ser vazio).
+     * @param birthday        Data de nascimento no formato dd-mm-yyyy.
+     * @throws IllegalArgumentException se algum dado estiver inválido ou se o CPF/email pertencer a outro cliente.
+     * @throws ConcurrentUpdateException se o cliente foi alterado depois de aberto para edição.
+     * @return Uma string falando que o cliente foi atualizado.
+     */
+    public synchronized String updateClient(int id, int expectedVersion, String name, String cpf, String email, String birthday) {
+        Client client = clientRepository.getById(id);
+        if (client == null)
+            throw new IllegalArgumentException("O cliente selecionado não existe!");
+        if (client.getVersion() != expectedVersion)
+            throw new ConcurrentUpdateException("cliente", id);
+        validateClientData(name, cpf, email, birthday);
+
+        clientRepository.validateUnique(cpf, email, id);
 
         LocalDate birthDateParsed = LocalDate.parse(birthday, java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+        String oldCpf = client.getCpf();
+        String oldEmail = client.getEmail();
 
         // Atualizando o próprio objeto:
         client.setName(name);
         client.setEmail(email);
         client.setBirthday(birthDateParsed);
         client.setCpf(cpf);
+        client.incrementVersion();
+        clientRepository.update(client, oldCpf, oldEmail);
 
         return "Cliente atualizado com sucesso!";
     }
@@ -141,37 +203,73 @@ public class ClientService {
     }
 
     /**
-     * Adiciona um ticket ao histórico de compras de um cliente.
+     * Busca um cliente pelo ID sem validar, para quem só precisa saber se ele existe.
      *
-     * @param clientId ID do cliente que está comprando.
-     * @param ticket   O objeto Ticket a ser adicionado.
-     * @throws IllegalArgumentException se o cliente não existir ou se o ticket for nulo.
+     * @param id ID do cliente.
+     * @return O cliente encontrado, ou null se não existir.
      */
-    public void addTicketToClient(int clientId, Ticket ticket) {
-        if (ticket == null) {
-            throw new IllegalArgumentException("O ticket não pode ser nulo!");
+    public Client findClientById(int id) {
+        return clientRepository.getById(id);
+    }
+
+    /**
+     * Busca um cliente pelo CPF, aceitando o número com ou sem pontuação.
+     *
+     * @param cpf CPF do cliente.
+     * @return O cliente encontrado.
+     * @throws IllegalArgumentException se o CPF for vazio ou nenhum cliente possuir esse CPF.
+     */
+    public Client getClientByCpf(String cpf) {
+        if (cpf == null || cpf.isBlank()) {
+            throw new IllegalArgumentException("O CPF não pode ser vazio!");
         }
-        Client client = getClientById(clientId);
-        client.addTicketToHistory(ticket);
+
+        Client client = clientRepository.getByCpf(cpf);
+        if (client == null) {
+            throw new IllegalArgumentException("Nenhum cliente encontrado com o CPF " + cpf);
+        }
+        return client;
     }
 
     /**
-     * Retorna o histórico de compras de um cliente específico.
+     * Busca um cliente pelo email, sem diferenciar maiúsculas e minúsculas.
+     *
+     * @param email Email do cliente.
+     * @return O cliente encontrado.
+     * @throws IllegalArgumentException se o email for vazio ou nenhum cliente possuir esse email.
+     */
+    public Client getClientByEmail(String email) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("O email não pode ser vazio!");
+        }
+
+        Client client = clientRepository.getByEmail(email);
+        if (client == null) {
+            throw new IllegalArgumentException("Nenhum cliente encontrado com o email " + email);
+        }
+        return client;
+    }
+
+    /**
+     * Retorna o histórico de compras de um cliente específico,
+     * consultado no índice de tickets por cliente e guardado no cache de relatórios.
      *
      * @param clientId ID do cliente.
-     * @return Uma List de Tickets do cliente.
+     * @return Uma lista imutável com os tickets do cliente, compartilhada com o cache sem cópia.
      * @throws IllegalArgumentException se o ID for inválido ou cliente não existir.
      */
-    public LinkedList<Ticket> getClientHistory(int clientId) {
-        Client client = getClientById(clientId);
-        return client.getPurchasingHistory();
+    public List<Ticket> getClientHistory(int clientId) {
+        getClientById(clientId);
+        return ReportCacheController.get("clientHistory",
+                EnumSet.of(RepositoryType.CLIENT, RepositoryType.TICKET),
+                () -> TicketController.getTicketsByClient(clientId), clientId);
     }
 
     /**
-     * Calcula o desconto para o cliente com base nos pontos acumulados.
+     * Calcula o desconto para o cliente com base no saldo do extrato de pontos.
      * 
      * Regra de exemplo:
-     *  - Cada 10 pontos equivalem a 1% de desconto.
+     *  - Cada 10 pontos equivalem a 1% de desconto, proporcionalmente (15 pontos = 1,5%).
      *  - Máximo de 20% de desconto, independente dos pontos.
      *
      * @param clientId ID do cliente que receberá o desconto.
@@ -179,26 +277,9 @@ public class ClientService {
      * @throws IllegalArgumentException se o ID for inválido ou o cliente não existir.
      */
     public double calculateDiscount(int clientId){
-        //Verificações básicas
-        if (clientId <= 0) {
-            throw new IllegalArgumentException("O ID do cliente deve ser maior que zero!");
-        }
-        Client client = clientRepository.getById(clientId);
-        if (client == null) {
-            throw new IllegalArgumentException("Cliente não encontrado com ID " + clientId);
-        }
-
-        //Pegando os pontos acumulados
-        int pontos = client.getPoints();
-
-        //Converte os pontos em porcentagem de desconto (10 pontos = 1% de desconto)
-        double desconto = pontos/10;
-
-        //Teto máximo de 20% de desconto
-        if (desconto > 20.0) {
-            desconto = 20.0;
-        }
-
+        Client client = requireClient(clientId);
+        double desconto = LoyaltyController.calculateDiscount(clientId);
+        client.setPoints(LoyaltyController.getBalance(clientId));
         return desconto;
     }
 
@@ -206,15 +287,43 @@ public class ClientService {
      * Registra os pontos de fidelidade para o cliente ao comprar um novo ticket.
      * 
      * Regra de exemplo:
-     *  - A cada ticket comprado, o cliente ganha 5 pontos.
-     *  - Esse método deve ser chamado sempre que um novo ticket for adicionado ao histórico.
+     *  - A cada ticket comprado, o cliente ganha 5 pontos, lançados no extrato.
+     *  - Esse método deve ser chamado sempre que um novo ticket for vendido.
      *
      * @param clientId ID do cliente que está comprando o ticket.
      * @param ticket   O objeto Ticket que acaba de ser comprado.
      * @throws IllegalArgumentException se o ID for inválido ou o cliente não existir.
      */
     public void registerPoints(int clientId, Ticket ticket){
-        //Verificações básicas
+        Client client = requireClient(clientId);
+
+        if (ticket == null) {
+            throw new IllegalArgumentException("O ticket não pode ser nulo!");
+        }
+
+        // Registrado antes do lançamento: desfeito depois dele, devolve o saldo anterior
+        UnitOfWork.onRollback(() -> client.setPoints(LoyaltyController.getBalance(clientId)));
+        LoyaltyController.earn(clientId, ticket);
+        client.setPoints(LoyaltyController.getBalance(clientId));
+    }
+
+    /**
+     * Estorna os pontos que um ticket cancelado gerou para o cliente.
+     *
+     * @param ticket O ticket cancelado.
+     */
+    public void reversePoints(Ticket ticket) {
+        Client client = clientRepository.getById(ticket.getClientId());
+        if (client != null) {
+            UnitOfWork.onRollback(() -> client.setPoints(LoyaltyController.getBalance(client.getId())));
+        }
+        LoyaltyController.reverse(ticket);
+        if (client != null) {
+            client.setPoints(LoyaltyController.getBalance(client.getId()));
+        }
+    }
+
+    private Client requireClient(int clientId) {
         if (clientId <= 0) {
             throw new IllegalArgumentException("O ID do cliente deve ser maior que zero!");
         }
@@ -222,16 +331,7 @@ public class ClientService {
         if (client == null) {
             throw new IllegalArgumentException("Cliente não encontrado com ID " + clientId);
         }
-
-        boolean insertTicket = client.addTicketToHistory(ticket);
-        if (!insertTicket) {
-            // Se falhar ao inserir no histórico, aborta e não dá pontos
-            throw new RuntimeException("Falha ao adicionar ticket ao histórico do cliente.");
-        }
-
-        //Regra de ganhar 5 pontos por ticket
-        int pontosGanhos = 5;
-        client.addPoints(pontosGanhos);
+        return client;
     }
 
     /**
@@ -242,55 +342,18 @@ public class ClientService {
     }
 
     /**
-     * Remove um ticket específico do histórico de compras de um cliente.
-     *
-     * @param clientId O ID do cliente.
-     * @param ticketToRemove O objeto Ticket a ser removido.
-     */
-    public void removeTicketFromHistory(int clientId, Ticket ticketToRemove) {
-        // Reutiliza o método getClientById para encontrar o cliente e validar o ID
-        Client client = getClientById(clientId);
-
-        if (ticketToRemove == null) {
-            throw new IllegalArgumentException("O ticket a ser removido não pode ser nulo.");
-        }
-
-        List<Ticket> history = client.getPurchasingHistory();
-        int indexToRemove = -1;
-        boolean removed = false;
-
-        // 1. Encontra o índice do ticket que queremos remover
-        for (int i = 0; i < history.size(); i++) {
-            // Compara o ticket na lista com o ticket que queremos remover.
-            // Isso depende de um método .equals() bem definido na sua classe Ticket.
-            if (history.get(i).equals(ticketToRemove)) {
-                indexToRemove = i;
-                break; // Encontrou o ticket, pode parar o loop
-            }
-        }
-
-        // 2. Se o ticket foi encontrado (índice é válido), remove pelo índice
-        if (indexToRemove != -1) {
-            history.remove(indexToRemove); // Usa o método de remover por índice que já existe
-            removed = true;
-        }
-
-        if (!removed) {
-            System.err.println("Aviso: O ticket com ID " + ticketToRemove.getId() + " não foi encontrado no histórico do cliente " + clientId);
-        }
-    }
-
-    /**
-     * Subtrai uma quantidade de pontos de fidelidade de um cliente.
+     * Subtrai uma quantidade de pontos de fidelidade de um cliente,
+     * lançando um resgate no extrato.
      *
      * @param clientId O ID do cliente.
      * @param pointsToRemove A quantidade de pontos a ser subtraída.
+     * @throws IllegalArgumentException se a quantidade não for positiva ou passar do saldo.
      */
     public void removePoints(int clientId, int pointsToRemove) {
         // Encontra o cliente (a validação já está em getClientById)
         Client client = getClientById(clientId);
 
-        // DELEGA a responsabilidade de remover os pontos para o próprio objeto Client
-        client.removePoints(pointsToRemove);
+        LoyaltyController.redeem(clientId, pointsToRemove, "Resgate de pontos");
+        client.setPoints(LoyaltyController.getBalance(clientId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,305 @@
+package services;
+
+import controller.business.ClientController;
+import controller.business.SessionController;
+import controller.business.TicketController;
+import enums.ExportFormat;
+import models.Client;
+import models.Movie;
+import models.Room;
+import models.Session;
+import models.Ticket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Classe de serviço que exporta tickets, sessões e clientes para arquivos CSV ou JSON.
+ *
+ * Os registros são lidos um a um dos índices dos repositórios (nada é copiado
+ * para listas intermediárias), formatados em um único {@link StringBuilder}
+ * reaproveitado e codificados direto em um buffer de 64 KB, gravado no
+ * {@link FileChannel} quando enche. Assim a memória usada não depende da
+ * quantidade de registros exportados.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] TICKET_HEADER = {
+            "id", "data_venda", "cliente_id", "cliente", "sessao_id", "filme", "sala",
+            "data_sessao", "horario", "pagamento", "desconto", "valor", "regra_preco"
+    };
+    private static final String[] SESSION_HEADER = {
+            "id", "data", "horario", "filme_id", "filme", "sala", "assentos_disponiveis", "valor_ingresso"
+    };
+    private static final String[] CLIENT_HEADER = {
+            "id", "nome", "cpf", "email", "nascimento", "pontos"
+    };
+
+    /**
+     * Exporta os tickets vendidos em um período, em ordem de data de venda.
+     *
+     * @param output arquivo de destino.
+     * @param format formato do arquivo.
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return quantidade de tickets exportados.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public long exportTickets(Path output, ExportFormat format, LocalDate from, LocalDate to) throws IOException {
+        validatePeriod(from, to);
+        try (RecordWriter writer = new RecordWriter(output, format, TICKET_HEADER);
+             Stream<Ticket> tickets = TicketController.streamTicketsSoldBetween(from, to)) {
+            tickets.forEach(ticket -> {
+                // Cliente e sessão são buscados pelo ID e podem ter sido removidos do cadastro;
+                // sessões arquivadas podem estar sem filme ou sala
+                Client client = ticket.getClient();
+                Session session = ticket.getSession();
+                Movie movie = session == null ? null : session.getMovie();
+                Room room = session == null ? null : session.getRoom();
+                writer.write(
+                        ticket.getId(),
+                        ticket.getSaleDateTime().withNano(0).toString(),
+                        ticket.getClientId() == 0 ? null : ticket.getClientId(),
+                        client == null ? null : client.getName(),
+                        ticket.getSessionId(),
+                        movie == null ? null : movie.getTitle(),
+                        room == null ? null : room.getId(),
+                        session == null ? null : session.getDate(),
+                        session == null ? null : session.getTime(),
+                        String.valueOf(ticket.getPaymentMethod()),
+                        ticket.getDiscount(),
+                        ticket.getFinalPrice(),
+                        ticket.getPricingRule());
+            });
+            return writer.getCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Exporta as sessões de um período, em ordem de data.
+     *
+     * @param output arquivo de destino.
+     * @param format formato do arquivo.
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return quantidade de sessões exportadas.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public long exportSessions(Path output, ExportFormat format, LocalDate from, LocalDate to) throws IOException {
+        validatePeriod(from, to);
+        try (RecordWriter writer = new RecordWriter(output, format, SESSION_HEADER);
+             Stream<Session> sessions = SessionController.streamSessionsBetween(from, to)) {
+            sessions.forEach(session -> writer.write(
+                    session.getId(),
+                    session.getDate(),
+                    session.getTime(),
+                    session.getMovie() == null ? null : session.getMovie().getId(),
+                    session.getMovie() == null ? null : session.getMovie().getTitle(),
+                    session.getRoom() == null ? null : session.getRoom().getId(),
+                    session.getTotalAvailableSeats(),
+                    session.getTicketValue()));
+            return writer.getCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Exporta todos os clientes.
+     *
+     * @param output arquivo de destino.
+     * @param format formato do arquivo.
+     * @return quantidade de clientes exportados.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public long exportClients(Path output, ExportFormat format) throws IOException {
+        try (RecordWriter writer = new RecordWriter(output, format, CLIENT_HEADER)) {
+            for (Client client : ClientController.getAllClients()) {
+                writer.write(client.getId(), client.getName(), client.getCpf(), client.getEmail(),
+                        client.getBirthday(), client.getPoints());
+            }
+            return writer.getCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Informe o período da exportação!");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final!");
+        }
+    }
+
+    /**
+     * Grava registros em CSV ou JSON através de um buffer de tamanho fixo.
+     */
+    private static final class RecordWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final StringBuilder line = new StringBuilder(256);
+        private final ExportFormat format;
+        private final String[] header;
+        private long count;
+
+        private RecordWriter(Path output, ExportFormat format, String[] header) throws IOException {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.format = format;
+            this.header = header;
+
+            line.setLength(0);
+            if (format == ExportFormat.CSV) {
+                line.append(String.join(";", header)).append('\n');
+            } else {
+                line.append('[');
+            }
+            emit();
+        }
+
+        /**
+         * Grava um registro com os valores na ordem do cabeçalho.
+         */
+        private void write(Object... values) {
+            line.setLength(0);
+            if (format == ExportFormat.CSV) {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(';');
+                    }
+                    appendCsv(values[i]);
+                }
+                line.append('\n');
+            } else {
+                line.append(count == 0 ? "\n  {" : ",\n  {");
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(", ");
+                    }
+                    appendJsonString(header[i]);
+                    line.append(": ");
+                    appendJson(values[i]);
+                }
+                line.append('}');
+            }
+            try {
+                emit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = format(value);
+            if (text.indexOf(';') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(text);
+            }
+        }
+
+        private void appendJson(Object value) {
+            if (value == null) {
+                line.append("null");
+            } else if (value instanceof Number) {
+                line.append(format(value));
+            } else {
+                appendJsonString(value.toString());
+            }
+        }
+
+        private void appendJsonString(String text) {
+            line.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"': line.append("\\\""); break;
+                    case '\\': line.append("\\\\"); break;
+                    case '\n': line.append("\\n"); break;
+                    case '\r': line.append("\\r"); break;
+                    case '\t': line.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                }
+            }
+            line.append('"');
+        }
+
+        private static String format(Object value) {
+            if (value instanceof Double || value instanceof Float) {
+                return String.format(Locale.ROOT, "%.2f", ((Number) value).doubleValue());
+            }
+            return value.toString();
+        }
+
+        /**
+         * Codifica a linha atual no buffer, gravando o buffer no canal sempre que ele enche.
+         */
+        private void emit() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (encoder.encode(chars, buffer, true).isOverflow()) {
+                drain();
+            }
+            encoder.reset();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (format == ExportFormat.JSON) {
+                    line.setLength(0);
+                    line.append(count == 0 ? "]\n" : "\n]\n");
+                    emit();
+                }
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package services;
+
+import enums.LoyaltyEntryType;
+import models.Client;
+import models.LoyaltyEntry;
+import models.Ticket;
+import repository.LoyaltyLedgerRepository;
+import repository.UnitOfWork;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe de serviço do programa de fidelidade.
+ *
+ * Os pontos ficam em um extrato que só recebe lançamentos novos (acúmulo,
+ * resgate, expiração e estorno). O saldo de cada cliente é mantido pelo
+ * repositório a cada lançamento, então consultar o saldo ou o desconto durante
+ * uma venda custa tempo constante. O cancelamento de um ingresso estorna
+ * exatamente os lançamentos feitos por ele.
+ *
+ * Os pontos ganhos valem {@link #VALIDITY_MONTHS} meses. Os resgates e expirações
+ * consomem primeiro os pontos mais antigos, então o que expira é a parte ainda
+ * não usada dos lotes vencidos. A expiração é verificada quando o saldo é
+ * consultado e o vencimento mais próximo do cliente já passou.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class LoyaltyService {
+
+    /**
+     * Pontos ganhos por ingresso comprado.
+     */
+    public static final int POINTS_PER_TICKET = 5;
+
+    /**
+     * Pontos equivalentes a 1% de desconto.
+     */
+    public static final int POINTS_PER_PERCENT = 10;
+
+    /**
+     * Desconto máximo, em porcentagem.
+     */
+    public static final double MAX_DISCOUNT = 20.0;
+
+    /**
+     * Validade dos pontos ganhos, em meses.
+     */
+    public static final int VALIDITY_MONTHS = 12;
+
+    private final LoyaltyLedgerRepository ledger;
+    // Vencimento mais próximo ainda não processado de cada cliente
+    private final Map<Integer, LocalDateTime> nextExpiry = new HashMap<>();
+
+    /**
+     * Construtor do LoyaltyService.
+     *
+     * @param ledger O repositório do extrato de pontos.
+     */
+    public LoyaltyService(LoyaltyLedgerRepository ledger) {
+        this.ledger = ledger;
+        // Lotes vencidos com o sistema fechado são processados na primeira consulta do saldo
+        for (int clientId : ledger.getClientIds()) {
+            updateNextExpiry(clientId, null);
+        }
+    }
+
+    /**
+     * Sincroniza os clientes com o extrato. Clientes com pontos de antes do extrato
+     * recebem um lançamento de saldo inicial; depois, os pontos de cada cliente
+     * passam a refletir o saldo do extrato.
+     *
+     * @param clients Todos os clientes cadastrados.
+     */
+    public synchronized void initialize(List<Client> clients) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Client client : clients) {
+            if (ledger.getByClient(client.getId()).isEmpty() && client.getPoints() > 0) {
+                append(client.getId(), 0, LoyaltyEntryType.EARN, client.getPoints(), now,
+                        now.plusMonths(VALIDITY_MONTHS), "Saldo inicial");
+            }
+            client.setPoints(getBalance(client.getId()));
+        }
+    }
+
+    /**
+     * Credita os pontos de um ingresso comprado.
+     *
+     * @param clientId O ID do cliente.
+     * @param ticket O ticket comprado.
+     * @return O lançamento criado.
+     * @throws IllegalArgumentException se o ticket for nulo.
+     */
+    public synchronized LoyaltyEntry earn(int clientId, Ticket ticket) {
+        if (ticket == null) {
+            throw new IllegalArgumentException("O ticket não pode ser nulo!");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LoyaltyEntry entry = append(clientId, ticket.getId(), LoyaltyEntryType.EARN, POINTS_PER_TICKET, now,
+                now.plusMonths(VALIDITY_MONTHS), "Compra do ingresso " + ticket.getId());
+        nextExpiry.merge(clientId, entry.getExpiresAt(), (a, b) -> a.isBefore(b) ? a : b);
+        return entry;
+    }
+
+    /**
+     * Debita pontos do cliente.
+     *
+     * @param clientId O ID do cliente.
+     * @param points Quantidade de pontos.
+     * @param description Motivo do resgate.
+     * @return O lançamento criado.
+     * @throws IllegalArgumentException se a quantidade não for positiva ou passar do saldo.
+     */
+    public synchronized LoyaltyEntry redeem(int clientId, int points, String description) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("A quantidade de pontos deve ser maior que zero!");
+        }
+        if (points > getBalance(clientId)) {
+            throw new IllegalArgumentException("Saldo de pontos insuficiente!");
+        }
+        return append(clientId, 0, LoyaltyEntryType.REDEEM, -points, LocalDateTime.now(), null, description);
+    }
+
+    /**
+     * Estorna todos os lançamentos feitos por um ingresso cancelado.
+     * Um ingresso já estornado não é estornado de novo.
+     *
+     * @param ticket O ticket cancelado.
+     * @return O lançamento de estorno, ou {@code null} se não houver nada a estornar.
+     */
+    public synchronized LoyaltyEntry reverse(Ticket ticket) {
+        int total = 0;
+        for (LoyaltyEntry entry : ledger.getByTicket(ticket.getId())) {
+            if (entry.getType() == LoyaltyEntryType.REVERSE) {
+                return null;
+            }
+            total += entry.getPoints();
+        }
+        if (total == 0 || ticket.getClientId() == 0) {
+            return null;
+        }
+        LoyaltyEntry entry = append(ticket.getClientId(), ticket.getId(), LoyaltyEntryType.REVERSE, -total,
+                LocalDateTime.now(), null, "Cancelamento do ingresso " + ticket.getId());
+        updateNextExpiry(entry.getClientId(), LocalDateTime.now());
+        return entry;
+    }
+
+    /**
+     * Retorna o saldo de pontos do cliente, processando antes os pontos vencidos.
+     *
+     * @param clientId O ID do cliente.
+     * @return O saldo (nunca negativo).
+     */
+    public synchronized int getBalance(int clientId) {
+        LocalDateTime expiry = nextExpiry.get(clientId);
+        if (expiry != null && !expiry.isAfter(LocalDateTime.now())) {
+            expire(clientId, LocalDateTime.now());
+        }
+        return Math.max(0, ledger.getBalance(clientId));
+    }
+
+    /**
+     * Calcula o desconto do cliente: cada {@link #POINTS_PER_PERCENT} pontos valem 1%,
+     * proporcionalmente, até {@link #MAX_DISCOUNT}.
+     *
+     * @param clientId O ID do cliente.
+     * @return O desconto em porcentagem, entre 0.0 e {@link #MAX_DISCOUNT}.
+     */
+    public double calculateDiscount(int clientId) {
+        return Math.min(MAX_DISCOUNT, getBalance(clientId) / (double) POINTS_PER_PERCENT);
+    }
+
+    /**
+     * @param clientId O ID do cliente.
+     * @return O extrato do cliente, do lançamento mais antigo para o mais novo.
+     */
+    public synchronized List<LoyaltyEntry> getStatement(int clientId) {
+        getBalance(clientId);
+        return ledger.getByClient(clientId);
+    }
+
+    /**
+     * Lança a expiração da parte não usada dos lotes vencidos até {@code now}.
+     * Os débitos (resgates e expirações anteriores) consomem primeiro os lotes mais antigos.
+     */
+    private void expire(int clientId, LocalDateTime now) {
+        int expiredLots = 0;
+        int debits = 0;
+        for (LoyaltyEntry entry : ledger.getByClient(clientId)) {
+            if (entry.getTicketId() > 0 && isReversed(entry.getTicketId())) {
+                continue;
+            }
+            if (entry.getType() == LoyaltyEntryType.EARN) {
+                if (!entry.getExpiresAt().isAfter(now)) {
+                    expiredLots += entry.getPoints();
+                }
+            } else if (entry.getType() != LoyaltyEntryType.REVERSE) {
+                debits -= entry.getPoints();
+            }
+        }
+        int toExpire = Math.min(expiredLots - debits, ledger.getBalance(clientId));
+        if (toExpire > 0) {
+            append(clientId, 0, LoyaltyEntryType.EXPIRE, -toExpire, now, null, "Pontos vencidos");
+        }
+        updateNextExpiry(clientId, now);
+    }
+
+    private boolean isReversed(int ticketId) {
+        for (LoyaltyEntry entry : ledger.getByTicket(ticketId)) {
+            if (entry.getType() == LoyaltyEntryType.REVERSE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Guarda o vencimento mais próximo entre os lotes não estornados que vencem depois
+     * de {@code after} (ou entre todos, se {@code after} for {@code null}).
+     */
+    private void updateNextExpiry(int clientId, LocalDateTime after) {
+        LocalDateTime next = null;
+        for (LoyaltyEntry entry : ledger.getByClient(clientId)) {
+            if (entry.getType() == LoyaltyEntryType.EARN && (after == null || entry.getExpiresAt().isAfter(after))
+                    && (entry.getTicketId() == 0 || !isReversed(entry.getTicketId()))
+                    && (next == null || entry.getExpiresAt().isBefore(next))) {
+                next = entry.getExpiresAt();
+            }
+        }
+        if (next == null) {
+            nextExpiry.remove(clientId);
+        } else {
+            nextExpiry.put(clientId, next);
+        }
+    }
+
+    private LoyaltyEntry append(int clientId, int ticketId, LoyaltyEntryType type, int points,
+                                LocalDateTime createdAt, LocalDateTime expiresAt, String description) {
+        LoyaltyEntry entry = new LoyaltyEntry(ledger.nextId(), clientId, ticketId, type, points,
+                createdAt, expiresAt, description);
+        ledger.append(entry);
+        UnitOfWork.onRollback(() -> {
+            synchronized (LoyaltyService.this) {
+                ledger.remove(entry);
+                updateNextExpiry(clientId, null);
+            }
+        });
+        return entry;
+    }
+}
@@ -4,7 +4,9 @@ import controller.business.SessionController;
 import models.Movie;
 import models.Session;
 import repository.MovieRepository;
+import repository.MovieSearchIndex;
 
+import java.time.LocalDateTime;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -33,20 +35,11 @@ public class MovieService {
      * @return true se o filme foi adicionado com sucesso, ou false se já existe um filme com o mesmo título ou com duração menor que zero
      */
     public String addMovie(String title, String genre, int duration, String classification, String synopsis) {
-        //Verificações básicas
-        if (title == null || title.isBlank()) {
-            throw new IllegalAccessError("O título do filme não pode ser vazio!");
-        }
-        if (duration <= 0) {
-            throw new IllegalArgumentException("A duração do filme deve ser maior que zero!");
-        }
+        validateMovieData(title, duration);
 
         //Verifica se já existe um filme com o mesmo título
-        List<Movie> existingMovies = movieRepository.getAll();
-        for (int i = 0; i < existingMovies.size(); i++) {
-            if (existingMovies.get(i).getTitle().equalsIgnoreCase(title)) {
-                return "Filme não foi adicionado."; //Indica filme duplicado
-            }
+        if (movieRepository.getMovieByName(title) != null) {
+            return "Filme não foi adicionado."; //Indica filme duplicado
         }
 
         //Cria o filme e envia para o Repository
@@ -55,6 +48,33 @@ public class MovieService {
         return "Filme adicionado com sucesso!";
     }
 
+    /**
+     * Verifica os dados de um filme com as regras de cadastro, sem consultar o repositório.
+     * Usado no cadastro, na alteração e na importação em lote.
+     *
+     * @param title    título do filme
+     * @param duration duração do filme
+     * @throws IllegalAccessError       se o título estiver vazio.
+     * @throws IllegalArgumentException se a duração não for positiva.
+     */
+    public static void validateMovieData(String title, int duration) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalAccessError("O título do filme não pode ser vazio!");
+        }
+        if (duration <= 0) {
+            throw new IllegalArgumentException("A duração do filme deve ser maior que zero!");
+        }
+    }
+
+    /**
+     * Adiciona vários filmes já validados de uma vez, gravando o arquivo uma única vez.
+     *
+     * @param newMovies filmes a serem adicionados
+     */
+    public void addMovies(List<Movie> newMovies) {
+        movieRepository.addAll(newMovies);
+    }
+
     /**
      * Método que atualiza um certo filme
      *
@@ -65,18 +85,17 @@ public class MovieService {
      * @param classification classificação indicativa do filme atualizado
      * @param synopsis       sinopse do filme atualizado
      * @return {@code Filme adicionado com sucesso} se o filme for adicionado
+     * @throws IllegalArgumentException se outro filme já possuir o novo título.
      */
     public String updateMovie(int id, String title, String genre, int duration, String classification, String synopsis) {
         Movie movie = getMovieById(id);
         if (movie == null)
             throw new IllegalAccessError("O id do filme não existe!");
 
-        //Verificações básicas
-        if (title == null || title.isBlank()) {
-            throw new IllegalAccessError("O título do filme não pode ser vazio!");
-        }
-        if (duration <= 0) {
-            throw new IllegalArgumentException("A duração do filme deve ser maior que zero!");
+        validateMovieData(title, duration);
+        Movie sameTitle = movieRepository.getMovieByName(title);
+        if (sameTitle != null && sameTitle.getId() != id) {
+            throw new IllegalArgumentException("Já existe um filme com o título " + title + "!");
         }
 
         movie.setClassification(classification);
@@ -84,6 +103,7 @@ public class MovieService {
         movie.setGenre(genre);
         movie.setSynopsis(synopsis);
         movie.setTitle(title);
+        movieRepository.update(id, movie);
         return "Filme adicionado com sucesso!";
     }
 
@@ -92,7 +112,7 @@ public class MovieService {
      *
      * @return Lista de filmes.
      */
-    public LinkedList<Movie> getAllMovies() {
+    public List<Movie> getAllMovies() {
         return movieRepository.getAll();
     }
 
@@ -117,18 +137,37 @@ public class MovieService {
         return movieRepository.getById(id);
     }
 
+    /**
+     * Procura um filme pelo ID sem lançar erro quando ele não existe,
+     * para quem precisa lidar com filmes já removidos.
+     *
+     * @param id O ID do filme.
+     * @return O filme encontrado ou null caso o ID seja inválido ou não exista.
+     */
+    public Movie findMovieById(int id) {
+        return id <= 0 ? null : movieRepository.getById(id);
+    }
+
     /**
      * Remove o filme pelo ID fornecido.
      *
      * @param id O ID do filme.
      * @return true se o filme foi removido, false se não foi encontrado.
-     * @throws IllegalArgumentException se o ID for menor ou igual a zero.
+     * @throws IllegalArgumentException se o ID for menor ou igual a zero ou se o filme
+     *                                  ainda tiver sessões que não começaram.
      */
     public boolean removeMovieById(int id) {
         if (id <= 0) {
             throw new IllegalArgumentException("O ID deve ser maior que zero!");
         }
 
+        LocalDateTime now = LocalDateTime.now();
+        for (Session session : SessionController.getSessionsByMovie(id)) {
+            if (session.getStartDateTime().isAfter(now)) {
+                throw new IllegalArgumentException("O filme possui sessões futuras e não pode ser excluído!");
+            }
+        }
+
         boolean removed = movieRepository.removeById(id);
         if (!removed) {
             throw new RuntimeException("Nenhum filme encontrado com o ID" + id);
@@ -147,28 +186,46 @@ public class MovieService {
         return movieRepository.getMovieByName(name);
     }
 
+    /**
+     * Retorna os filmes cujo título começa com o texto digitado, para autocompletar.
+     *
+     * @param prefix início do título
+     * @param limit quantidade máxima de sugestões
+     * @return lista de filmes sugeridos, vazia se o prefixo for nulo ou em branco
+     */
+    public List<Movie> getMoviesByTitlePrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return new LinkedList<>();
+        }
+        return movieRepository.getMoviesByTitlePrefix(prefix, limit);
+    }
+
+    /**
+     * Busca filmes por palavras-chave (ex.: "animação", "terror 18") no título,
+     * gênero, classificação e sinopse, do mais para o menos relevante.
+     *
+     * @param query palavras-chave digitadas
+     * @return lista de filmes encontrados, ou todos os filmes se a busca não tiver
+     *         nenhuma palavra-chave (vazia, só pontuação ou só palavras como "o" e "de")
+     */
+    public List<Movie> searchMovies(String query) {
+        if (MovieSearchIndex.tokenize(query).isEmpty()) {
+            return movieRepository.getAll();
+        }
+        return movieRepository.search(query);
+    }
+
     /**
      * Retorna uma lista de sessões que irão passar um certo filme
      *
      * @param id id do filme a ser pesquisado
      * @return lista de sessões que irão passar o filme fornecido
      */
-    public LinkedList<Session> getSessionsByMovie(int id) {
+    public List<Session> getSessionsByMovie(int id) {
         Movie movie = getMovieById(id);
         if (movie == null)
             throw new IllegalAccessError("O id do filme não existe!");
-        List<Session> sessions = SessionController.getAllSessions();
-        LinkedList<Session> sessionsWithMovie = new LinkedList<>();
-        for (Session session : sessions) {
-            try {
-                if (session.getMovie() == movie) {
-                    sessionsWithMovie.add(session);
-                }
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
-            }
-        }
-        return sessionsWithMovie;
+        return SessionController.getSessionsByMovie(movie.getId());
     }
 
     /**
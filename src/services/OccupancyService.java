@@ -0,0 +1,306 @@
+package services;
+
+import models.Session;
+import models.Ticket;
+import repository.SessionArchive;
+import repository.TicketHistoryStore;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Classe de serviço que mantém os agregados de ocupação do cinema.
+ * Os contadores de assentos vendidos, assentos oferecidos e receita são
+ * atualizados a cada venda, cancelamento e alteração de sessão, agrupados por
+ * sala, filme, filme dentro da sala, dia e sessão. Assim as telas de relatório
+ * leem números prontos em vez de recalcular a ocupação a cada consulta.
+ *
+ * Os contadores usam {@link LongAdder} e {@link DoubleAdder}, então vendas
+ * simultâneas em terminais diferentes não perdem atualizações.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class OccupancyService {
+
+    /**
+     * Contadores de ocupação de um agrupamento (sala, filme, dia ou sessão).
+     */
+    public static class Stats {
+        private final LongAdder sold = new LongAdder();
+        private final LongAdder offered = new LongAdder();
+        private final LongAdder sessions = new LongAdder();
+        private final DoubleAdder revenue = new DoubleAdder();
+
+        /**
+         * @return quantidade de assentos vendidos.
+         */
+        public long getSold() {
+            return sold.sum();
+        }
+
+        /**
+         * @return quantidade de assentos oferecidos (soma da capacidade das sessões).
+         */
+        public long getOffered() {
+            return offered.sum();
+        }
+
+        /**
+         * @return quantidade de sessões agregadas.
+         */
+        public long getSessions() {
+            return sessions.sum();
+        }
+
+        /**
+         * @return receita total dos ingressos vendidos.
+         */
+        public double getRevenue() {
+            return revenue.sum();
+        }
+
+        /**
+         * @return ocupação em porcentagem (0 a 100), ou 0 se nenhum assento foi oferecido.
+         */
+        public double getOccupancy() {
+            long totalOffered = getOffered();
+            return totalOffered > 0 ? (getSold() * 100.0) / totalOffered : 0.0;
+        }
+
+        private void add(long soldDelta, long offeredDelta, long sessionsDelta, double revenueDelta) {
+            sold.add(soldDelta);
+            offered.add(offeredDelta);
+            sessions.add(sessionsDelta);
+            revenue.add(revenueDelta);
+        }
+    }
+
+    /**
+     * Estado de uma sessão: os contadores e as chaves em que ela está agregada.
+     */
+    private static class SessionEntry {
+        private final Stats stats = new Stats();
+        private int roomId;
+        private int movieId;
+        private LocalDate day;
+    }
+
+    private final Map<Integer, SessionEntry> bySession = new ConcurrentHashMap<>();
+    private final Map<Integer, Stats> byRoom = new ConcurrentHashMap<>();
+    private final Map<Integer, Stats> byMovie = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Integer, Stats>> byRoomAndMovie = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Stats> byDay = new ConcurrentHashMap<>();
+
+    /**
+     * Reconstrói todos os agregados a partir das sessões e tickets existentes.
+     * Os assentos vendidos de cada sessão vêm da diferença entre a capacidade da
+     * sala e os assentos disponíveis; a receita vem dos tickets. As sessões já
+     * realizadas entram pelo resumo do índice do arquivo de sessões e a sua receita
+     * pela coluna de preços do histórico de tickets, sem ler os segmentos mensais
+     * nem montar os tickets arquivados.
+     *
+     * @param sessions as sessões ainda não realizadas.
+     * @param tickets os tickets dessas sessões.
+     * @param archivedSessions percorre o resumo das sessões arquivadas.
+     * @param archivedSales percorre os dados de venda dos tickets do histórico.
+     */
+    public synchronized void rebuild(List<Session> sessions, List<Ticket> tickets,
+                                     Consumer<SessionArchive.SummaryVisitor> archivedSessions,
+                                     Consumer<TicketHistoryStore.SaleVisitor> archivedSales) {
+        bySession.clear();
+        byRoom.clear();
+        byMovie.clear();
+        byRoomAndMovie.clear();
+        byDay.clear();
+
+        for (Session session : sessions) {
+            registerSession(session);
+            int alreadySold = session.getRoom().getTotalSeat() - session.getTotalAvailableSeats();
+            if (alreadySold > 0) {
+                apply(bySession.get(session.getId()), alreadySold, 0, 0, 0.0);
+            }
+        }
+        for (Ticket ticket : tickets) {
+            SessionEntry entry = bySession.get(ticket.getSessionId());
+            if (entry != null) {
+                apply(entry, 0, 0, 0, ticket.getFinalPrice());
+            }
+        }
+
+        archivedSessions.accept((sessionId, roomId, movieId, epochDay, startMinute, capacity, sold) -> {
+            SessionEntry entry = new SessionEntry();
+            entry.roomId = roomId;
+            entry.movieId = movieId;
+            entry.day = LocalDate.ofEpochDay(epochDay);
+            if (bySession.putIfAbsent(sessionId, entry) == null) {
+                apply(entry, sold, capacity, 1, 0.0);
+            }
+        });
+        archivedSales.accept((ticketId, sessionId, priceCents, discountHundredths, saleMinute, payment) -> {
+            SessionEntry entry = bySession.get(sessionId);
+            if (entry != null) {
+                apply(entry, 0, 0, 0, priceCents / 100.0);
+            }
+        });
+    }
+
+    /**
+     * Registra uma nova sessão, somando a capacidade da sala aos assentos oferecidos.
+     *
+     * @param session a sessão cadastrada.
+     */
+    public void registerSession(Session session) {
+        SessionEntry entry = new SessionEntry();
+        entry.roomId = session.getRoom().getId();
+        entry.movieId = session.getMovie().getId();
+        entry.day = session.getStartDateTime().toLocalDate();
+        if (bySession.putIfAbsent(session.getId(), entry) == null) {
+            apply(entry, 0, session.getRoom().getTotalSeat(), 1, 0.0);
+        }
+    }
+
+    /**
+     * Remove uma sessão e tudo o que ela somava nos agregados.
+     *
+     * @param sessionId ID da sessão removida.
+     */
+    public void unregisterSession(int sessionId) {
+        SessionEntry entry = bySession.remove(sessionId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            Stats s = entry.stats;
+            addToGroups(entry, -s.getSold(), -s.getOffered(), -s.getSessions(), -s.getRevenue());
+        }
+    }
+
+    /**
+     * Move os números de uma sessão alterada (sala, filme ou data) para os novos agrupamentos.
+     *
+     * @param session a sessão com os dados já alterados.
+     */
+    public void updateSession(Session session) {
+        SessionEntry entry = bySession.get(session.getId());
+        if (entry == null) {
+            registerSession(session);
+            return;
+        }
+        synchronized (entry) {
+            Stats s = entry.stats;
+            long sold = s.getSold();
+            long offered = s.getOffered();
+            long count = s.getSessions();
+            double revenue = s.getRevenue();
+            addToGroups(entry, -sold, -offered, -count, -revenue);
+
+            entry.roomId = session.getRoom().getId();
+            entry.movieId = session.getMovie().getId();
+            entry.day = session.getStartDateTime().toLocalDate();
+            long newOffered = session.getRoom().getTotalSeat();
+            entry.stats.add(0, newOffered - offered, 0, 0.0);
+            addToGroups(entry, sold, newOffered, count, revenue);
+        }
+    }
+
+    /**
+     * Contabiliza a venda de um ingresso.
+     *
+     * @param ticket o ticket vendido.
+     */
+    public void registerSale(Ticket ticket) {
+        SessionEntry entry = bySession.get(ticket.getSessionId());
+        if (entry != null) {
+            apply(entry, 1, 0, 0, ticket.getFinalPrice());
+        }
+    }
+
+    /**
+     * Desfaz a contabilização de um ingresso cancelado.
+     *
+     * @param ticket o ticket cancelado.
+     */
+    public void registerCancellation(Ticket ticket) {
+        SessionEntry entry = bySession.get(ticket.getSessionId());
+        if (entry != null) {
+            apply(entry, -1, 0, 0, -ticket.getFinalPrice());
+        }
+    }
+
+    private void apply(SessionEntry entry, long sold, long offered, long sessions, double revenue) {
+        synchronized (entry) {
+            entry.stats.add(sold, offered, sessions, revenue);
+            addToGroups(entry, sold, offered, sessions, revenue);
+        }
+    }
+
+    private void addToGroups(SessionEntry entry, long sold, long offered, long sessions, double revenue) {
+        byRoom.computeIfAbsent(entry.roomId, k -> new Stats()).add(sold, offered, sessions, revenue);
+        byMovie.computeIfAbsent(entry.movieId, k -> new Stats()).add(sold, offered, sessions, revenue);
+        byDay.computeIfAbsent(entry.day, k -> new Stats()).add(sold, offered, sessions, revenue);
+        byRoomAndMovie.computeIfAbsent(entry.roomId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entry.movieId, k -> new Stats())
+                .add(sold, offered, sessions, revenue);
+    }
+
+    /**
+     * @param sessionId ID da sessão.
+     * @return os contadores da sessão (zerados se ela não existir).
+     */
+    public Stats getSessionStats(int sessionId) {
+        SessionEntry entry = bySession.get(sessionId);
+        return entry == null ? new Stats() : entry.stats;
+    }
+
+    /**
+     * @param roomId ID da sala.
+     * @return os contadores da sala (zerados se ela não tiver sessões).
+     */
+    public Stats getRoomStats(int roomId) {
+        return byRoom.getOrDefault(roomId, new Stats());
+    }
+
+    /**
+     * @param movieId ID do filme.
+     * @return os contadores do filme (zerados se ele não tiver sessões).
+     */
+    public Stats getMovieStats(int movieId) {
+        return byMovie.getOrDefault(movieId, new Stats());
+    }
+
+    /**
+     * @param day dia desejado.
+     * @return os contadores das sessões do dia (zerados se não houver sessões).
+     */
+    public Stats getDayStats(LocalDate day) {
+        return byDay.getOrDefault(day, new Stats());
+    }
+
+    /**
+     * Retorna os contadores de cada filme exibido em uma sala.
+     *
+     * @param roomId ID da sala.
+     * @return mapa ID do filme -> contadores, sem os filmes que não têm mais sessões na sala.
+     */
+    public Map<Integer, Stats> getMovieStatsInRoom(int roomId) {
+        Map<Integer, Stats> movies = byRoomAndMovie.get(roomId);
+        if (movies == null) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, Stats> result = new HashMap<>();
+        for (Map.Entry<Integer, Stats> e : movies.entrySet()) {
+            if (e.getValue().getSessions() > 0) {
+                result.put(e.getKey(), e.getValue());
+            }
+        }
+        return result;
+    }
+}
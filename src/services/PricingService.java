@@ -0,0 +1,187 @@
+package services;
+
+import controller.business.TrendingController;
+import models.Session;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Classe de serviço que calcula o preço do ingresso no momento da venda a partir
+ * do valor base da sessão e da demanda.
+ *
+ * Quatro fatores multiplicam o valor base: ocupação da sala, antecedência da
+ * compra, dia da semana e procura do filme no dia. As faixas de cada fator são
+ * compiladas na criação do serviço em tabelas indexadas diretamente pelo valor
+ * (percentual de ocupação, horas até o início, dia da semana e ingressos do filme
+ * vendidos hoje), então cada venda faz só quatro acessos a vetor e nenhuma busca.
+ * O fator final fica entre {@link #MIN_FACTOR} e {@link #MAX_FACTOR}.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class PricingService {
+
+    /**
+     * Menor fator aplicado sobre o valor base.
+     */
+    public static final double MIN_FACTOR = 0.8;
+
+    /**
+     * Maior fator aplicado sobre o valor base.
+     */
+    public static final double MAX_FACTOR = 1.5;
+
+    private static final int MAX_HOURS = 24 * 7;
+    private static final int MAX_POPULARITY = 200;
+
+    /**
+     * Preço calculado e a descrição das regras aplicadas, gravada no ticket para auditoria.
+     */
+    public static class PriceQuote {
+        private final double price;
+        private final String rule;
+
+        public PriceQuote(double price, String rule) {
+            this.price = price;
+            this.rule = rule;
+        }
+
+        /**
+         * @return preço do ingresso antes do desconto do cliente.
+         */
+        public double getPrice() {
+            return price;
+        }
+
+        /**
+         * @return regras aplicadas e o fator final, por exemplo "Ocupação 80%+, Fim de semana (x1.32)".
+         */
+        public String getRule() {
+            return rule;
+        }
+    }
+
+    /**
+     * Faixa de uma tabela: nome da regra e multiplicador.
+     */
+    private static final class Rule {
+        private final String name;
+        private final double multiplier;
+
+        private Rule(String name, double multiplier) {
+            this.name = name;
+            this.multiplier = multiplier;
+        }
+    }
+
+    private static final Rule NEUTRAL = new Rule(null, 1.0);
+
+    private final Rule[] byOccupancy = compile(101,
+            new int[] {50, 80, 95},
+            new Rule[] {
+                    new Rule("Ocupação 50%+", 1.05),
+                    new Rule("Ocupação 80%+", 1.15),
+                    new Rule("Ocupação 95%+", 1.25)
+            });
+
+    private final Rule[] byHoursToStart = compile(MAX_HOURS + 1,
+            new int[] {0, 2, MAX_HOURS},
+            new Rule[] {
+                    new Rule("Última hora", 1.05),
+                    NEUTRAL,
+                    new Rule("Compra antecipada", 0.90)
+            });
+
+    private final Rule[] byPopularity = compile(MAX_POPULARITY + 1,
+            new int[] {50, MAX_POPULARITY},
+            new Rule[] {
+                    new Rule("Filme em alta", 1.05),
+                    new Rule("Filme muito procurado", 1.10)
+            });
+
+    private final Rule[] byWeekday = new Rule[DayOfWeek.values().length];
+
+    public PricingService() {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            byWeekday[day.ordinal()] = NEUTRAL;
+        }
+        byWeekday[DayOfWeek.FRIDAY.ordinal()] = new Rule("Sexta-feira", 1.10);
+        byWeekday[DayOfWeek.SATURDAY.ordinal()] = new Rule("Fim de semana", 1.15);
+        byWeekday[DayOfWeek.SUNDAY.ordinal()] = byWeekday[DayOfWeek.SATURDAY.ordinal()];
+    }
+
+    /**
+     * Calcula o preço de um ingresso da sessão vendido agora.
+     *
+     * @param session a sessão do ingresso.
+     * @return o preço e as regras aplicadas.
+     */
+    public PriceQuote quote(Session session) {
+        return quote(session, TrendingController.getMovieSalesToday(session.getMovie().getId()), LocalDateTime.now());
+    }
+
+    /**
+     * Calcula o preço de um ingresso da sessão.
+     *
+     * @param session a sessão do ingresso.
+     * @param movieSalesToday ingressos do filme vendidos no dia.
+     * @param at momento da venda.
+     * @return o preço e as regras aplicadas.
+     */
+    public PriceQuote quote(Session session, long movieSalesToday, LocalDateTime at) {
+        int totalSeats = session.getRoom().getTotalSeat();
+        int occupancy = totalSeats > 0 ? (totalSeats - session.getTotalAvailableSeats()) * 100 / totalSeats : 0;
+        long hours = Duration.between(at, session.getStartDateTime()).toHours();
+
+        Rule[] applied = {
+                byOccupancy[clamp(occupancy, 100)],
+                byHoursToStart[clamp(hours, MAX_HOURS)],
+                byWeekday[session.getStartDateTime().getDayOfWeek().ordinal()],
+                byPopularity[clamp(movieSalesToday, MAX_POPULARITY)]
+        };
+
+        double factor = 1.0;
+        StringBuilder rule = new StringBuilder();
+        for (Rule r : applied) {
+            if (r.name == null) {
+                continue;
+            }
+            factor *= r.multiplier;
+            if (rule.length() > 0) {
+                rule.append(", ");
+            }
+            rule.append(r.name);
+        }
+        factor = Math.max(MIN_FACTOR, Math.min(MAX_FACTOR, factor));
+
+        double price = Math.round(session.getTicketValue() * factor * 100) / 100.0;
+        if (rule.length() == 0) {
+            return new PriceQuote(price, "Preço base");
+        }
+        rule.append(String.format(Locale.ROOT, " (x%.2f)", factor));
+        return new PriceQuote(price, rule.toString());
+    }
+
+    /**
+     * Monta a tabela de um fator: a posição {@code i} recebe a regra da maior faixa
+     * que começa em {@code i} ou antes; antes da primeira faixa, nenhuma regra se aplica.
+     */
+    private static Rule[] compile(int size, int[] lowerBounds, Rule[] rules) {
+        Rule[] table = new Rule[size];
+        int bracket = -1;
+        for (int i = 0; i < size; i++) {
+            while (bracket + 1 < lowerBounds.length && lowerBounds[bracket + 1] <= i) {
+                bracket++;
+            }
+            table[i] = bracket < 0 ? NEUTRAL : rules[bracket];
+        }
+        return table;
+    }
+
+    private static int clamp(long value, int max) {
+        return (int) Math.max(0, Math.min(max, value));
+    }
+}
@@ -0,0 +1,247 @@
+package services;
+
+import enums.PaymentMethod;
+import enums.TimeSlot;
+import models.Client;
+import models.Promotion;
+import models.Session;
+import repository.PromotionRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe de serviço do motor de promoções.
+ *
+ * As promoções são cadastradas como dados ({@link Promotion}) e compiladas em
+ * tabelas de bits: para cada valor possível de cada condição (dia da semana,
+ * idade, estudante, pagamento, faixa de horário, quantidade e filme) há um
+ * conjunto de bits com as promoções que o aceitam. Avaliar um ingresso é fazer
+ * o AND das sete linhas correspondentes, então o custo depende de quantas
+ * palavras de 64 bits cabem as promoções, e não das regras em si. As tabelas
+ * são recompiladas a cada promoção cadastrada ou removida.
+ *
+ * As promoções ficam ordenadas por percentual decrescente: a primeira não
+ * cumulativa aceita é a melhor, e as cumulativas aceitas são somadas a ela.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class PromotionService {
+
+    /**
+     * Desconto máximo de um ingresso somando promoções e pontos de fidelidade.
+     */
+    public static final double MAX_TOTAL_DISCOUNT = 60.0;
+
+    private static final int MAX_AGE = 120;
+    private static final int UNKNOWN_AGE = MAX_AGE + 1;
+    private static final int MAX_QUANTITY = 20;
+
+    /**
+     * Resultado da avaliação: percentual total e nomes das promoções aplicadas.
+     */
+    public static class PromotionResult {
+        private final double percent;
+        private final List<String> names;
+
+        public PromotionResult(double percent, List<String> names) {
+            this.percent = percent;
+            this.names = names;
+        }
+
+        /**
+         * @return desconto das promoções, em porcentagem.
+         */
+        public double getPercent() {
+            return percent;
+        }
+
+        /**
+         * @return nomes das promoções aplicadas, da maior para a menor.
+         */
+        public List<String> getNames() {
+            return names;
+        }
+    }
+
+    /**
+     * Tabelas compiladas. Imutáveis depois de montadas, então a avaliação não precisa de trava.
+     */
+    private static final class CompiledRules {
+        private final Promotion[] promotions;
+        private final int words;
+        private final long[][] byWeekday = new long[DayOfWeek.values().length][];
+        private final long[][] byAge = new long[UNKNOWN_AGE + 1][];
+        private final long[][] byStudent = new long[2][];
+        private final long[][] byPayment = new long[PaymentMethod.values().length][];
+        private final long[][] bySlot = new long[TimeSlot.values().length][];
+        private final long[][] byQuantity = new long[MAX_QUANTITY + 1][];
+        private final Map<Integer, long[]> byMovie = new HashMap<>();
+        private final long[] anyMovie;
+
+        private CompiledRules(List<Promotion> source) {
+            promotions = source.toArray(new Promotion[0]);
+            words = Math.max(1, (promotions.length + 63) / 64);
+
+            for (DayOfWeek day : DayOfWeek.values()) {
+                byWeekday[day.ordinal()] = bits(p -> p.getWeekdays().isEmpty() || p.getWeekdays().contains(day));
+            }
+            for (int age = 0; age <= MAX_AGE; age++) {
+                int a = age;
+                byAge[age] = bits(p -> (p.getMinAge() == null || a >= p.getMinAge())
+                        && (p.getMaxAge() == null || a <= p.getMaxAge()));
+            }
+            byAge[UNKNOWN_AGE] = bits(p -> p.getMinAge() == null && p.getMaxAge() == null);
+            byStudent[0] = bits(p -> !p.isStudentOnly());
+            byStudent[1] = bits(p -> true);
+            for (PaymentMethod method : PaymentMethod.values()) {
+                byPayment[method.ordinal()] = bits(p -> p.getPaymentMethods().isEmpty() || p.getPaymentMethods().contains(method));
+            }
+            for (TimeSlot slot : TimeSlot.values()) {
+                bySlot[slot.ordinal()] = bits(p -> p.getTimeSlots().isEmpty() || p.getTimeSlots().contains(slot));
+            }
+            for (int quantity = 0; quantity <= MAX_QUANTITY; quantity++) {
+                int q = quantity;
+                byQuantity[quantity] = bits(p -> p.getMinQuantity() <= q);
+            }
+            anyMovie = bits(p -> p.getMovieIds().isEmpty());
+            for (Promotion promotion : promotions) {
+                for (int movieId : promotion.getMovieIds()) {
+                    byMovie.computeIfAbsent(movieId, id -> bits(p -> p.getMovieIds().isEmpty() || p.getMovieIds().contains(id)));
+                }
+            }
+        }
+
+        private long[] bits(java.util.function.Predicate<Promotion> accepts) {
+            long[] row = new long[words];
+            for (int i = 0; i < promotions.length; i++) {
+                if (accepts.test(promotions[i])) {
+                    row[i >>> 6] |= 1L << i;
+                }
+            }
+            return row;
+        }
+    }
+
+    private final PromotionRepository promotionRepository;
+    private volatile CompiledRules compiled;
+
+    /**
+     * Construtor do PromotionService. Sem promoções salvas, cadastra as promoções
+     * padrão: meia-entrada para estudantes e idosos, terça promocional e combo.
+     *
+     * @param promotionRepository O repositório de promoções.
+     */
+    public PromotionService(PromotionRepository promotionRepository) {
+        this.promotionRepository = promotionRepository;
+        if (promotionRepository.getAll().isEmpty()) {
+            promotionRepository.add(new Promotion("Meia-entrada estudante", 50, false).forStudents());
+            promotionRepository.add(new Promotion("Meia-entrada idoso", 50, false).forAges(60, null));
+            promotionRepository.add(new Promotion("Terça promocional", 30, false).onWeekdays(DayOfWeek.TUESDAY));
+            promotionRepository.add(new Promotion("Combo 3+ ingressos", 10, true).withMinQuantity(3));
+        }
+        recompile();
+    }
+
+    /**
+     * Cadastra uma promoção e recompila as tabelas.
+     *
+     * @param promotion A promoção.
+     * @throws IllegalArgumentException se a promoção for nula.
+     */
+    public synchronized void addPromotion(Promotion promotion) {
+        if (promotion == null) {
+            throw new IllegalArgumentException("A promoção não pode ser nula!");
+        }
+        promotionRepository.add(promotion);
+        recompile();
+    }
+
+    /**
+     * Remove uma promoção e recompila as tabelas.
+     *
+     * @param id O ID da promoção.
+     * @return true se a promoção foi removida.
+     */
+    public synchronized boolean removePromotion(int id) {
+        boolean removed = promotionRepository.removeById(id);
+        if (removed) {
+            recompile();
+        }
+        return removed;
+    }
+
+    /**
+     * @return Todas as promoções cadastradas.
+     */
+    public List<Promotion> getAllPromotions() {
+        return promotionRepository.getAll();
+    }
+
+    /**
+     * Avalia as promoções para um ingresso.
+     *
+     * @param client O cliente que está comprando.
+     * @param session A sessão do ingresso.
+     * @param method O método de pagamento.
+     * @param quantity Quantidade de ingressos na mesma venda.
+     * @return O desconto das promoções aceitas e seus nomes.
+     */
+    public PromotionResult evaluate(Client client, Session session, PaymentMethod method, int quantity) {
+        CompiledRules rules = compiled;
+        LocalDateTime start = session.getStartDateTime();
+        long[] accepted = rules.byWeekday[start.getDayOfWeek().ordinal()].clone();
+        and(accepted, rules.byAge[age(client, start.toLocalDate())]);
+        and(accepted, rules.byStudent[client != null && client.isStudent() ? 1 : 0]);
+        and(accepted, rules.byPayment[method.ordinal()]);
+        and(accepted, rules.bySlot[TimeSlot.of(start.toLocalTime()).ordinal()]);
+        and(accepted, rules.byQuantity[Math.max(0, Math.min(MAX_QUANTITY, quantity))]);
+        and(accepted, session.getMovie() == null ? rules.anyMovie
+                : rules.byMovie.getOrDefault(session.getMovie().getId(), rules.anyMovie));
+
+        double percent = 0;
+        boolean bestTaken = false;
+        List<String> names = new ArrayList<>(2);
+        for (int word = 0; word < accepted.length; word++) {
+            long bits = accepted[word];
+            while (bits != 0) {
+                Promotion promotion = rules.promotions[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+                if (promotion.isStackable() || !bestTaken) {
+                    bestTaken |= !promotion.isStackable();
+                    percent += promotion.getPercent();
+                    names.add(promotion.getName());
+                }
+            }
+        }
+        return new PromotionResult(Math.min(100.0, percent), names);
+    }
+
+    private void recompile() {
+        List<Promotion> sorted = new ArrayList<>(promotionRepository.getAll());
+        sorted.sort(Comparator.comparingDouble(Promotion::getPercent).reversed());
+        compiled = new CompiledRules(sorted);
+    }
+
+    private static void and(long[] accumulator, long[] row) {
+        for (int i = 0; i < accumulator.length; i++) {
+            accumulator[i] &= row[i];
+        }
+    }
+
+    private static int age(Client client, LocalDate at) {
+        if (client == null || client.getBirthDate() == null) {
+            return UNKNOWN_AGE;
+        }
+        int years = Period.between(client.getBirthDate(), at).getYears();
+        return Math.max(0, Math.min(MAX_AGE, years));
+    }
+}
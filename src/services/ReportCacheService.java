@@ -0,0 +1,200 @@
+package services;
+
+import enums.RepositoryType;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache dos resultados dos relatórios, indexado pelo tipo do relatório e seus
+ * parâmetros (sala, filme, período...).
+ *
+ * Cada resultado declara de quais repositórios depende; quando um deles avisa
+ * uma alteração, os resultados dependentes são descartados, então uma tela
+ * nunca mostra dados antigos. O cache tem tamanho limitado e descarta o
+ * resultado usado há mais tempo (LRU) quando enche.
+ *
+ * Os relatórios são calculados fora da trava do cache: um relatório demorado
+ * não segura os demais nem o aviso de uma venda. Um resultado só é guardado se
+ * nenhum dos repositórios dos quais depende mudou durante o cálculo.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ReportCacheService {
+
+    /**
+     * Quantidade máxima de resultados guardados por padrão.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /**
+     * Chave de um resultado: tipo do relatório e parâmetros.
+     */
+    private static final class Key {
+        private final String type;
+        private final List<Object> params;
+
+        private Key(String type, Object[] params) {
+            this.type = type;
+            this.params = Arrays.asList(params.clone());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return type.equals(other.type) && params.equals(other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + params.hashCode();
+        }
+    }
+
+    /**
+     * Resultado guardado e os repositórios dos quais ele depende.
+     */
+    private static final class Entry {
+        private final Object value;
+        private final Set<RepositoryType> dependsOn;
+
+        private Entry(Object value, Set<RepositoryType> dependsOn) {
+            this.value = value;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    private final Map<Key, Entry> entries;
+    // Contador de alterações por repositório, para não guardar um resultado calculado durante uma alteração
+    private final Map<RepositoryType, Long> versions = new EnumMap<>(RepositoryType.class);
+    private long hits;
+    private long misses;
+
+    /**
+     * Cria um cache com o tamanho padrão.
+     */
+    public ReportCacheService() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Cria um cache com o tamanho informado.
+     *
+     * @param maxEntries quantidade máxima de resultados guardados.
+     * @throws IllegalArgumentException se o tamanho não for positivo.
+     */
+    public ReportCacheService(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("O tamanho do cache deve ser maior que zero!");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        for (RepositoryType type : RepositoryType.values()) {
+            versions.put(type, 0L);
+        }
+    }
+
+    /**
+     * Retorna o resultado guardado para o relatório, calculando-o se necessário.
+     *
+     * @param type tipo do relatório.
+     * @param dependsOn repositórios cujas alterações invalidam o resultado.
+     * @param compute cálculo do relatório, chamado apenas quando não há resultado válido.
+     * @param params parâmetros do relatório; fazem parte da chave.
+     * @param <T> tipo do resultado.
+     * @return o resultado do relatório.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String type, Set<RepositoryType> dependsOn, Supplier<T> compute, Object... params) {
+        Key key = new Key(type, params);
+        long before;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return (T) entry.value;
+            }
+            misses++;
+            before = versionOf(dependsOn);
+        }
+
+        T value = compute.get();
+        synchronized (this) {
+            // Um aviso durante o cálculo pode ter chegado depois de o relatório ler o dado alterado
+            if (versionOf(dependsOn) == before) {
+                entries.put(key, new Entry(value, EnumSet.copyOf(dependsOn)));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Soma dos contadores de alteração dos repositórios; só cresce, então fica igual
+     * apenas se nenhum deles mudou.
+     */
+    private long versionOf(Set<RepositoryType> dependsOn) {
+        long version = 0;
+        for (RepositoryType type : dependsOn) {
+            version += versions.get(type);
+        }
+        return version;
+    }
+
+    /**
+     * Descarta os resultados que dependem do repositório alterado.
+     *
+     * @param source repositório alterado.
+     */
+    public synchronized void invalidate(RepositoryType source) {
+        versions.merge(source, 1L, Long::sum);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().dependsOn.contains(source)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Descarta todos os resultados.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return quantidade de resultados guardados.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return quantidade de consultas atendidas pelo cache.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return quantidade de consultas que precisaram calcular o relatório.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
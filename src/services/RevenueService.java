@@ -0,0 +1,399 @@
+package services;
+
+import controller.business.MovieController;
+import enums.PaymentMethod;
+import enums.RevenueDimension;
+import models.Movie;
+import models.Ticket;
+import repository.IntObjectMap;
+import repository.SessionArchive;
+import repository.TicketHistoryStore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Classe de serviço que calcula a receita dos ingressos vendidos agrupada por
+ * dia, filme, sala, método de pagamento ou faixa de desconto.
+ *
+ * Consultas sobre outros períodos percorrem os tickets atuais com uma stream
+ * paralela (fork-join) e o histórico pelas suas colunas de venda, junto com o
+ * resumo das sessões arquivadas, sem montar nenhum ticket do histórico, que só
+ * cresce. As vendas do dia atual,
+ * que é o período mais consultado, ficam em totais mantidos a cada venda e
+ * cancelamento, então o relatório de hoje não precisa varrer nada.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class RevenueService {
+
+    /**
+     * Uma linha do relatório: o valor do agrupamento, a quantidade de ingressos e a receita.
+     */
+    public static class RevenueLine {
+        private final String key;
+        private final long tickets;
+        private final double revenue;
+
+        public RevenueLine(String key, long tickets, double revenue) {
+            this.key = key;
+            this.tickets = tickets;
+            this.revenue = revenue;
+        }
+
+        /**
+         * @return valor do agrupamento (dia, título do filme, sala...).
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return quantidade de ingressos vendidos no agrupamento.
+         */
+        public long getTickets() {
+            return tickets;
+        }
+
+        /**
+         * @return receita do agrupamento.
+         */
+        public double getRevenue() {
+            return revenue;
+        }
+    }
+
+    /**
+     * Acumulador de uma linha. Usado tanto pela stream paralela (um por thread,
+     * depois combinados) quanto pelos totais do dia (protegido por sincronização).
+     */
+    private static class Totals {
+        private long tickets;
+        private double revenue;
+
+        private synchronized void add(long ticketsDelta, double revenueDelta) {
+            tickets += ticketsDelta;
+            revenue += revenueDelta;
+        }
+
+        private Totals combine(Totals other) {
+            add(other.tickets, other.revenue);
+            return this;
+        }
+    }
+
+    private static final Collector<Ticket, Totals, Totals> TOTALS = Collector.of(
+            Totals::new,
+            (totals, ticket) -> totals.add(1, ticket.getFinalPrice()),
+            Totals::combine);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Map<RevenueDimension, ConcurrentMap<String, Totals>> today = new EnumMap<>(RevenueDimension.class);
+    private LocalDate todayDate = LocalDate.now();
+
+    public RevenueService() {
+        for (RevenueDimension dimension : RevenueDimension.values()) {
+            today.put(dimension, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Retorna a faixa de desconto de um ticket, em intervalos de 5%.
+     *
+     * @param discount desconto em porcentagem.
+     * @return rótulo da faixa, por exemplo "0%" ou "6-10%".
+     */
+    public static String discountBracket(double discount) {
+        if (discount <= 0) {
+            return "0%";
+        }
+        int upper = (int) Math.ceil(discount / 5.0) * 5;
+        return (upper - 4) + "-" + upper + "%";
+    }
+
+    /**
+     * Retorna o valor de um ticket na dimensão informada.
+     *
+     * @param ticket o ticket.
+     * @param dimension a dimensão do agrupamento.
+     * @return a chave do agrupamento.
+     */
+    public static String keyOf(Ticket ticket, RevenueDimension dimension) {
+        switch (dimension) {
+            case DAY:
+                return ticket.getSaleDateTime().toLocalDate().toString();
+            case MOVIE:
+                return ticket.getSession().getMovie().getTitle();
+            case ROOM:
+                return "Sala " + ticket.getSession().getRoom().getId();
+            case PAYMENT_METHOD:
+                return String.valueOf(ticket.getPaymentMethod());
+            case DISCOUNT_BRACKET:
+                return discountBracket(ticket.getDiscount());
+            default:
+                throw new IllegalArgumentException("Dimensão de receita inválida: " + dimension);
+        }
+    }
+
+    /**
+     * Reconstrói os totais do dia atual a partir dos tickets vendidos hoje.
+     * Tickets de outros dias são ignorados pelo minuto da venda, sem buscar a sessão.
+     *
+     * @param tickets os tickets vendidos hoje.
+     */
+    public synchronized void rebuild(List<Ticket> tickets) {
+        todayDate = LocalDate.now();
+        for (ConcurrentMap<String, Totals> totals : today.values()) {
+            totals.clear();
+        }
+        for (Ticket ticket : tickets) {
+            if (isToday(ticket) && ticket.getSession() != null) {
+                addToToday(ticket, 1, ticket.getFinalPrice());
+            }
+        }
+    }
+
+    /**
+     * Soma uma venda aos totais do dia.
+     *
+     * @param ticket o ticket vendido.
+     */
+    public synchronized void registerSale(Ticket ticket) {
+        rollDay();
+        if (isToday(ticket)) {
+            addToToday(ticket, 1, ticket.getFinalPrice());
+        }
+    }
+
+    /**
+     * Desfaz uma venda cancelada nos totais do dia. Cancelamentos de vendas de
+     * outros dias não mudam os totais de hoje.
+     *
+     * @param ticket o ticket cancelado.
+     */
+    public synchronized void registerCancellation(Ticket ticket) {
+        rollDay();
+        if (isToday(ticket)) {
+            addToToday(ticket, -1, -ticket.getFinalPrice());
+        }
+    }
+
+    /**
+     * Calcula a receita de um período agrupada pela dimensão informada.
+     * Quando o período é apenas o dia de hoje, usa os totais mantidos em memória;
+     * senão, agrega os tickets atuais do período em paralelo e soma os do
+     * histórico a partir das suas colunas.
+     *
+     * @param tickets os tickets das sessões ainda não realizadas.
+     * @param archivedSessions percorre o resumo das sessões arquivadas.
+     * @param archivedSales percorre os dados de venda dos tickets do histórico.
+     * @param dimension a dimensão do agrupamento.
+     * @param from primeiro dia do período.
+     * @param to último dia do período.
+     * @return as linhas do relatório; por dia em ordem cronológica, nas demais da maior para a menor receita.
+     * @throws IllegalArgumentException se o período for inválido.
+     */
+    public List<RevenueLine> getReport(List<Ticket> tickets, Consumer<SessionArchive.SummaryVisitor> archivedSessions,
+                                       Consumer<TicketHistoryStore.SaleVisitor> archivedSales,
+                                       RevenueDimension dimension, LocalDate from, LocalDate to) {
+        if (dimension == null || from == null || to == null) {
+            throw new IllegalArgumentException("Informe a dimensão e o período do relatório!");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final!");
+        }
+
+        Map<String, Totals> totals;
+        long todayDay;
+        synchronized (this) {
+            rollDay();
+            if (from.equals(todayDate) && to.equals(todayDate)) {
+                totals = today.get(dimension);
+                return toLines(totals, dimension);
+            }
+            todayDay = todayDate.toEpochDay();
+        }
+
+        // O retrato do repositório é um vetor imutável e se divide bem entre as threads
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        totals = tickets.parallelStream()
+                .filter(ticket -> {
+                    long day = saleDay(ticket);
+                    return day >= fromDay && day <= toDay;
+                })
+                .filter(ticket -> ticket.getSession() != null)
+                .collect(Collectors.groupingByConcurrent(ticket -> keyOf(ticket, dimension), TOTALS));
+        // Os tickets do histórico são de sessões já realizadas, vendidos antes de hoje
+        if (fromDay < todayDay) {
+            addArchived(totals, archivedSessions, archivedSales, dimension, fromDay, toDay);
+        }
+        return toLines(totals, dimension);
+    }
+
+    /**
+     * Soma ao relatório os tickets do histórico vendidos no período, agrupados
+     * primeiro pelo valor da coluna (dia, filme, sala, pagamento ou desconto) e
+     * só no fim convertidos nas chaves do relatório.
+     */
+    private static void addArchived(Map<String, Totals> totals, Consumer<SessionArchive.SummaryVisitor> archivedSessions,
+                                    Consumer<TicketHistoryStore.SaleVisitor> archivedSales,
+                                    RevenueDimension dimension, long fromDay, long toDay) {
+        // Sessão arquivada -> sala ou filme; os tickets de sessões desconhecidas ficam de fora
+        IntObjectMap<Integer> sessionGroups = new IntObjectMap<>();
+        archivedSessions.accept((sessionId, roomId, movieId, epochDay, startMinute, capacity, sold) ->
+                sessionGroups.put(sessionId, dimension == RevenueDimension.ROOM ? roomId : movieId));
+
+        // Grupo -> {grupo, ingressos, receita em centavos}
+        IntObjectMap<long[]> groups = new IntObjectMap<>();
+        archivedSales.accept((ticketId, sessionId, priceCents, discountHundredths, saleMinute, payment) -> {
+            long day = Math.floorDiv(saleMinute, MINUTES_PER_DAY);
+            Integer sessionGroup = sessionGroups.get(sessionId);
+            if (day < fromDay || day > toDay || sessionGroup == null) {
+                return;
+            }
+            int group;
+            switch (dimension) {
+                case DAY:
+                    group = (int) day;
+                    break;
+                case MOVIE:
+                case ROOM:
+                    group = sessionGroup;
+                    break;
+                case PAYMENT_METHOD:
+                    group = payment;
+                    break;
+                default:
+                    group = discountHundredths;
+            }
+            long[] sum = groups.computeIfAbsent(group, g -> new long[] {g, 0, 0});
+            sum[1]++;
+            sum[2] += priceCents;
+        });
+
+        for (long[] sum : groups.values()) {
+            totals.computeIfAbsent(archivedKey(dimension, (int) sum[0]), k -> new Totals()).add(sum[1], sum[2] / 100.0);
+        }
+    }
+
+    /**
+     * Chave do relatório de um grupo do histórico, no mesmo formato de {@link #keyOf}.
+     */
+    private static String archivedKey(RevenueDimension dimension, int group) {
+        switch (dimension) {
+            case DAY:
+                return LocalDate.ofEpochDay(group).toString();
+            case MOVIE:
+                Movie movie = MovieController.findMovieById(group);
+                return movie == null ? "Filme " + group : movie.getTitle();
+            case ROOM:
+                return "Sala " + group;
+            case PAYMENT_METHOD:
+                return String.valueOf(group < 0 ? null : PaymentMethod.values()[group]);
+            default:
+                return discountBracket(group / 100.0);
+        }
+    }
+
+    /**
+     * Grava as linhas de um relatório em CSV (separado por ponto e vírgula).
+     *
+     * @param lines as linhas do relatório.
+     * @param dimension a dimensão usada no relatório, usada no cabeçalho.
+     * @param output arquivo de destino.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    public void exportCsv(List<RevenueLine> lines, RevenueDimension dimension, Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(dimension + ";Ingressos;Receita");
+            writer.newLine();
+            for (RevenueLine line : lines) {
+                writer.write(line.getKey().replace(';', ',') + ";" + line.getTickets() + ";"
+                        + String.format(Locale.ROOT, "%.2f", line.getRevenue()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private boolean isToday(Ticket ticket) {
+        return saleDay(ticket) == todayDate.toEpochDay();
+    }
+
+    /**
+     * @return o dia da venda, em dias desde 01/01/1970, lido da coluna do minuto da venda.
+     */
+    private static long saleDay(Ticket ticket) {
+        return Math.floorDiv(ticket.getSaleEpochMinute(), MINUTES_PER_DAY);
+    }
+
+    /**
+     * Zera os totais do dia quando a data muda com a aplicação aberta.
+     */
+    private void rollDay() {
+        LocalDate now = LocalDate.now();
+        if (!now.equals(todayDate)) {
+            todayDate = now;
+            for (ConcurrentMap<String, Totals> totals : today.values()) {
+                totals.clear();
+            }
+        }
+    }
+
+    private void addToToday(Ticket ticket, long tickets, double revenue) {
+        for (RevenueDimension dimension : RevenueDimension.values()) {
+            today.get(dimension).computeIfAbsent(keyOf(ticket, dimension), k -> new Totals()).add(tickets, revenue);
+        }
+    }
+
+    private List<RevenueLine> toLines(Map<String, Totals> totals, RevenueDimension dimension) {
+        List<RevenueLine> lines = new ArrayList<>(totals.size());
+        for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+            Totals value = entry.getValue();
+            synchronized (value) {
+                if (value.tickets > 0) {
+                    lines.add(new RevenueLine(entry.getKey(), value.tickets, value.revenue));
+                }
+            }
+        }
+        if (dimension == RevenueDimension.DAY || dimension == RevenueDimension.DISCOUNT_BRACKET) {
+            lines.sort(Comparator.comparing(line -> bracketOrder(line.getKey())));
+        } else {
+            lines.sort(Comparator.comparingDouble(RevenueLine::getRevenue).reversed());
+        }
+        return lines;
+    }
+
+    /**
+     * Chave de ordenação: datas ISO já ordenam como texto; faixas de desconto
+     * são ordenadas pelo limite inferior.
+     */
+    private static String bracketOrder(String key) {
+        if (key.endsWith("%")) {
+            String lower = key.substring(0, key.length() - 1).split("-")[0];
+            return String.format("%05d", Integer.parseInt(lower));
+        }
+        return key;
+    }
+}
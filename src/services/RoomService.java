@@ -3,7 +3,7 @@ package services;
 import models.Room;
 import models.Session;
 import repository.RoomRepository;
-import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Classe de serviço responsável pela lógica de negócios
@@ -51,7 +51,7 @@ public class RoomService {
      *
      * @return Lista de todas as salas.
      */
-    public LinkedList<Room> getAllRooms(){
+    public List<Room> getAllRooms(){
         return roomRepository.getAll();
     }
 
@@ -0,0 +1,364 @@
+package services;
+
+import enums.CubeDimension;
+import enums.PaymentMethod;
+import controller.business.MovieController;
+import enums.TimeSlot;
+import models.Movie;
+import models.Session;
+import models.Ticket;
+import repository.IntObjectMap;
+import repository.SessionArchive;
+import repository.TicketHistoryStore;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Cubo de vendas pré-agregado: filme × dia da semana × faixa de horário × método de pagamento.
+ *
+ * Cada célula guarda a quantidade de ingressos e a receita em centavos, em dois
+ * vetores de {@code long} indexados pelas quatro coordenadas. O cubo é montado
+ * uma vez a partir dos tickets e depois só recebe as vendas e cancelamentos, então
+ * as consultas percorrem as células (no máximo filmes × 7 × 3 × 4) em vez dos tickets.
+ *
+ * Nas consultas, um filtro {@code null} significa "todos os valores" daquele eixo:
+ * fixar um eixo corta o cubo, fixar vários seleciona um subcubo e os eixos não
+ * agrupados são somados.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class SalesCubeService {
+
+    /**
+     * Totais de uma célula ou de um agrupamento de células.
+     */
+    public static class CubeCell {
+        private long tickets;
+        private long revenueCents;
+
+        /**
+         * @return quantidade de ingressos vendidos.
+         */
+        public long getTickets() {
+            return tickets;
+        }
+
+        /**
+         * @return receita dos ingressos vendidos.
+         */
+        public double getRevenue() {
+            return revenueCents / 100.0;
+        }
+    }
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+    private static final DayOfWeek[] WEEKDAYS = DayOfWeek.values();
+    private static final TimeSlot[] SLOTS = TimeSlot.values();
+    private static final PaymentMethod[] PAYMENTS = PaymentMethod.values();
+    // Posição dos ingressos de sessões sem filme (IDs de filme começam em 1)
+    private static final int UNKNOWN_MOVIE_ID = 0;
+    private static final String UNKNOWN_MOVIE_TITLE = "Filme não informado";
+
+    // Passo de cada eixo no vetor: o filme é o eixo mais externo, então um filme novo só estende o vetor
+    private static final int PAYMENT_STRIDE = 1;
+    private static final int SLOT_STRIDE = PAYMENTS.length;
+    private static final int WEEKDAY_STRIDE = SLOT_STRIDE * SLOTS.length;
+    private static final int MOVIE_STRIDE = WEEKDAY_STRIDE * WEEKDAYS.length;
+
+    private final Map<Integer, Integer> movieIndex = new HashMap<>();
+    private int[] movieIds = new int[16];
+    private String[] movieTitles = new String[16];
+    private int movieCount;
+
+    private long[] tickets = new long[16 * MOVIE_STRIDE];
+    private long[] revenueCents = new long[16 * MOVIE_STRIDE];
+
+    /**
+     * Reconstrói o cubo a partir de todos os tickets. Os tickets do histórico entram
+     * pelas suas colunas de sessão, preço e pagamento, e a posição de cada sessão
+     * arquivada no cubo vem do resumo do índice do arquivo de sessões: nenhum
+     * ticket arquivado é montado e nenhum segmento de sessões é lido.
+     *
+     * @param currentTickets os tickets das sessões ainda não realizadas.
+     * @param archivedSessions percorre o resumo das sessões arquivadas.
+     * @param archivedSales percorre os dados de venda dos tickets do histórico.
+     */
+    public synchronized void rebuild(List<Ticket> currentTickets,
+                                     Consumer<SessionArchive.SummaryVisitor> archivedSessions,
+                                     Consumer<TicketHistoryStore.SaleVisitor> archivedSales) {
+        movieIndex.clear();
+        movieCount = 0;
+        Arrays.fill(tickets, 0);
+        Arrays.fill(revenueCents, 0);
+        for (Ticket ticket : currentTickets) {
+            add(ticket, 1);
+        }
+
+        // Sessão arquivada -> {filme, posição do dia da semana e da faixa de horário}
+        IntObjectMap<int[]> archived = new IntObjectMap<>();
+        archivedSessions.accept((sessionId, roomId, movieId, epochDay, startMinute, capacity, sold) -> {
+            DayOfWeek weekday = LocalDate.ofEpochDay(epochDay).getDayOfWeek();
+            TimeSlot slot = TimeSlot.of(LocalTime.of(startMinute / 60, startMinute % 60));
+            archived.put(sessionId, new int[] {movieId,
+                    (weekday.getValue() - 1) * WEEKDAY_STRIDE + slot.ordinal() * SLOT_STRIDE});
+        });
+        Map<Integer, String> titles = new HashMap<>();
+        archivedSales.accept((ticketId, sessionId, priceCents, discountHundredths, saleMinute, payment) -> {
+            int[] session = archived.get(sessionId);
+            if (session == null || payment < 0) {
+                return;
+            }
+            int movie = session[0] <= 0
+                    ? movieSlot(UNKNOWN_MOVIE_ID, UNKNOWN_MOVIE_TITLE)
+                    : movieSlot(session[0], titles.computeIfAbsent(session[0], SalesCubeService::titleOf));
+            int cell = movie * MOVIE_STRIDE + session[1] + payment * PAYMENT_STRIDE;
+            tickets[cell]++;
+            revenueCents[cell] += priceCents;
+        });
+    }
+
+    /**
+     * Título atual de um filme de sessão arquivada. O filme pode ter sido removido
+     * depois que todas as suas sessões foram realizadas.
+     */
+    private static String titleOf(int movieId) {
+        Movie movie = MovieController.findMovieById(movieId);
+        return movie == null ? "Filme " + movieId : movie.getTitle();
+    }
+
+    /**
+     * Soma uma venda ao cubo.
+     *
+     * @param ticket o ticket vendido.
+     */
+    public synchronized void registerSale(Ticket ticket) {
+        add(ticket, 1);
+    }
+
+    /**
+     * Desfaz uma venda cancelada no cubo.
+     *
+     * @param ticket o ticket cancelado.
+     */
+    public synchronized void registerCancellation(Ticket ticket) {
+        add(ticket, -1);
+    }
+
+    /**
+     * Soma as células que passam pelos filtros.
+     *
+     * @param movieId ID do filme, ou {@code null} para todos.
+     * @param weekday dia da semana, ou {@code null} para todos.
+     * @param slot faixa de horário, ou {@code null} para todas.
+     * @param method método de pagamento, ou {@code null} para todos.
+     * @return os totais das células selecionadas.
+     */
+    public synchronized CubeCell total(Integer movieId, DayOfWeek weekday, TimeSlot slot, PaymentMethod method) {
+        CubeCell result = new CubeCell();
+        int[] filter = filter(movieId, weekday, slot, method);
+        if (filter == null) {
+            return result;
+        }
+        for (int cell = 0; cell < movieCount * MOVIE_STRIDE; cell++) {
+            if (tickets[cell] != 0 && matches(cell, filter)) {
+                result.tickets += tickets[cell];
+                result.revenueCents += revenueCents[cell];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Agrupa as células que passam pelos filtros por um eixo, somando os demais.
+     *
+     * @param groupBy eixo do agrupamento.
+     * @param movieId ID do filme, ou {@code null} para todos.
+     * @param weekday dia da semana, ou {@code null} para todos.
+     * @param slot faixa de horário, ou {@code null} para todas.
+     * @param method método de pagamento, ou {@code null} para todos.
+     * @return mapa rótulo do valor do eixo -> totais, na ordem natural do eixo, sem valores zerados.
+     */
+    public synchronized Map<String, CubeCell> rollUp(CubeDimension groupBy, Integer movieId, DayOfWeek weekday,
+                                                     TimeSlot slot, PaymentMethod method) {
+        Map<String, Map<String, CubeCell>> pivot = pivot(groupBy, null, movieId, weekday, slot, method);
+        Map<String, CubeCell> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, CubeCell>> row : pivot.entrySet()) {
+            result.put(row.getKey(), row.getValue().get(""));
+        }
+        return result;
+    }
+
+    /**
+     * Monta uma tabela dinâmica com um eixo nas linhas e outro nas colunas.
+     *
+     * @param rows eixo das linhas.
+     * @param columns eixo das colunas, ou {@code null} para uma única coluna de rótulo vazio.
+     * @param movieId ID do filme, ou {@code null} para todos.
+     * @param weekday dia da semana, ou {@code null} para todos.
+     * @param slot faixa de horário, ou {@code null} para todas.
+     * @param method método de pagamento, ou {@code null} para todos.
+     * @return mapa linha -> (coluna -> totais), sem combinações zeradas.
+     */
+    public synchronized Map<String, Map<String, CubeCell>> pivot(CubeDimension rows, CubeDimension columns,
+                                                                 Integer movieId, DayOfWeek weekday,
+                                                                 TimeSlot slot, PaymentMethod method) {
+        Map<String, Map<String, CubeCell>> result = new LinkedHashMap<>();
+        int[] filter = filter(movieId, weekday, slot, method);
+        if (filter == null) {
+            return result;
+        }
+
+        int rowSize = axisSize(rows);
+        int columnSize = columns == null ? 1 : axisSize(columns);
+        long[] groupTickets = new long[rowSize * columnSize];
+        long[] groupRevenue = new long[rowSize * columnSize];
+        for (int cell = 0; cell < movieCount * MOVIE_STRIDE; cell++) {
+            if (tickets[cell] != 0 && matches(cell, filter)) {
+                int column = columns == null ? 0 : coordinate(cell, columns);
+                int group = coordinate(cell, rows) * columnSize + column;
+                groupTickets[group] += tickets[cell];
+                groupRevenue[group] += revenueCents[cell];
+            }
+        }
+
+        for (int row = 0; row < rowSize; row++) {
+            for (int column = 0; column < columnSize; column++) {
+                int group = row * columnSize + column;
+                if (groupTickets[group] == 0) {
+                    continue;
+                }
+                CubeCell totals = new CubeCell();
+                totals.tickets = groupTickets[group];
+                totals.revenueCents = groupRevenue[group];
+                String columnLabel = columns == null ? "" : label(columns, column);
+                result.computeIfAbsent(label(rows, row), k -> new LinkedHashMap<>()).put(columnLabel, totals);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Soma (ou subtrai) o ticket na sua célula. Tickets sem sessão ou sem método
+     * de pagamento não têm célula e ficam fora do cubo; sessões sem filme vão
+     * para a posição de filme {@link #UNKNOWN_MOVIE_ID}.
+     */
+    private void add(Ticket ticket, int sign) {
+        Session session = ticket.getSession();
+        if (session == null || ticket.getPaymentMethod() == null) {
+            return;
+        }
+        int movie = session.getMovie() == null
+                ? movieSlot(UNKNOWN_MOVIE_ID, UNKNOWN_MOVIE_TITLE)
+                : movieSlot(session.getMovie().getId(), session.getMovie().getTitle());
+        LocalDateTime start = session.getStartDateTime();
+        int cell = movie * MOVIE_STRIDE
+                + (start.getDayOfWeek().getValue() - 1) * WEEKDAY_STRIDE
+                + TimeSlot.of(start.toLocalTime()).ordinal() * SLOT_STRIDE
+                + ticket.getPaymentMethod().ordinal() * PAYMENT_STRIDE;
+        tickets[cell] += sign;
+        revenueCents[cell] += sign * ticket.getFinalPriceCents();
+    }
+
+    /**
+     * Retorna a posição do filme no eixo, abrindo uma nova (e crescendo os vetores) se preciso.
+     */
+    private int movieSlot(int movieId, String title) {
+        Integer index = movieIndex.get(movieId);
+        if (index != null) {
+            movieTitles[index] = title;
+            return index;
+        }
+        if (movieCount == movieIds.length) {
+            int capacity = movieIds.length * 2;
+            movieIds = Arrays.copyOf(movieIds, capacity);
+            movieTitles = Arrays.copyOf(movieTitles, capacity);
+            tickets = Arrays.copyOf(tickets, capacity * MOVIE_STRIDE);
+            revenueCents = Arrays.copyOf(revenueCents, capacity * MOVIE_STRIDE);
+        }
+        movieIds[movieCount] = movieId;
+        movieTitles[movieCount] = title;
+        movieIndex.put(movieId, movieCount);
+        return movieCount++;
+    }
+
+    /**
+     * Converte os filtros em coordenadas (-1 = todos). Retorna {@code null} se o filme não estiver no cubo.
+     */
+    private int[] filter(Integer movieId, DayOfWeek weekday, TimeSlot slot, PaymentMethod method) {
+        int movie = -1;
+        if (movieId != null) {
+            Integer index = movieIndex.get(movieId);
+            if (index == null) {
+                return null;
+            }
+            movie = index;
+        }
+        return new int[] {
+                movie,
+                weekday == null ? -1 : weekday.getValue() - 1,
+                slot == null ? -1 : slot.ordinal(),
+                method == null ? -1 : method.ordinal()
+        };
+    }
+
+    private boolean matches(int cell, int[] filter) {
+        for (CubeDimension axis : CubeDimension.values()) {
+            int wanted = filter[axis.ordinal()];
+            if (wanted >= 0 && coordinate(cell, axis) != wanted) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int coordinate(int cell, CubeDimension axis) {
+        switch (axis) {
+            case MOVIE:
+                return cell / MOVIE_STRIDE;
+            case WEEKDAY:
+                return (cell / WEEKDAY_STRIDE) % WEEKDAYS.length;
+            case TIME_SLOT:
+                return (cell / SLOT_STRIDE) % SLOTS.length;
+            default:
+                return (cell / PAYMENT_STRIDE) % PAYMENTS.length;
+        }
+    }
+
+    private int axisSize(CubeDimension axis) {
+        switch (axis) {
+            case MOVIE:
+                return movieCount;
+            case WEEKDAY:
+                return WEEKDAYS.length;
+            case TIME_SLOT:
+                return SLOTS.length;
+            default:
+                return PAYMENTS.length;
+        }
+    }
+
+    private String label(CubeDimension axis, int coordinate) {
+        switch (axis) {
+            case MOVIE:
+                return movieTitles[coordinate];
+            case WEEKDAY:
+                return WEEKDAYS[coordinate].getDisplayName(TextStyle.FULL, PT_BR);
+            case TIME_SLOT:
+                return SLOTS[coordinate].toString();
+            default:
+                return PAYMENTS[coordinate].toString();
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package services;
+
+import controller.business.SessionController;
+import models.Movie;
+import models.Room;
+import models.Session;
+import services.SessionService.ScheduleResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Classe de serviço que monta automaticamente a programação das salas.
+ *
+ * Para cada dia do período, as exibições pedidas (filme, público esperado e
+ * quantidade máxima de sessões por dia) são distribuídas entre as salas e os
+ * horários livres, respeitando as sessões já cadastradas, o horário de
+ * funcionamento e o intervalo de limpeza entre sessões. O objetivo é maximizar
+ * os assentos vendidos esperados: uma sessão vende o menor valor entre o público
+ * esperado do filme e a capacidade da sala.
+ *
+ * A montagem é feita em duas etapas:
+ * <ol>
+ *     <li>guloso: as exibições de maior público escolhem primeiro a sala que vende
+ *     mais (em empate, a menor sala que comporta o público) no primeiro horário livre;</li>
+ *     <li>busca local: troca filmes entre sessões de salas diferentes, muda sessões
+ *     para salas melhores e encaixa as exibições que sobraram, até não haver melhora.</li>
+ * </ol>
+ * Os dias são independentes, então um mês de programação é montado em milissegundos.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class ScheduleOptimizerService {
+
+    /**
+     * Granularidade dos horários de início, em minutos.
+     */
+    public static final int START_STEP_MINUTES = 5;
+
+    private static final int MAX_LOCAL_SEARCH_ROUNDS = 50;
+    private static final int END_OF_DAY = 24 * 60;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+
+    /**
+     * Demanda de um filme: público esperado por sessão e quantas sessões ele pode ter por dia.
+     */
+    public static class MovieDemand {
+        private final Movie movie;
+        private final int expectedAudience;
+        private final int maxSessionsPerDay;
+
+        public MovieDemand(Movie movie, int expectedAudience, int maxSessionsPerDay) {
+            if (movie == null) {
+                throw new IllegalArgumentException("O filme da demanda é obrigatório!");
+            }
+            if (movie.getDuration() <= 0) {
+                throw new IllegalArgumentException("O filme " + movie.getTitle() + " não tem duração válida!");
+            }
+            if (expectedAudience < 0 || maxSessionsPerDay < 1) {
+                throw new IllegalArgumentException("Público esperado não pode ser negativo e o filme deve ter ao menos uma sessão por dia!");
+            }
+            this.movie = movie;
+            this.expectedAudience = expectedAudience;
+            this.maxSessionsPerDay = maxSessionsPerDay;
+        }
+
+        public Movie getMovie() {
+            return movie;
+        }
+
+        public int getExpectedAudience() {
+            return expectedAudience;
+        }
+
+        public int getMaxSessionsPerDay() {
+            return maxSessionsPerDay;
+        }
+    }
+
+    /**
+     * Sessão proposta pelo otimizador, ainda não cadastrada.
+     */
+    public static class PlannedSession {
+        private final LocalDate date;
+        private final LocalTime time;
+        private final Room room;
+        private final Movie movie;
+        private final int expectedSeats;
+
+        public PlannedSession(LocalDate date, LocalTime time, Room room, Movie movie, int expectedSeats) {
+            this.date = date;
+            this.time = time;
+            this.room = room;
+            this.movie = movie;
+            this.expectedSeats = expectedSeats;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public LocalTime getTime() {
+            return time;
+        }
+
+        public Room getRoom() {
+            return room;
+        }
+
+        public Movie getMovie() {
+            return movie;
+        }
+
+        /**
+         * @return assentos vendidos esperados: o menor entre o público do filme e a capacidade da sala.
+         */
+        public int getExpectedSeats() {
+            return expectedSeats;
+        }
+    }
+
+    /**
+     * Programação proposta: as sessões e as exibições que não couberam na grade.
+     */
+    public static class SchedulePlan {
+        private final List<PlannedSession> sessions;
+        private final List<String> unplaced;
+        private final int cleaningMinutes;
+
+        public SchedulePlan(List<PlannedSession> sessions, List<String> unplaced, int cleaningMinutes) {
+            this.sessions = Collections.unmodifiableList(sessions);
+            this.unplaced = Collections.unmodifiableList(unplaced);
+            this.cleaningMinutes = cleaningMinutes;
+        }
+
+        /**
+         * @return as sessões propostas, por data, sala e horário.
+         */
+        public List<PlannedSession> getSessions() {
+            return sessions;
+        }
+
+        /**
+         * @return as exibições que não couberam, no formato "dd-MM-yyyy: título".
+         */
+        public List<String> getUnplaced() {
+            return unplaced;
+        }
+
+        /**
+         * @return o intervalo de limpeza usado na montagem, em minutos.
+         */
+        public int getCleaningMinutes() {
+            return cleaningMinutes;
+        }
+
+        /**
+         * @return soma dos assentos vendidos esperados de todas as sessões.
+         */
+        public long getExpectedSeats() {
+            long total = 0;
+            for (PlannedSession session : sessions) {
+                total += session.getExpectedSeats();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Sessão em montagem: o filme pode ser trocado pela busca local.
+     */
+    private static final class Slot {
+        private int demand;
+        private final int room;
+        private final int start;
+
+        private Slot(int demand, int room, int start) {
+            this.demand = demand;
+            this.room = room;
+            this.start = start;
+        }
+    }
+
+    /**
+     * Estado da montagem de um dia.
+     */
+    private static final class Day {
+        private final int open;
+        private final int close;
+        private final int gap;
+        private final int[] durations;
+        private final int[] audiences;
+        private final int[] capacities;
+        // Intervalos [início, fim + limpeza) já ocupados por sessões cadastradas, por sala
+        private final List<List<int[]>> blocked = new ArrayList<>();
+        private final List<Slot> slots = new ArrayList<>();
+
+        private Day(int open, int close, int gap, int[] durations, int[] audiences, int[] capacities) {
+            this.open = open;
+            this.close = close;
+            this.gap = gap;
+            this.durations = durations;
+            this.audiences = audiences;
+            this.capacities = capacities;
+            for (int room = 0; room < capacities.length; room++) {
+                blocked.add(new ArrayList<>());
+            }
+        }
+
+        private int value(int demand, int room) {
+            return Math.min(audiences[demand], capacities[room]);
+        }
+
+        /**
+         * Verifica se o filme cabe na sala a partir de {@code start}, ignorando a sessão {@code self}.
+         */
+        private boolean fits(int demand, int room, int start, Slot self) {
+            int end = start + durations[demand] + gap;
+            if (start < open || start + durations[demand] > close) {
+                return false;
+            }
+            for (int[] interval : blocked.get(room)) {
+                if (start < interval[1] && interval[0] < end) {
+                    return false;
+                }
+            }
+            for (Slot slot : slots) {
+                if (slot != self && slot.room == room
+                        && start < slot.start + durations[slot.demand] + gap && slot.start < end) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Retorna o primeiro horário livre da sala para o filme, ou -1 se não houver.
+         */
+        private int earliestStart(int demand, int room) {
+            List<Integer> candidates = new ArrayList<>();
+            candidates.add(open);
+            for (int[] interval : blocked.get(room)) {
+                candidates.add(roundUp(interval[1]));
+            }
+            for (Slot slot : slots) {
+                if (slot.room == room) {
+                    candidates.add(roundUp(slot.start + durations[slot.demand] + gap));
+                }
+            }
+            Collections.sort(candidates);
+            for (int start : candidates) {
+                if (fits(demand, room, start, null)) {
+                    return start;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Coloca a exibição na sala que vende mais, no primeiro horário livre.
+         * Em empate, prefere a menor sala e depois o horário mais cedo.
+         */
+        private boolean place(int demand) {
+            int bestRoom = -1;
+            int bestStart = -1;
+            for (int room = 0; room < capacities.length; room++) {
+                int start = earliestStart(demand, room);
+                if (start < 0) {
+                    continue;
+                }
+                if (bestRoom < 0 || isBetter(demand, room, start, bestRoom, bestStart)) {
+                    bestRoom = room;
+                    bestStart = start;
+                }
+            }
+            if (bestRoom < 0) {
+                return false;
+            }
+            slots.add(new Slot(demand, bestRoom, bestStart));
+            return true;
+        }
+
+        private boolean isBetter(int demand, int room, int start, int bestRoom, int bestStart) {
+            int value = value(demand, room);
+            int bestValue = value(demand, bestRoom);
+            if (value != bestValue) {
+                return value > bestValue;
+            }
+            if (capacities[room] != capacities[bestRoom]) {
+                return capacities[room] < capacities[bestRoom];
+            }
+            return start < bestStart;
+        }
+
+        /**
+         * Troca os filmes de duas sessões em salas diferentes quando isso vende mais.
+         */
+        private boolean improveBySwaps() {
+            boolean improved = false;
+            for (int i = 0; i < slots.size(); i++) {
+                for (int j = i + 1; j < slots.size(); j++) {
+                    Slot a = slots.get(i);
+                    Slot b = slots.get(j);
+                    if (a.room == b.room || a.demand == b.demand) {
+                        continue;
+                    }
+                    int gain = value(a.demand, b.room) + value(b.demand, a.room)
+                            - value(a.demand, a.room) - value(b.demand, b.room);
+                    if (gain <= 0) {
+                        continue;
+                    }
+                    int demandA = a.demand;
+                    a.demand = b.demand;
+                    b.demand = demandA;
+                    if (fits(a.demand, a.room, a.start, a) && fits(b.demand, b.room, b.start, b)) {
+                        improved = true;
+                    } else {
+                        b.demand = a.demand;
+                        a.demand = demandA;
+                    }
+                }
+            }
+            return improved;
+        }
+
+        /**
+         * Muda sessões para uma sala que vende mais, no primeiro horário livre dela.
+         */
+        private boolean improveByMoves() {
+            boolean improved = false;
+            for (int i = 0; i < slots.size(); i++) {
+                Slot slot = slots.get(i);
+                for (int room = 0; room < capacities.length; room++) {
+                    if (room == slot.room || value(slot.demand, room) <= value(slot.demand, slot.room)) {
+                        continue;
+                    }
+                    slots.remove(i);
+                    int start = earliestStart(slot.demand, room);
+                    if (start >= 0) {
+                        slot = new Slot(slot.demand, room, start);
+                        improved = true;
+                    }
+                    slots.add(i, slot);
+                }
+            }
+            return improved;
+        }
+
+        /**
+         * Tenta encaixar as exibições que ficaram de fora.
+         */
+        private boolean placeRemaining(List<Integer> remaining) {
+            boolean improved = false;
+            for (int i = 0; i < remaining.size(); i++) {
+                if (audiences[remaining.get(i)] > 0 && place(remaining.get(i))) {
+                    remaining.remove(i--);
+                    improved = true;
+                }
+            }
+            return improved;
+        }
+
+        private static int roundUp(int minute) {
+            return (minute + START_STEP_MINUTES - 1) / START_STEP_MINUTES * START_STEP_MINUTES;
+        }
+    }
+
+    /**
+     * Monta a programação do período sem cadastrar nada.
+     *
+     * @param from            primeiro dia (não pode ser anterior à data atual).
+     * @param to              último dia.
+     * @param demands         filmes e suas demandas.
+     * @param rooms           salas disponíveis.
+     * @param opening         horário da primeira sessão possível.
+     * @param closing         horário em que a última sessão precisa ter terminado ({@code 00:00} = meia-noite).
+     * @param cleaningMinutes intervalo de limpeza entre sessões da mesma sala.
+     * @return a programação proposta.
+     * @throws IllegalArgumentException se algum parâmetro for inválido.
+     */
+    public SchedulePlan plan(LocalDate from, LocalDate to, List<MovieDemand> demands, List<Room> rooms,
+                             LocalTime opening, LocalTime closing, int cleaningMinutes) {
+        if (from == null || to == null || from.isBefore(LocalDate.now()) || to.isBefore(from)) {
+            throw new IllegalArgumentException("Período inválido: a data inicial não pode ser passada nem posterior à final!");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= SessionService.MAX_SCHEDULE_DAYS) {
+            throw new IllegalArgumentException("A programação não pode passar de " + SessionService.MAX_SCHEDULE_DAYS + " dias!");
+        }
+        if (demands == null || demands.isEmpty() || rooms == null || rooms.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um filme e uma sala!");
+        }
+        int open = opening.getHour() * 60 + opening.getMinute();
+        int close = closing.equals(LocalTime.MIDNIGHT) ? END_OF_DAY : closing.getHour() * 60 + closing.getMinute();
+        if (open >= close) {
+            throw new IllegalArgumentException("O horário de abertura deve ser anterior ao de fechamento!");
+        }
+        if (cleaningMinutes < 0) {
+            throw new IllegalArgumentException("O intervalo de limpeza não pode ser negativo!");
+        }
+
+        int[] durations = new int[demands.size()];
+        int[] audiences = new int[demands.size()];
+        for (int i = 0; i < demands.size(); i++) {
+            durations[i] = demands.get(i).getMovie().getDuration();
+            audiences[i] = demands.get(i).getExpectedAudience();
+        }
+        int[] capacities = new int[rooms.size()];
+        Map<Integer, Integer> roomIndex = new HashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            capacities[i] = rooms.get(i).getTotalSeat();
+            roomIndex.put(rooms.get(i).getId(), i);
+        }
+
+        // Exibições em ordem de prioridade: maior público, depois menor duração
+        List<Integer> showings = new ArrayList<>();
+        for (int i = 0; i < demands.size(); i++) {
+            for (int n = 0; n < demands.get(i).getMaxSessionsPerDay(); n++) {
+                showings.add(i);
+            }
+        }
+        showings.sort(Comparator.<Integer>comparingInt(i -> -audiences[i]).thenComparingInt(i -> durations[i]));
+
+        Map<LocalDate, Day> days = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int dayOpen = open;
+            if (date.equals(now.toLocalDate())) {
+                dayOpen = Math.max(open, Day.roundUp(now.getHour() * 60 + now.getMinute() + 1));
+            }
+            days.put(date, new Day(dayOpen, close, cleaningMinutes, durations, audiences, capacities));
+        }
+        // A véspera entra porque uma sessão que atravessa a meia-noite ocupa a madrugada do primeiro dia
+        try (Stream<Session> existing = SessionController.streamSessionsBetween(from.minusDays(1), to)) {
+            existing.forEach(session -> {
+                Integer room = session.getRoom() == null ? null : roomIndex.get(session.getRoom().getId());
+                if (room != null) {
+                    int minute = session.getStartTime().toSecondOfDay() / 60;
+                    block(days, session.getStartDate(), room, minute, minute + session.getDuration() + cleaningMinutes);
+                }
+            });
+        }
+
+        List<PlannedSession> planned = new ArrayList<>();
+        List<String> unplaced = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Day day = days.get(date);
+            List<Integer> remaining = new ArrayList<>();
+            for (int showing : showings) {
+                if (audiences[showing] == 0 || !day.place(showing)) {
+                    remaining.add(showing);
+                }
+            }
+            for (int round = 0; round < MAX_LOCAL_SEARCH_ROUNDS; round++) {
+                boolean improved = day.improveBySwaps();
+                improved |= day.improveByMoves();
+                improved |= day.placeRemaining(remaining);
+                if (!improved) {
+                    break;
+                }
+            }
+
+            day.slots.sort(Comparator.<Slot>comparingInt(s -> s.room).thenComparingInt(s -> s.start));
+            for (Slot slot : day.slots) {
+                // A limpeza depois de uma sessão que termina perto da meia-noite ocupa o dia seguinte
+                int end = slot.start + durations[slot.demand] + cleaningMinutes;
+                if (end > END_OF_DAY) {
+                    block(days, date.plusDays(1), slot.room, 0, end - END_OF_DAY);
+                }
+                planned.add(new PlannedSession(date, LocalTime.of(slot.start / 60, slot.start % 60),
+                        rooms.get(slot.room), demands.get(slot.demand).getMovie(), day.value(slot.demand, slot.room)));
+            }
+            for (int showing : remaining) {
+                unplaced.add(date.format(DATE_FORMAT) + ": " + demands.get(showing).getMovie().getTitle());
+            }
+        }
+        return new SchedulePlan(planned, unplaced, cleaningMinutes);
+    }
+
+    /**
+     * Bloqueia na sala o intervalo {@code [start, end)}, em minutos contados da
+     * meia-noite de {@code date}, dividindo-o na virada do dia como a grade de
+     * {@link SessionService#checkTimetable} faz com a linha do tempo contínua.
+     * Dias fora da programação são ignorados.
+     */
+    private static void block(Map<LocalDate, Day> days, LocalDate date, int room, int start, int end) {
+        while (end > 0) {
+            Day day = days.get(date);
+            if (day != null) {
+                day.blocked.get(room).add(new int[] {Math.max(start, 0), Math.min(end, END_OF_DAY)});
+            }
+            start -= END_OF_DAY;
+            end -= END_OF_DAY;
+            date = date.plusDays(1);
+        }
+    }
+
+    /**
+     * Cadastra as sessões de uma programação proposta, de uma vez só.
+     * A grade é conferida de novo, com o intervalo de limpeza da montagem, pois ela
+     * pode ter mudado desde então.
+     *
+     * @param plan        programação proposta por {@link #plan}.
+     * @param ticketValue valor do ingresso das sessões.
+     * @return as sessões cadastradas e as que ficaram de fora por conflito.
+     */
+    public ScheduleResult commit(SchedulePlan plan, Double ticketValue) {
+        List<Session> candidates = new ArrayList<>(plan.getSessions().size());
+        for (PlannedSession planned : plan.getSessions()) {
+            SessionService.validateSessionData(planned.getDate(), planned.getRoom(), planned.getMovie(), ticketValue);
+            candidates.add(new Session(planned.getDate(), planned.getTime(), planned.getRoom(), planned.getMovie(), ticketValue));
+        }
+
+        List<String> conflicts = SessionController.checkTimetable(candidates, plan.getCleaningMinutes());
+        List<Session> accepted = new ArrayList<>(candidates.size());
+        List<String> skipped = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (conflicts.get(i) == null) {
+                accepted.add(candidates.get(i));
+            } else {
+                skipped.add(candidates.get(i).getStartDateTime().format(SLOT_FORMAT) + ": " + conflicts.get(i));
+            }
+        }
+        SessionController.addSessions(accepted);
+        return new ScheduleResult(accepted, skipped);
+    }
+}
@@ -1,14 +1,28 @@
 package services;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.LinkedList;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
+import controller.business.OccupancyController;
+import exceptions.ConcurrentUpdateException;
 import models.Movie;
 import models.Room;
 import models.Session;
+import repository.SessionArchive;
 import repository.SessionRepository;
 
 /**
@@ -21,6 +35,49 @@ import repository.SessionRepository;
  * @version 2.0
  */
 public class SessionService {
+    /**
+     * Maior período, em dias, aceito por uma programação recorrente.
+     */
+    public static final int MAX_SCHEDULE_DAYS = 366;
+
+    /**
+     * Intervalo de limpeza, em minutos, exigido entre o fim de uma sessão e o
+     * início da seguinte na mesma sala.
+     */
+    public static final int CLEANING_MINUTES = 15;
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+
+    /**
+     * Resultado de uma programação recorrente: as sessões cadastradas e os
+     * horários que ficaram de fora por conflito com a grade da sala.
+     */
+    public static class ScheduleResult {
+        private final List<Session> created;
+        private final List<String> conflicts;
+
+        public ScheduleResult(List<Session> created, List<String> conflicts) {
+            this.created = Collections.unmodifiableList(created);
+            this.conflicts = Collections.unmodifiableList(conflicts);
+        }
+
+        /**
+         * @return as sessões cadastradas, em ordem de data e horário.
+         */
+        public List<Session> getCreated() {
+            return created;
+        }
+
+        /**
+         * @return os horários não cadastrados, no formato "dd-MM-yyyy HH:mm: motivo".
+         */
+        public List<String> getConflicts() {
+            return conflicts;
+        }
+    }
+
     private final SessionRepository sessionRepository;
 
     /**
@@ -33,24 +90,18 @@ public class SessionService {
     }
 
     /**
-     * Cria e adiciona uma nova sessão ao sistema, após realizar validações de negócio.
+     * Verifica os dados de uma sessão com as regras de cadastro, sem consultar a grade das salas.
+     * Usado no cadastro, na alteração e na criação em lote.
      *
      * @param date        Data da sessão (não pode ser anterior à data atual).
-     * @param time        Horário da sessão (HH:mm:ss).
      * @param room        Sala onde a sessão ocorrerá (não pode ser {@code null}).
      * @param movie       Filme que será exibido (não pode ser {@code null}).
      * @param ticketValue Valor do ticket (não pode ser {@code null} ou negativo).
-     * @throws IllegalArgumentException Se alguma validação falhar:
-     *                                  <ul>
-     *                                    <li>Data anterior à data atual;</li>
-     *                                    <li>Room, Movie ou ticketValue {@code null};</li>
-     *                                    <li>ticketValue menor que zero;</li>
-     *                                    <li>Sessão conflito de horário na mesma sala.</li>
-     *                                  </ul>
+     * @throws IllegalArgumentException se algum dado estiver inválido.
      */
-    public void addSession(LocalDate date, LocalTime time, Room room, Movie movie, Double ticketValue){
+    public static void validateSessionData(LocalDate date, Room room, Movie movie, Double ticketValue) {
         //Verificação se a data é passada
-        if (date.isBefore(LocalDate.now())) {
+        if (date == null || date.isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("A data da sessão não pode ser anterior à data atual!");
         }
 
@@ -61,19 +112,199 @@ public class SessionService {
         if (ticketValue < 0) {
             throw new IllegalArgumentException("O valor do ticket não pode ser negativo!");
         }
+    }
 
-        Session newSession = new Session(date, time, room, movie, ticketValue);
+    /**
+     * Confere um lote de sessões novas contra a grade das salas, com o intervalo
+     * de limpeza padrão ({@link #CLEANING_MINUTES}).
+     *
+     * @param candidates As sessões ainda não cadastradas.
+     * @return Uma lista do mesmo tamanho com a mensagem de conflito de cada sessão, ou {@code null} se não houver conflito.
+     */
+    public List<String> checkTimetable(List<Session> candidates) {
+        return checkTimetable(candidates, CLEANING_MINUTES);
+    }
+
+    /**
+     * Confere um lote de sessões novas contra a grade das salas em uma única passada.
+     * Cada sessão ocupa a sala do início até o fim do filme mais o intervalo de
+     * limpeza; uma sessão nova conflita com qualquer outra da mesma sala cujo
+     * intervalo se sobreponha ao seu. Os intervalos ocupados são carregados uma vez
+     * e cada sessão aceita passa a ocupar o seu, então conflitos dentro do próprio
+     * lote também são apontados.
+     *
+     * @param candidates As sessões ainda não cadastradas.
+     * @param cleaningMinutes Intervalo de limpeza entre sessões da mesma sala.
+     * @return Uma lista do mesmo tamanho com a mensagem de conflito de cada sessão, ou {@code null} se não houver conflito.
+     */
+    public List<String> checkTimetable(List<Session> candidates, int cleaningMinutes) {
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDate first = candidates.get(0).getStartDate();
+        LocalDate last = first;
+        for (Session candidate : candidates) {
+            LocalDate date = candidate.getStartDate();
+            first = date.isBefore(first) ? date : first;
+            last = date.isAfter(last) ? date : last;
+        }
+        // Sala -> intervalos ocupados [início, fim + limpeza), em minutos desde 1970, sem sobreposição.
+        // Sessões que atravessam a meia-noite podem ocupar a madrugada do dia seguinte.
+        Map<Integer, NavigableMap<Long, Long>> occupied = new HashMap<>();
+        try (Stream<Session> existing = sessionRepository.streamBetween(first.minusDays(1), last.plusDays(1))) {
+            existing.forEach(session -> occupy(occupied.computeIfAbsent(roomIdOf(session), k -> new TreeMap<>()),
+                    startMinute(session), startMinute(session) + session.getDuration() + cleaningMinutes));
+        }
+
+        List<String> conflicts = new ArrayList<>(candidates.size());
+        for (Session candidate : candidates) {
+            NavigableMap<Long, Long> room = occupied.computeIfAbsent(roomIdOf(candidate), k -> new TreeMap<>());
+            long start = startMinute(candidate);
+            long end = start + candidate.getDuration() + cleaningMinutes;
+            Map.Entry<Long, Long> before = room.floorEntry(start);
+            Map.Entry<Long, Long> after = room.higherEntry(start);
+            if ((before != null && before.getValue() > start) || (after != null && after.getKey() < end)) {
+                conflicts.add("Já existe uma sessão nesse horário para a sala selecionada!");
+            } else {
+                occupy(room, start, end);
+                conflicts.add(null);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Marca o intervalo como ocupado, unindo-o aos intervalos que ele toca ou sobrepõe.
+     */
+    private static void occupy(NavigableMap<Long, Long> room, long start, long end) {
+        Map.Entry<Long, Long> before = room.floorEntry(start);
+        if (before != null && before.getValue() >= start) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue());
+            room.remove(before.getKey());
+        }
+        for (Map.Entry<Long, Long> next = room.ceilingEntry(start); next != null && next.getKey() <= end;
+             next = room.ceilingEntry(start)) {
+            end = Math.max(end, next.getValue());
+            room.remove(next.getKey());
+        }
+        room.put(start, end);
+    }
+
+    private static int roomIdOf(Session session) {
+        return session.getRoom() == null ? 0 : session.getRoom().getId();
+    }
+
+    private static long startMinute(Session session) {
+        return session.getEpochDay() * MINUTES_PER_DAY + session.getStartTime().toSecondOfDay() / 60;
+    }
+
+    /**
+     * Cadastra um lote de sessões já validadas, gravando o arquivo uma única vez.
+     * Os dados devem ter passado por {@link #validateSessionData} e {@link #checkTimetable}.
+     *
+     * @param newSessions As sessões a serem cadastradas.
+     */
+    public void addSessions(List<Session> newSessions) {
+        if (newSessions.isEmpty()) {
+            return;
+        }
+        sessionRepository.addAll(newSessions);
+        for (Session session : newSessions) {
+            OccupancyController.registerSession(session);
+            try {
+                session.getRoom().addSession(session);
+            } catch (Exception e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
 
-        // Verifica se já existe uma sessão com horário conflitante na mesma sala        
-        List<Session> sessionsInRoom = room.getSessions();
-        for(int i = 0; i < sessionsInRoom.size(); i++){
-            if( sessionsInRoom.get(i).getDate().equals(newSession.getDate()) &&
-                sessionsInRoom.get(i).getTime().equals(newSession.getTime())){
-                    throw new IllegalArgumentException("Já existe uma sessão nesse horário para a sala selecionada!");
+    /**
+     * Cria a programação de um filme em uma sala: uma sessão em cada horário
+     * informado, em todos os dias do período que caem nos dias da semana escolhidos.
+     * A grade da sala é conferida uma única vez para o lote inteiro e as sessões
+     * aceitas são gravadas juntas; os horários já ocupados ficam de fora e são
+     * devolvidos no resultado.
+     *
+     * @param from        Primeiro dia da programação (não pode ser anterior à data atual).
+     * @param to          Último dia da programação.
+     * @param weekdays    Dias da semana com sessões.
+     * @param times       Horários das sessões em cada dia.
+     * @param room        Sala onde as sessões ocorrerão (não pode ser {@code null}).
+     * @param movie       Filme que será exibido (não pode ser {@code null}).
+     * @param ticketValue Valor do ticket (não pode ser {@code null} ou negativo).
+     * @return as sessões cadastradas e os horários em conflito.
+     * @throws IllegalArgumentException se algum dado estiver inválido ou o período passar de {@link #MAX_SCHEDULE_DAYS} dias.
+     */
+    public ScheduleResult scheduleRecurring(LocalDate from, LocalDate to, Set<DayOfWeek> weekdays, List<LocalTime> times,
+                                            Room room, Movie movie, Double ticketValue) {
+        validateSessionData(from, room, movie, ticketValue);
+        if (to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("A data final deve ser igual ou posterior à data inicial!");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SCHEDULE_DAYS) {
+            throw new IllegalArgumentException("A programação não pode passar de " + MAX_SCHEDULE_DAYS + " dias!");
+        }
+        if (weekdays == null || weekdays.isEmpty() || times == null || times.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um dia da semana e um horário!");
+        }
+
+        List<LocalTime> dailyTimes = new ArrayList<>(new TreeSet<>(times));
+        List<Session> candidates = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (weekdays.contains(date.getDayOfWeek())) {
+                for (LocalTime time : dailyTimes) {
+                    candidates.add(new Session(date, time, room, movie, ticketValue));
+                }
             }
         }
 
+        List<String> conflicts = checkTimetable(candidates);
+        List<Session> accepted = new ArrayList<>(candidates.size());
+        List<String> skipped = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Session candidate = candidates.get(i);
+            if (conflicts.get(i) == null) {
+                accepted.add(candidate);
+            } else {
+                skipped.add(candidate.getStartDateTime().format(SLOT_FORMAT) + ": " + conflicts.get(i));
+            }
+        }
+
+        addSessions(accepted);
+        return new ScheduleResult(accepted, skipped);
+    }
+
+    /**
+     * Cria e adiciona uma nova sessão ao sistema, após realizar validações de negócio.
+     *
+     * @param date        Data da sessão (não pode ser anterior à data atual).
+     * @param time        Horário da sessão (HH:mm:ss).
+     * @param room        Sala onde a sessão ocorrerá (não pode ser {@code null}).
+     * @param movie       Filme que será exibido (não pode ser {@code null}).
+     * @param ticketValue Valor do ticket (não pode ser {@code null} ou negativo).
+     * @throws IllegalArgumentException Se alguma validação falhar:
+     *                                  <ul>
+     *                                    <li>Data anterior à data atual;</li>
+     *                                    <li>Room, Movie ou ticketValue {@code null};</li>
+     *                                    <li>ticketValue menor que zero;</li>
+     *                                    <li>Sessão conflito de horário na mesma sala.</li>
+     *                                  </ul>
+     */
+    public void addSession(LocalDate date, LocalTime time, Room room, Movie movie, Double ticketValue){
+        validateSessionData(date, room, movie, ticketValue);
+
+        Session newSession = new Session(date, time, room, movie, ticketValue);
+
+        // Verifica se já existe uma sessão com horário conflitante na mesma sala
+        String conflict = checkTimetable(List.of(newSession)).get(0);
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
+        }
+
         sessionRepository.add(newSession);
+        OccupancyController.registerSession(newSession);
         //Adiciona a sessão na fila de sessões daquela sala.
         try {
             room.addSession(newSession);
@@ -100,18 +331,7 @@ public class SessionService {
      *                                  </ul>
      */
     public void addSession(LocalDate date, LocalTime time, Room room, Movie movie, Double ticketValue, int totalAvailableSeats){
-        //Verificação se a data é passada
-        if (date.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("A data da sessão não pode ser anterior à data atual!");
-        }
-
-        if (Objects.isNull(room) || Objects.isNull(movie) || Objects.isNull(ticketValue)) {
-            throw new IllegalArgumentException("Os campos 'Room', 'Movie' e 'ticketValue' são obrigatórios!");
-        }
-
-        if (ticketValue < 0) {
-            throw new IllegalArgumentException("O valor do ticket não pode ser negativo!");
-        }
+        validateSessionData(date, room, movie, ticketValue);
 
         if(totalAvailableSeats < 0) {
             throw new IllegalArgumentException("O total de assentos disponíveis não pode ser negativo!");
@@ -120,15 +340,13 @@ public class SessionService {
         Session newSession = new Session(date, time, room, movie, ticketValue, totalAvailableSeats);
 
         // Verifica se já existe uma sessão com horário conflitante na mesma sala
-        List<Session> sessionsInRoom = sessionRepository.getAll();
-        for(int i = 0; i < sessionsInRoom.size(); i++){
-            if( sessionsInRoom.get(i).getDate().equals(newSession.getDate()) &&
-                    sessionsInRoom.get(i).getTime().equals(newSession.getTime())){
-                throw new IllegalArgumentException("Já existe uma sessão nesse horário para a sala selecionada!");
-            }
+        String conflict = checkTimetable(List.of(newSession)).get(0);
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
         }
 
         sessionRepository.add(newSession);
+        OccupancyController.registerSession(newSession);
         //Adiciona a sessão na fila de sessões daquela sala.
         try {
             room.addSession(newSession);
@@ -157,22 +375,41 @@ public class SessionService {
         Session session = getSessionById(id);
         if(session == null)
             throw new IllegalArgumentException("A sessão selecionada não existe!");
-        if (date.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("A data da sessão não pode ser anterior à data atual!");
-        }
-
-        if (Objects.isNull(room) || Objects.isNull(movie) || Objects.isNull(ticketValue)) {
-            throw new IllegalArgumentException("Os campos 'Room', 'Movie' e 'ticketValue' são obrigatórios!");
-        }
+        updateSession(id, session.getVersion(), date, time, room, movie, ticketValue);
+    }
 
-        if (ticketValue < 0) {
-            throw new IllegalArgumentException("O valor do ticket não pode ser negativo!");
-        }
+    /**
+     * Atualiza uma sessão aberta para edição na versão {@code expectedVersion}.
+     * Se outro terminal salvou a sessão nesse meio tempo, a alteração é recusada.
+     * Vendas mudam só os assentos e não contam como alteração do cadastro.
+     * @param id da sessão a ser selecionada
+     * @param expectedVersion Versão da sessão quando a edição começou ({@link Session#getVersion()}).
+     * @param date        Data da sessão (não pode ser anterior à data atual).
+     * @param time        Horário da sessão (HH:mm:ss).
+     * @param room        Sala onde a sessão ocorrerá (não pode ser {@code null}).
+     * @param movie       Filme que será exibido (não pode ser {@code null}).
+     * @param ticketValue Valor do ticket (não pode ser {@code null} ou negativo).
+     * @throws IllegalArgumentException Se alguma validação falhar.
+     * @throws ConcurrentUpdateException Se a sessão foi alterada depois de aberta para edição.
+     */
+    public synchronized void updateSession(int id, int expectedVersion, LocalDate date, LocalTime time, Room room,
+                                           Movie movie, Double ticketValue){
+        Session session = getSessionById(id);
+        if(session == null)
+            throw new IllegalArgumentException("A sessão selecionada não existe!");
+        if(sessionRepository.isArchived(id))
+            throw new IllegalArgumentException("A sessão selecionada já foi realizada e não pode ser alterada!");
+        if(session.getVersion() != expectedVersion)
+            throw new ConcurrentUpdateException("sessão", id);
+        validateSessionData(date, room, movie, ticketValue);
         session.setMovie(movie);
         session.setRoom(room);
         session.setTime(time);
         session.setDate(date);
         session.setTicketValue(ticketValue);
+        session.incrementVersion();
+        sessionRepository.update(session);
+        OccupancyController.updateSession(session);
     }
 
     /**
@@ -189,7 +426,7 @@ public class SessionService {
     }
 
     /**
-     * Retorna a sessão correspondente ao ID fornecido.
+     * Retorna a sessão correspondente ao ID fornecido, procurando também entre as arquivadas.
      *
      * @param id Código identificador da sessão.
      * @return A sessão encontrada, ou {@code null} se não existir.
@@ -199,21 +436,86 @@ public class SessionService {
     }
 
     /**
-     * Retorna todas as sessões cadastradas sem filtro.
+     * Move para o arquivo de sessões as sessões de dias anteriores ao atual.
+     * Chamado uma vez na inicialização da aplicação.
      *
-     * @return Uma LinkedList contendo todas as sessões.
+     * @return A quantidade de sessões movidas.
      */
-    public LinkedList<Session> getAllSessions(){
+    public int archiveFinishedSessions(){
+        int archived = sessionRepository.archiveFinished();
+        if (archived > 0) {
+            System.out.println(archived + " sessões realizadas movidas para o arquivo de sessões.");
+        }
+        return archived;
+    }
+
+    /**
+     * Verifica se uma sessão já foi realizada e está no arquivo de sessões, somente para leitura.
+     *
+     * @param id Código identificador da sessão.
+     * @return true se a sessão estiver arquivada.
+     */
+    public boolean isSessionArchived(int id){
+        return sessionRepository.isArchived(id);
+    }
+
+    /**
+     * Retorna todas as sessões cadastradas, sem as já realizadas, que ficam no arquivo de sessões.
+     *
+     * @return Um retrato imutável das sessões.
+     */
+    public List<Session> getAllSessions(){
         return sessionRepository.getAll();
     }
 
+    /**
+     * Retorna todas as sessões que exibem um determinado filme.
+     *
+     * @param movieId ID do filme.
+     * @return Um retrato imutável das sessões do filme.
+     */
+    public List<Session> getSessionsByMovie(int movieId){
+        return sessionRepository.getByMovie(movieId);
+    }
+
+    /**
+     * Retorna todas as sessões de um filme, inclusive as arquivadas, para relatórios históricos.
+     *
+     * @param movieId ID do filme.
+     * @return As sessões arquivadas do filme seguidas das atuais.
+     */
+    public List<Session> getSessionHistoryByMovie(int movieId){
+        return sessionRepository.getHistoryByMovie(movieId);
+    }
+
+    /**
+     * Percorre o resumo das sessões já realizadas sem ler o arquivo de sessões do disco.
+     *
+     * @param visitor Recebe o resumo de cada sessão arquivada.
+     */
+    public void forEachArchivedSession(SessionArchive.SummaryVisitor visitor){
+        sessionRepository.forEachArchivedSummary(visitor);
+    }
+
+    /**
+     * Percorre as sessões de um período usando o índice por data.
+     * As sessões arquivadas do período são lidas do disco, mês a mês.
+     *
+     * @param from Primeiro dia do período.
+     * @param to Último dia do período.
+     * @return Uma stream preguiçosa com as sessões do período.
+     */
+    public Stream<Session> streamSessionsBetween(LocalDate from, LocalDate to){
+        return sessionRepository.streamBetween(from, to);
+    }
+
     /**
      * Retorna todas as sessões agendadas para uma dada data.
      *
      * @param date Data para filtrar as sessões.
-     * @return Uma LinkedList contendo as sessões cuja data coincide com a informada.
+     * @return Um retrato imutável das sessões cuja data coincide com a informada.
      */
-    public LinkedList<Session> getSessionsByDate(LocalDate date){
+    public List<Session> getSessionsByDate(LocalDate date){
         return sessionRepository.getByDate(date);
     }
     
@@ -223,17 +525,26 @@ public class SessionService {
      * @param id Identificador da sessão a ser removida.
      */
     public Session removeSession(int id){
+        if(sessionRepository.isArchived(id)){
+            throw new IllegalArgumentException("A sessão já foi realizada e não pode ser removida!");
+        }
         Session sessionReturn = sessionRepository.getById(id);
         if(!sessionRepository.removeById(id)){
             throw new IllegalArgumentException("Sessão não existe!");
         }
+        OccupancyController.unregisterSession(id);
         return sessionReturn;
     }
 
     /**
-     * Remove todas as sessões cadastradas.
+     * Remove todas as sessões cadastradas, inclusive as arquivadas.
      */
     public void removeAllSessions(){
+        for (Session session : sessionRepository.getAll()) {
+            OccupancyController.unregisterSession(session.getId());
+        }
+        sessionRepository.forEachArchivedSummary((sessionId, roomId, movieId, epochDay, startMinute, capacity, sold) ->
+                OccupancyController.unregisterSession(sessionId));
         sessionRepository.clear();
     }
 }
\ No newline at end of file
@@ -1,15 +1,28 @@
 package services;
 
 import controller.business.ClientController;
+import controller.business.OccupancyController;
+import controller.business.PricingController;
+import controller.business.PromotionController;
+import controller.business.RevenueController;
+import controller.business.SalesCubeController;
 import controller.business.SessionController;
+import controller.business.TrendingController;
 import enums.PaymentMethod;
 import models.Client;
 import models.Session;
 import models.Ticket;
+import repository.TicketHistoryStore;
 import repository.TicketRepository;
+import repository.UnitOfWork;
+import services.PricingService.PriceQuote;
+import services.PromotionService.PromotionResult;
 import exceptions.*;
 
-import java.util.LinkedList;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  *
@@ -26,24 +39,67 @@ public class TicketService {
 
     /**
      * Construtor para inicializar o serviço de tickets.
+     * Liga os tickets aos cadastros de clientes e sessões, que devem ter sido
+     * inicializados antes. Não grava nada.
      *
      * @param ticketRepository O repositório de tickets.
      */
     public TicketService(TicketRepository ticketRepository){
         this.ticketRepository = ticketRepository;
+        Ticket.setResolvers(ClientController::findClientById, SessionController::getSessionById);
+    }
+
+    /**
+     * Move para o histórico os tickets de sessões que já foram realizadas (ou que
+     * não existem mais). Chamado uma vez na inicialização da aplicação, depois
+     * de arquivar as sessões.
+     *
+     * @return A quantidade de tickets movidos.
+     */
+    public int archiveFinishedTickets(){
+        LocalDate today = LocalDate.now();
+        int archived = ticketRepository.archive(sessionId -> {
+            if (SessionController.isSessionArchived(sessionId)) {
+                return true;
+            }
+            Session session = SessionController.getSessionById(sessionId);
+            return session == null || session.getStartDate().isBefore(today);
+        });
+        if (archived > 0) {
+            System.out.println(archived + " tickets de sessões realizadas movidos para o histórico.");
+        }
+        return archived;
     }
 
      /**
      * Recupera todos os tickets armazenados.
      *
-     * @return Uma lista dinâmica contendo todos os tickets.
+     * @return Um retrato imutável dos tickets, que pode ser percorrido em paralelo.
      */
-    public LinkedList<Ticket> getAllTickets(){
+    public List<Ticket> getAllTickets(){
         return ticketRepository.getAll();
     }
 
     /**
-     * Busca um ticket pelo ID.
+     * Recupera só os tickets das sessões ainda não realizadas, sem passar pelo histórico.
+     *
+     * @return Um retrato imutável dos tickets em memória.
+     */
+    public List<Ticket> getCurrentTickets(){
+        return ticketRepository.snapshotCurrent();
+    }
+
+    /**
+     * Percorre os dados de venda dos tickets de sessões já realizadas sem montar os tickets.
+     *
+     * @param visitor Recebe os dados de venda de cada ticket do histórico.
+     */
+    public void forEachArchivedSale(TicketHistoryStore.SaleVisitor visitor){
+        ticketRepository.forEachArchivedSale(visitor);
+    }
+
+    /**
+     * Busca um ticket pelo ID, inclusive entre os de sessões já realizadas.
      *
      * @param id O ID do ticket a ser buscado.
      * @return O ticket correspondente ao ID.
@@ -63,21 +119,71 @@ public class TicketService {
         return ticket;
     }
 
+    /**
+     * Recupera os tickets vendidos para uma sessão.
+     *
+     * @param sessionId O ID da sessão.
+     * @return Uma lista com os tickets da sessão.
+     */
+    public List<Ticket> getTicketsBySession(int sessionId){
+        return ticketRepository.getBySession(sessionId);
+    }
+
+    /**
+     * Recupera os tickets comprados por um cliente.
+     *
+     * @param clientId O ID do cliente.
+     * @return Uma lista com os tickets do cliente.
+     */
+    public List<Ticket> getTicketsByClient(int clientId){
+        return ticketRepository.getByClient(clientId);
+    }
+
+    /**
+     * Percorre os tickets vendidos em um período usando o índice por data de venda.
+     *
+     * @param from Primeiro dia do período.
+     * @param to Último dia do período.
+     * @return Uma stream preguiçosa com os tickets do período.
+     */
+    public Stream<Ticket> streamTicketsSoldBetween(LocalDate from, LocalDate to){
+        return ticketRepository.streamSoldBetween(from, to);
+    }
+
     /**
      * Remove um ticket pelo ID.
      *
      * @param id O ID do ticket a ser removido.
+     * @throws IllegalArgumentException se o ticket for de uma sessão já realizada.
      */
     public void removeTicketById(int id){
+        if(ticketRepository.isArchived(id)){
+            throw new IllegalArgumentException("O ticket " + id + " é de uma sessão já realizada e não pode ser cancelado.");
+        }
         ticketRepository.removeById(id);
     }
 
+    /**
+     * Devolve ao repositório um ticket removido, ao desfazer um cancelamento.
+     *
+     * @param ticket O ticket removido.
+     * @throws IllegalArgumentException se o ticket for nulo ou ainda estiver cadastrado.
+     */
+    public void restoreTicket(Ticket ticket){
+        if(ticket == null || ticketRepository.getById(ticket.getId()) != null){
+            throw new IllegalArgumentException("O ticket não pode ser restaurado!");
+        }
+        ticketRepository.add(ticket);
+    }
+
     /**
      * Orquestra o processo completo de compra de um ingresso.
      * <p>
-     * Este método valida o cliente e a sessão, calcula o preço com desconto,
-     * cria o ticket, atualiza o histórico e pontos do cliente, e decrementa
-     * os assentos disponíveis na sessão, persistindo todas as alterações.
+     * Este método valida o cliente e a sessão, calcula o preço dinâmico com o desconto
+     * de fidelidade e das promoções,
+     * cria o ticket, registra os pontos do cliente, e decrementa
+     * os assentos disponíveis na sessão, persistindo todas as alterações
+     * em uma única {@link UnitOfWork}.
      *
      * @param clientId O ID do cliente que está comprando.
      * @param sessionId O ID da sessão desejada.
@@ -89,6 +195,47 @@ public class TicketService {
      * @throws PaymentInvalidException se o método de pagamento for inválido.
      */
     public Ticket purchaseTicket(int clientId, int sessionId, String paymentMethod) {
+        return purchaseTicket(clientId, sessionId, paymentMethod, 1);
+    }
+
+    /**
+     * Compra um ingresso que faz parte de uma venda de {@code quantity} ingressos,
+     * o que conta para as promoções de combo.
+     *
+     * @param clientId O ID do cliente que está comprando.
+     * @param sessionId O ID da sessão desejada.
+     * @param paymentMethod O método de pagamento em formato de String.
+     * @param quantity Quantidade de ingressos da venda.
+     * @return O objeto Ticket que foi criado e salvo.
+     * @see #purchaseTicket(int, int, String)
+     */
+    public Ticket purchaseTicket(int clientId, int sessionId, String paymentMethod, int quantity) {
+        return sell(clientId, sessionId, paymentMethod, quantity, 1).get(0);
+    }
+
+    /**
+     * Compra {@code quantity} ingressos de uma sessão para o mesmo cliente. Os
+     * assentos são reservados todos de uma vez e os ingressos gravados em uma
+     * única {@link UnitOfWork}: ou todos são vendidos, ou nenhum.
+     *
+     * @param clientId O ID do cliente que está comprando.
+     * @param sessionId O ID da sessão desejada.
+     * @param paymentMethod O método de pagamento em formato de String.
+     * @param quantity Quantidade de ingressos.
+     * @return Os tickets criados e salvos.
+     * @throws IllegalArgumentException se não houver assentos para todos os ingressos.
+     * @see #purchaseTicket(int, int, String)
+     */
+    public List<Ticket> purchaseTickets(int clientId, int sessionId, String paymentMethod, int quantity) {
+        return sell(clientId, sessionId, paymentMethod, quantity, quantity);
+    }
+
+    /**
+     * Vende {@code count} ingressos de uma venda de {@code quantity} ingressos.
+     * A disponibilidade é conferida e descontada de uma vez, já dentro da
+     * {@link UnitOfWork}, para que vendas simultâneas não passem da lotação.
+     */
+    private List<Ticket> sell(int clientId, int sessionId, String paymentMethod, int quantity, int count) {
 
         // Buscar cliente
         Client client = ClientController.getClientById(clientId);
@@ -101,9 +248,6 @@ public class TicketService {
         if (session == null) {
             throw new IllegalArgumentException("Sessão com ID " + sessionId + " não encontrada.");
         }
-        if (session.getTotalAvailableSeats() <= 0) {
-            throw new CrowdedRoomException(sessionId);
-        }
 
         // Validar método de pagamento
         PaymentMethod method;
@@ -113,24 +257,48 @@ public class TicketService {
             throw new PaymentInvalidException(paymentMethod);
         }
 
-        // Calcular desconto
-        double discount = ClientController.calculateDiscount(clientId);
-        double basePrice = session.getTicketValue();
-        double finalPrice = basePrice * (1 - discount / 100.0);
+        List<Ticket> tickets = new ArrayList<>(count);
 
-        Ticket ticket = new Ticket(client, session, finalPrice, method);
+        // Tickets e assentos formam uma única operação: ou todos são gravados, ou nenhum
+        try (UnitOfWork unit = UnitOfWork.begin()) {
+            if (!session.reserveSeats(count)) {
+                if (count == 1) {
+                    throw new CrowdedRoomException(sessionId);
+                }
+                throw new IllegalArgumentException("Venda excedida: não há assentos suficientes.");
+            }
+            UnitOfWork.onRollback(() -> session.releaseSeats(count));
+            SessionController.updateSession(session);
 
-        ticketRepository.add(ticket);
+            for (int i = 0; i < count; i++) {
+                // Calcular desconto: pontos de fidelidade mais promoções, até o limite
+                PromotionResult promotion = PromotionController.evaluate(client, session, method, quantity);
+                double discount = Math.min(PromotionService.MAX_TOTAL_DISCOUNT,
+                        ClientController.calculateDiscount(clientId) + promotion.getPercent());
+                PriceQuote quote = PricingController.quote(session);
+                double finalPrice = quote.getPrice() * (1 - discount / 100.0);
 
-        // Atualiza o cliente (adiciona o ticket ao histórico e registra os pontos)
-        ClientController.registerPoints(clientId, ticket);
+                String rule = quote.getRule();
+                if (!promotion.getNames().isEmpty()) {
+                    rule += "; Promoções: " + String.join(", ", promotion.getNames());
+                }
+                Ticket ticket = new Ticket(client, session, finalPrice, discount, method, rule);
 
-        // Atualizando assentos disponíveis da sessão
-        session.setTotalAvailableSeats(session.getTotalAvailableSeats()-1);
+                ticketRepository.add(ticket);
+                UnitOfWork.onRollback(() -> ticketRepository.removeById(ticket.getId()));
 
-        SessionController.updateSession(session);
+                // Os pontos entram no mesmo commit da venda; os dados derivados, só depois dela
+                ClientController.registerPoints(clientId, ticket);
+                UnitOfWork.afterCommit(() -> OccupancyController.registerSale(ticket));
+                UnitOfWork.afterCommit(() -> RevenueController.registerSale(ticket));
+                UnitOfWork.afterCommit(() -> SalesCubeController.registerSale(ticket));
+                UnitOfWork.afterCommit(() -> TrendingController.registerSale(ticket));
+                tickets.add(ticket);
+            }
+            unit.commit();
+        }
 
-        return ticket;
+        return tickets;
     }
 
     /**
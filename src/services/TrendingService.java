@@ -0,0 +1,267 @@
+package services;
+
+import controller.business.SessionController;
+import models.Movie;
+import models.Session;
+import models.Ticket;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Classe de serviço que mantém os rankings ao vivo do dia: filmes mais vendidos
+ * (no dia e em cada hora) e sessões quase esgotadas.
+ *
+ * Os contadores são alimentados pelos eventos de venda e cancelamento, então os
+ * rankings nunca percorrem os tickets. Para montar o top-K, um heap mínimo de
+ * tamanho K passa uma vez pelos contadores do período.
+ *
+ * @since 18/10/2026
+ * @version 1.0
+ */
+public class TrendingService {
+
+    /**
+     * Ocupação a partir da qual uma sessão é considerada quase esgotada.
+     */
+    public static final double SELL_OUT_THRESHOLD = 0.8;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Item de um ranking: o ID do filme ou da sessão, o rótulo e a contagem.
+     */
+    public static class RankedItem {
+        private final int id;
+        private final String label;
+        private final long count;
+
+        public RankedItem(int id, String label, long count) {
+            this.id = id;
+            this.label = label;
+            this.count = count;
+        }
+
+        /**
+         * @return ID do filme ou da sessão.
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * @return texto para exibição.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return ingressos vendidos (filmes) ou assentos restantes (sessões).
+         */
+        public long getCount() {
+            return count;
+        }
+    }
+
+    private LocalDate day = LocalDate.now();
+    private final Map<Integer, Long> movieSales = new HashMap<>();
+    private final List<Map<Integer, Long>> movieSalesByHour = new ArrayList<>(24);
+    private final Map<Integer, String> movieTitles = new HashMap<>();
+    // Sessões que podem estar quase esgotadas: as que venderam hoje e as que já estavam cheias na abertura
+    private final Set<Integer> sellOutCandidates = new HashSet<>();
+
+    public TrendingService() {
+        for (int hour = 0; hour < 24; hour++) {
+            movieSalesByHour.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Reconstrói os contadores do dia a partir das sessões cadastradas e dos tickets
+     * vendidos hoje. Tickets de outros dias são ignorados pelo minuto da venda, sem
+     * buscar a sessão.
+     *
+     * @param sessions todas as sessões cadastradas.
+     * @param tickets os tickets vendidos hoje.
+     */
+    public synchronized void rebuild(List<Session> sessions, List<Ticket> tickets) {
+        reset(LocalDate.now());
+        LocalDateTime now = LocalDateTime.now();
+        for (Session session : sessions) {
+            if (session.getStartDateTime().isAfter(now) && occupancy(session) >= SELL_OUT_THRESHOLD) {
+                sellOutCandidates.add(session.getId());
+            }
+        }
+        long today = day.toEpochDay();
+        for (Ticket ticket : tickets) {
+            if (Math.floorDiv(ticket.getSaleEpochMinute(), MINUTES_PER_DAY) == today && ticket.getSession() != null) {
+                count(ticket, 1);
+            }
+        }
+    }
+
+    /**
+     * Conta a venda de um ingresso.
+     *
+     * @param ticket o ticket vendido.
+     */
+    public synchronized void registerSale(Ticket ticket) {
+        rollDay();
+        if (ticket.getSaleDateTime().toLocalDate().equals(day)) {
+            count(ticket, 1);
+        }
+    }
+
+    /**
+     * Desconta a venda de um ingresso cancelado, se ela for de hoje.
+     *
+     * @param ticket o ticket cancelado.
+     */
+    public synchronized void registerCancellation(Ticket ticket) {
+        rollDay();
+        if (ticket.getSaleDateTime().toLocalDate().equals(day)) {
+            count(ticket, -1);
+        }
+    }
+
+    /**
+     * @param k tamanho do ranking.
+     * @return os K filmes com mais ingressos vendidos hoje.
+     */
+    public synchronized List<RankedItem> getTopMovies(int k) {
+        rollDay();
+        return topMovies(movieSales, k);
+    }
+
+    /**
+     * @param movieId ID do filme.
+     * @return ingressos do filme vendidos hoje.
+     */
+    public synchronized long getMovieSalesToday(int movieId) {
+        rollDay();
+        return movieSales.getOrDefault(movieId, 0L);
+    }
+
+    /**
+     * @param hour hora do dia (0 a 23).
+     * @param k tamanho do ranking.
+     * @return os K filmes com mais ingressos vendidos hoje naquela hora.
+     * @throws IllegalArgumentException se a hora for inválida.
+     */
+    public synchronized List<RankedItem> getTopMoviesOfHour(int hour, int k) {
+        if (hour < 0 || hour > 23) {
+            throw new IllegalArgumentException("A hora deve estar entre 0 e 23!");
+        }
+        rollDay();
+        return topMovies(movieSalesByHour.get(hour), k);
+    }
+
+    /**
+     * Retorna as sessões que ainda não começaram e já passaram de
+     * {@link #SELL_OUT_THRESHOLD} de ocupação, das com menos para as com mais
+     * assentos restantes. Sessões esgotadas não entram.
+     *
+     * @param k tamanho do ranking.
+     * @return até K sessões quase esgotadas; a contagem é o número de assentos restantes.
+     */
+    public synchronized List<RankedItem> getSessionsSellingOut(int k) {
+        LocalDateTime now = LocalDateTime.now();
+        // Heap máximo por assentos restantes: a raiz é a primeira a sair quando passa de K
+        PriorityQueue<Session> heap = new PriorityQueue<>(
+                Comparator.comparingInt(Session::getTotalAvailableSeats).reversed());
+        for (Integer sessionId : new ArrayList<>(sellOutCandidates)) {
+            Session session = SessionController.getSessionById(sessionId);
+            if (session == null || !session.getStartDateTime().isAfter(now)) {
+                sellOutCandidates.remove(sessionId);
+                continue;
+            }
+            if (session.getTotalAvailableSeats() > 0 && occupancy(session) >= SELL_OUT_THRESHOLD) {
+                heap.add(session);
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+
+        List<RankedItem> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Session session = heap.poll();
+            String label = session.getMovie().getTitle() + " - Sala " + session.getRoom().getId()
+                    + " - " + session.getDate() + " " + session.getTime();
+            result.add(new RankedItem(session.getId(), label, session.getTotalAvailableSeats()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void count(Ticket ticket, long delta) {
+        Movie movie = ticket.getSession().getMovie();
+        int movieId = movie.getId();
+        movieTitles.put(movieId, movie.getTitle());
+        add(movieSales, movieId, delta);
+        add(movieSalesByHour.get(ticket.getSaleDateTime().getHour()), movieId, delta);
+        sellOutCandidates.add(ticket.getSessionId());
+    }
+
+    private static void add(Map<Integer, Long> counters, int movieId, long delta) {
+        long total = counters.getOrDefault(movieId, 0L) + delta;
+        if (total > 0) {
+            counters.put(movieId, total);
+        } else {
+            counters.remove(movieId);
+        }
+    }
+
+    private List<RankedItem> topMovies(Map<Integer, Long> counters, int k) {
+        // Heap mínimo de tamanho K: a raiz é o menor dos K melhores até agora
+        PriorityQueue<Map.Entry<Integer, Long>> heap = new PriorityQueue<>(
+                Map.Entry.<Integer, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        for (Map.Entry<Integer, Long> entry : counters.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<RankedItem> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Integer, Long> entry = heap.poll();
+            result.add(new RankedItem(entry.getKey(), movieTitles.get(entry.getKey()), entry.getValue()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static double occupancy(Session session) {
+        int total = session.getRoom().getTotalSeat();
+        return total > 0 ? (double) (total - session.getTotalAvailableSeats()) / total : 0.0;
+    }
+
+    /**
+     * Zera os contadores quando a data muda com a aplicação aberta.
+     */
+    private void rollDay() {
+        LocalDate now = LocalDate.now();
+        if (!now.equals(day)) {
+            reset(now);
+        }
+    }
+
+    private void reset(LocalDate newDay) {
+        day = newDay;
+        movieSales.clear();
+        for (Map<Integer, Long> hour : movieSalesByHour) {
+            hour.clear();
+        }
+    }
+}